@@ -36,6 +36,7 @@ def _gapic_srcjar_impl(ctx):
         _set_args(attr.language, "--language=", arguments, required = True)
         _set_args(attr.service_yaml, "--service_yaml=", arguments, inputs)
         _set_args(attr.package_yaml2, "--package_yaml2=", arguments, inputs)
+        _set_args(attr.output_compression, "--output_compression=", arguments)
     else:
         _set_args(attr.language, "--language=", arguments)
         _set_args(attr.src, "--descriptor=", arguments, inputs)
@@ -66,6 +67,8 @@ gapic_srcjar = rule(
         "package_yaml2": attr.label(mandatory = False),
         "package": attr.string(mandatory = False),
         "output_suffix": attr.string(mandatory = False, default = ".srcjar"),
+        # "stored" skips compression for intermediate srcjars which are unpacked right away
+        "output_compression": attr.string(mandatory = False, values = ["", "deflated", "stored"]),
         "gapic_generator": attr.label(
             default = Label("//:gapic_generator"),
             executable = True,
@@ -36,5 +36,8 @@ public enum ArtifactType {
   DISCOGAPIC_CODE,
 
   // The different artifact types will be split out (e.g. PROTOBUF_PACKAGE, GRPC_PACKAGE)
-  LEGACY_GRPC_PACKAGE
+  LEGACY_GRPC_PACKAGE,
+
+  // Combines the outputs of a generator run split with --shard_index and --shard_count
+  MERGE_SHARDS
 }
@@ -19,8 +19,10 @@ import com.google.api.codegen.configgen.GapicConfigGeneratorApp;
 import com.google.api.codegen.discogapic.DiscoGapicGeneratorApp;
 import com.google.api.codegen.gapic.FileGapicWriter;
 import com.google.api.codegen.gapic.GapicGeneratorApp;
+import com.google.api.codegen.gapic.ShardOutputMerger;
 import com.google.api.codegen.packagegen.PackageGeneratorApp;
 import com.google.api.codegen.packagegen.PackagingArtifactType;
+import com.google.api.codegen.rendering.ZipOutputWriter.Compression;
 import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
@@ -100,6 +102,52 @@ public class GeneratorMain {
           .argName("OUTPUT")
           .required(true)
           .build();
+  private static final Option OUTPUT_COMPRESSION_OPTION =
+      Option.builder()
+          .longOpt("output_compression")
+          .desc(
+              "Optional. How entries of a .jar, .srcjar or .zip output are stored: "
+                  + "'deflated' (default) or 'stored' (no compression).")
+          .hasArg()
+          .argName("OUTPUT-COMPRESSION")
+          .required(false)
+          .build();
+  private static final Option OUTPUT_FILTER_OPTION =
+      Option.builder()
+          .longOpt("output_filter")
+          .desc(
+              "Optional. A glob selecting the generated files to produce, e.g. '*Client.java'. "
+                  + "A glob without '/' is matched against file names only.")
+          .hasArg()
+          .argName("OUTPUT-FILTER")
+          .required(false)
+          .build();
+  private static final Option SHARD_INDEX_OPTION =
+      Option.builder()
+          .longOpt("shard_index")
+          .desc(
+              "Optional. The shard of the output to generate, from 0 to shard_count - 1. "
+                  + "The outputs of all shards can be combined with the merge_shards command.")
+          .hasArg()
+          .argName("SHARD-INDEX")
+          .required(false)
+          .build();
+  private static final Option SHARD_COUNT_OPTION =
+      Option.builder()
+          .longOpt("shard_count")
+          .desc("Optional. The number of shards the output is split into. Defaults to 1.")
+          .hasArg()
+          .argName("SHARD-COUNT")
+          .required(false)
+          .build();
+  private static final Option SHARD_OUTPUT_OPTION =
+      Option.builder()
+          .longOpt("shard_output")
+          .desc("A file or directory generated by one shard; may be repeated.")
+          .hasArg()
+          .argName("SHARD-OUTPUT")
+          .required(true)
+          .build();
   private static final Option GAPIC_YAML_OPTION =
       Option.builder()
           .longOpt("gapic_yaml")
@@ -186,6 +234,9 @@ public class GeneratorMain {
       case LEGACY_GRPC_PACKAGE:
         packageGeneratorMain(args);
         break;
+      case MERGE_SHARDS:
+        mergeShardsMain(args);
+        break;
       default:
         System.err.println(
             "ArtifactType '"
@@ -232,12 +283,17 @@ public class GeneratorMain {
     options.addOption(PACKAGE_YAML2_OPTION);
     options.addOption(TARGET_API_PROTO_PACKAGE);
     options.addOption(OUTPUT_OPTION);
+    options.addOption(OUTPUT_COMPRESSION_OPTION);
+    options.addOption(OUTPUT_FILTER_OPTION);
+    options.addOption(SHARD_INDEX_OPTION);
+    options.addOption(SHARD_COUNT_OPTION);
     Option enabledArtifactsOption =
         Option.builder()
             .longOpt("enabled_artifacts")
             .desc(
                 "Optional. Artifacts enabled for the generator. "
-                    + "Currently supports 'surface' and 'test'.")
+                    + "Currently supports 'surface', 'test' and 'benchmark'. "
+                    + "'benchmark' requires 'test'.")
             .hasArg()
             .argName("ENABLED_ARTIFACTS")
             .required(false)
@@ -253,6 +309,15 @@ public class GeneratorMain {
             .build();
     options.addOption(devSamplesOption);
 
+    Option internViewsOption =
+        Option.builder()
+            .longOpt("intern_views")
+            .desc("Optional. Share one instance among equal view models, trading time for memory.")
+            .argName("INTERN_VIEWS")
+            .required(false)
+            .build();
+    options.addOption(internViewsOption);
+
     CommandLine cl = (new DefaultParser()).parse(options, args);
     if (cl.hasOption("help")) {
       HelpFormatter formatter = new HelpFormatter();
@@ -273,6 +338,17 @@ public class GeneratorMain {
         GapicGeneratorApp.LANGUAGE, cl.getOptionValue(LANGUAGE_NONREQUIRED_OPTION.getLongOpt()));
     toolOptions.set(
         GapicGeneratorApp.OUTPUT_FILE, cl.getOptionValue(OUTPUT_OPTION.getLongOpt(), ""));
+    toolOptions.set(
+        GapicGeneratorApp.OUTPUT_COMPRESSION,
+        cl.getOptionValue(OUTPUT_COMPRESSION_OPTION.getLongOpt(), ""));
+    toolOptions.set(
+        GapicGeneratorApp.OUTPUT_FILTER, cl.getOptionValue(OUTPUT_FILTER_OPTION.getLongOpt(), ""));
+    toolOptions.set(
+        GapicGeneratorApp.SHARD_INDEX,
+        Integer.parseInt(cl.getOptionValue(SHARD_INDEX_OPTION.getLongOpt(), "0")));
+    toolOptions.set(
+        GapicGeneratorApp.SHARD_COUNT,
+        Integer.parseInt(cl.getOptionValue(SHARD_COUNT_OPTION.getLongOpt(), "1")));
     toolOptions.set(
         GapicGeneratorApp.PACKAGE_CONFIG2_FILE,
         cl.getOptionValue(PACKAGE_YAML2_OPTION.getLongOpt()));
@@ -302,10 +378,14 @@ public class GeneratorMain {
     }
 
     toolOptions.set(GapicGeneratorApp.DEV_SAMPLES, cl.hasOption(devSamplesOption.getLongOpt()));
+    toolOptions.set(GapicGeneratorApp.INTERN_VIEWS, cl.hasOption(internViewsOption.getLongOpt()));
 
     String outputPath = toolOptions.get(GapicGeneratorApp.OUTPUT_FILE);
+    Compression compression =
+        Compression.fromString(toolOptions.get(GapicGeneratorApp.OUTPUT_COMPRESSION));
     GapicGeneratorApp codeGen =
-        new GapicGeneratorApp(toolOptions, artifactType, new FileGapicWriter(outputPath));
+        new GapicGeneratorApp(
+            toolOptions, artifactType, new FileGapicWriter(outputPath, compression));
     int exitCode = codeGen.run();
     System.exit(exitCode);
   }
@@ -433,6 +513,10 @@ public class GeneratorMain {
     options.addOption(GAPIC_YAML_OPTION);
     options.addOption(PACKAGE_YAML2_OPTION);
     options.addOption(OUTPUT_OPTION);
+    options.addOption(OUTPUT_COMPRESSION_OPTION);
+    options.addOption(OUTPUT_FILTER_OPTION);
+    options.addOption(SHARD_INDEX_OPTION);
+    options.addOption(SHARD_COUNT_OPTION);
     Option enabledArtifactsOption =
         Option.builder()
             .longOpt("enabled_artifacts")
@@ -459,6 +543,18 @@ public class GeneratorMain {
         DiscoGapicGeneratorApp.DISCOVERY_DOC, cl.getOptionValue(DISCOVERY_DOC_OPTION.getLongOpt()));
     toolOptions.set(
         GapicGeneratorApp.OUTPUT_FILE, cl.getOptionValue(OUTPUT_OPTION.getLongOpt(), ""));
+    toolOptions.set(
+        DiscoGapicGeneratorApp.OUTPUT_COMPRESSION,
+        cl.getOptionValue(OUTPUT_COMPRESSION_OPTION.getLongOpt(), ""));
+    toolOptions.set(
+        DiscoGapicGeneratorApp.OUTPUT_FILTER,
+        cl.getOptionValue(OUTPUT_FILTER_OPTION.getLongOpt(), ""));
+    toolOptions.set(
+        DiscoGapicGeneratorApp.SHARD_INDEX,
+        Integer.parseInt(cl.getOptionValue(SHARD_INDEX_OPTION.getLongOpt(), "0")));
+    toolOptions.set(
+        DiscoGapicGeneratorApp.SHARD_COUNT,
+        Integer.parseInt(cl.getOptionValue(SHARD_COUNT_OPTION.getLongOpt(), "1")));
     toolOptions.set(
         GapicGeneratorApp.GENERATOR_CONFIG_FILES,
         Lists.newArrayList(cl.getOptionValues(GAPIC_YAML_OPTION.getLongOpt())));
@@ -476,6 +572,28 @@ public class GeneratorMain {
     System.exit(exitCode);
   }
 
+  public static void mergeShardsMain(String[] args) throws Exception {
+    Options options = new Options();
+    options.addOption("h", "help", false, "show usage");
+    options.addOption(SHARD_OUTPUT_OPTION);
+    options.addOption(OUTPUT_OPTION);
+    options.addOption(OUTPUT_COMPRESSION_OPTION);
+
+    CommandLine cl = (new DefaultParser()).parse(options, args);
+    if (cl.hasOption("help")) {
+      HelpFormatter formatter = new HelpFormatter();
+      formatter.printHelp("MergeShardsTool", options);
+    }
+
+    List<String> shardOutputs =
+        Lists.newArrayList(cl.getOptionValues(SHARD_OUTPUT_OPTION.getLongOpt()));
+    checkFiles(shardOutputs);
+    Compression compression =
+        Compression.fromString(cl.getOptionValue(OUTPUT_COMPRESSION_OPTION.getLongOpt(), ""));
+    new ShardOutputMerger(compression)
+        .merge(shardOutputs, cl.getOptionValue(OUTPUT_OPTION.getLongOpt()));
+  }
+
   private static void checkFiles(List<String> files) {
     for (String filePath : files) {
       checkFile(filePath);
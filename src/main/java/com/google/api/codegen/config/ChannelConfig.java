@@ -0,0 +1,107 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import com.google.api.codegen.ChannelConfigProto;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+
+/**
+ * ChannelConfig represents the defaults for the gRPC channels of an API interface's client. A value
+ * of zero leaves the default of the transport.
+ */
+@AutoValue
+public abstract class ChannelConfig {
+  public abstract int getPoolSize();
+
+  public abstract int getMaxInboundMessageSize();
+
+  public abstract long getKeepAliveTimeMillis();
+
+  public abstract long getKeepAliveTimeoutMillis();
+
+  public boolean hasPoolSize() {
+    return getPoolSize() > 0;
+  }
+
+  public boolean hasMaxInboundMessageSize() {
+    return getMaxInboundMessageSize() > 0;
+  }
+
+  public boolean hasKeepAlive() {
+    return getKeepAliveTimeMillis() > 0;
+  }
+
+  public boolean hasKeepAliveTimeout() {
+    return hasKeepAlive() && getKeepAliveTimeoutMillis() > 0;
+  }
+
+  /** Returns whether a default other than the pool size is set. */
+  public boolean hasChannelOptions() {
+    return hasMaxInboundMessageSize() || hasKeepAlive();
+  }
+
+  /**
+   * Creates an instance of ChannelConfig based on ChannelConfigProto. Returns null if no channel
+   * default is set, or, with the errors reported to the diagCollector, if one is negative.
+   */
+  @Nullable
+  public static ChannelConfig createChannelConfig(
+      DiagCollector diagCollector, ChannelConfigProto channelConfigProto) {
+    boolean valid =
+        checkNotNegative(diagCollector, "pool_size", channelConfigProto.getPoolSize())
+            & checkNotNegative(
+                diagCollector,
+                "max_inbound_message_size",
+                channelConfigProto.getMaxInboundMessageSize())
+            & checkNotNegative(
+                diagCollector,
+                "keep_alive_time_millis",
+                channelConfigProto.getKeepAliveTimeMillis())
+            & checkNotNegative(
+                diagCollector,
+                "keep_alive_timeout_millis",
+                channelConfigProto.getKeepAliveTimeoutMillis());
+    if (!valid || channelConfigProto.equals(ChannelConfigProto.getDefaultInstance())) {
+      return null;
+    }
+    return new AutoValue_ChannelConfig(
+        channelConfigProto.getPoolSize(),
+        channelConfigProto.getMaxInboundMessageSize(),
+        channelConfigProto.getKeepAliveTimeMillis(),
+        channelConfigProto.getKeepAliveTimeoutMillis());
+  }
+
+  /** Returns a ChannelConfig which leaves every default of the transport. */
+  public static ChannelConfig createDefault() {
+    return new AutoValue_ChannelConfig(0, 0, 0, 0);
+  }
+
+  private static boolean checkNotNegative(DiagCollector diagCollector, String field, long value) {
+    if (value < 0) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Channel config value must not be negative: %s = %s",
+              field,
+              value));
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,71 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import com.google.api.codegen.CompressionConfigProto;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+
+/**
+ * CompressionConfig represents how the requests of a method are compressed: every request at least
+ * as large as the minimum size is sent compressed with the algorithm.
+ */
+@AutoValue
+public abstract class CompressionConfig {
+  static final String GZIP = "gzip";
+
+  public abstract String getAlgorithm();
+
+  public abstract long getMinRequestSizeBytes();
+
+  /**
+   * Creates an instance of CompressionConfig based on CompressionConfigProto. Streaming methods
+   * cannot be compressed, since their messages are not sized up front. On errors, null will be
+   * returned, and diagnostics are reported to the diag collector.
+   */
+  @Nullable
+  static CompressionConfig createCompressionConfig(
+      DiagCollector diagCollector,
+      CompressionConfigProto compressionConfigProto,
+      MethodModel methodModel) {
+    boolean error = false;
+    if (MethodConfig.isGrpcStreamingMethod(methodModel)) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Compression is not supported for streaming methods (in method %s)",
+              methodModel.getFullName()));
+      error = true;
+    }
+    if (!GZIP.equals(compressionConfigProto.getAlgorithm())) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Compression algorithm must be %s, was '%s' (in method %s)",
+              GZIP,
+              compressionConfigProto.getAlgorithm(),
+              methodModel.getFullName()));
+      error = true;
+    }
+    if (error) {
+      return null;
+    }
+    return new AutoValue_CompressionConfig(
+        compressionConfigProto.getAlgorithm(), compressionConfigProto.getMinRequestSizeBytes());
+  }
+}
@@ -15,11 +15,17 @@
 package com.google.api.codegen.config;
 
 import com.google.api.codegen.discovery.Document;
+import com.google.api.codegen.discovery.Method;
 import com.google.api.codegen.util.Name;
 import com.google.api.tools.framework.model.BoundedDiagCollector;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * Utility class that provides data from a Discovery document.
@@ -29,7 +35,12 @@ import java.util.List;
 public class DiscoApiModel implements ApiModel {
   private final Document document;
   private final DiagCollector diagCollector;
+  private final Predicate<String> interfaceNameFilter;
   private ImmutableList<DiscoInterfaceModel> interfaceModels;
+  private ImmutableMap<String, DiscoInterfaceModel> interfacesByName;
+  private final Map<String, DiscoveryMethodModel> methodModels = new ConcurrentHashMap<>();
+  private final Map<String, ImmutableList<DiscoveryMethodModel>> resourceMethodModels =
+      new ConcurrentHashMap<>();
   private final String defaultPackageName;
 
   @Override
@@ -48,24 +59,58 @@ public class DiscoApiModel implements ApiModel {
   }
 
   @Override
-  public List<DiscoInterfaceModel> getInterfaces(GapicProductConfig gapicProductConfig) {
+  public synchronized List<DiscoInterfaceModel> getInterfaces(
+      GapicProductConfig gapicProductConfig) {
     if (interfaceModels != null) {
       return interfaceModels;
     }
 
     ImmutableList.Builder<DiscoInterfaceModel> builder = ImmutableList.builder();
+    Map<String, DiscoInterfaceModel> interfacesByName = new LinkedHashMap<>();
+    String ownerName = document.ownerDomain().split("\\.")[0];
     for (String resource : document.resources().keySet()) {
-      String ownerName = document.ownerDomain().split("\\.")[0];
       String resourceName = Name.anyCamel(resource).toUpperCamel();
       String interfaceName =
           String.format(
               "%s.%s.%s.%s", ownerName, document.name(), document.version(), resourceName);
-      builder.add(new DiscoInterfaceModel(interfaceName, this));
+      DiscoInterfaceModel interfaceModel = new DiscoInterfaceModel(interfaceName, this);
+      if (interfaceNameFilter.test(interfaceName)) {
+        builder.add(interfaceModel);
+      }
+      interfacesByName.putIfAbsent(interfaceName, interfaceModel);
     }
+    this.interfacesByName = ImmutableMap.copyOf(interfacesByName);
     interfaceModels = builder.build();
     return interfaceModels;
   }
 
+  /**
+   * Returns the model of the given method of this model's document. Models are created on first use
+   * and shared afterwards, together with the fields they memoize.
+   */
+  public DiscoveryMethodModel getMethodModel(Method method) {
+    DiscoveryMethodModel methodModel =
+        methodModels.computeIfAbsent(method.id(), id -> new DiscoveryMethodModel(method, this));
+    if (methodModel.getDiscoMethod() != method) {
+      // A method that is not part of the document; don't cache it.
+      return new DiscoveryMethodModel(method, this);
+    }
+    return methodModel;
+  }
+
+  /** Returns the models of the methods of the given resource, or an empty list if none. */
+  public ImmutableList<DiscoveryMethodModel> getMethodModels(String resourceName) {
+    return resourceMethodModels.computeIfAbsent(
+        resourceName,
+        name ->
+            document
+                .resources()
+                .getOrDefault(name, ImmutableList.of())
+                .stream()
+                .map(this::getMethodModel)
+                .collect(ImmutableList.toImmutableList()));
+  }
+
   @Override
   public List<? extends TypeModel> getAdditionalTypes() {
     throw new UnsupportedOperationException("Discovery does not support additional types");
@@ -73,13 +118,24 @@ public class DiscoApiModel implements ApiModel {
 
   @Override
   public InterfaceModel getInterface(String interfaceName) {
-    return null;
+    getInterfaces(null);
+    return interfacesByName.get(interfaceName);
   }
 
   public DiscoApiModel(Document document, String defaultPackageName) {
+    this(document, defaultPackageName, interfaceName -> true);
+  }
+
+  /**
+   * Creates a model with only the interfaces whose full names are accepted by the given filter;
+   * used to generate part of the output, such as one shard.
+   */
+  public DiscoApiModel(
+      Document document, String defaultPackageName, Predicate<String> interfaceNameFilter) {
     this.document = document;
     this.diagCollector = new BoundedDiagCollector();
     this.defaultPackageName = defaultPackageName;
+    this.interfaceNameFilter = interfaceNameFilter;
   }
 
   public Document getDocument() {
@@ -302,6 +302,12 @@ public abstract class DiscoGapicInterfaceConfig implements InterfaceConfig {
     return false;
   }
 
+  @Override
+  public ChannelConfig getChannelConfig() {
+    // Discovery-based clients use HTTP/JSON rather than gRPC channels.
+    return null;
+  }
+
   @Override
   public boolean hasDefaultInstance() {
     return getRequiredConstructorParams().size() == 0;
@@ -23,8 +23,11 @@ import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +37,7 @@ import java.util.stream.Collectors;
 @AutoValue
 public abstract class DiscoGapicInterfaceContext implements InterfaceContext {
   private ImmutableList<DiscoveryMethodModel> interfaceMethods;
+  private ImmutableMap<String, DiscoGapicMethodConfig> methodConfigsByName;
 
   public static DiscoGapicInterfaceContext createWithoutInterface(
       DiscoApiModel model,
@@ -200,15 +204,32 @@ public abstract class DiscoGapicInterfaceContext implements InterfaceContext {
   /* Returns the DiscoGapicMethodConfig for the given method. */
   public DiscoGapicMethodConfig getMethodConfig(MethodModel method) {
     String methodName = method.getFullName();
+    DiscoGapicMethodConfig methodConfig = getMethodConfigIndex().get(methodName);
+    if (methodConfig == null) {
+      throw new IllegalArgumentException(
+          "Interface config does not exist for method: " + methodName);
+    }
+    return methodConfig;
+  }
+
+  /**
+   * Returns the method configs of all interfaces, keyed by the method's full name. The first config
+   * wins if several interfaces configure the same method. Memoize the result.
+   */
+  private synchronized Map<String, DiscoGapicMethodConfig> getMethodConfigIndex() {
+    if (methodConfigsByName != null) {
+      return methodConfigsByName;
+    }
+
+    Map<String, DiscoGapicMethodConfig> methodConfigs = new HashMap<>();
     for (InterfaceConfig config : getProductConfig().getInterfaceConfigMap().values()) {
       for (MethodConfig methodConfig : config.getMethodConfigs()) {
-        if (methodConfig.getMethodModel().getFullName().equals(methodName)) {
-          return (DiscoGapicMethodConfig) methodConfig;
-        }
+        methodConfigs.putIfAbsent(
+            methodConfig.getMethodModel().getFullName(), (DiscoGapicMethodConfig) methodConfig);
       }
     }
-
-    throw new IllegalArgumentException("Interface config does not exist for method: " + methodName);
+    methodConfigsByName = ImmutableMap.copyOf(methodConfigs);
+    return methodConfigsByName;
   }
 
   @Override
@@ -73,6 +73,18 @@ public abstract class DiscoGapicMethodConfig extends MethodConfig {
     return null;
   }
 
+  @Nullable
+  @Override
+  public HedgingConfig getHedging() {
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public CompressionConfig getCompression() {
+    return null;
+  }
+
   /**
    * Creates an instance of DiscoGapicMethodConfig based on MethodConfigProto, linking it up with
    * the provided method. On errors, null will be returned, and diagnostics are reported to the diag
@@ -90,7 +102,7 @@ public abstract class DiscoGapicMethodConfig extends MethodConfig {
       ImmutableSet<String> retryParamsConfigNames) {
 
     boolean error = false;
-    DiscoveryMethodModel methodModel = new DiscoveryMethodModel(method, apiModel);
+    DiscoveryMethodModel methodModel = apiModel.getMethodModel(method);
     DiagCollector diagCollector = apiModel.getDiagCollector();
 
     PageStreamingConfig pageStreaming = null;
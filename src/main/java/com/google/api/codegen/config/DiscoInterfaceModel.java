@@ -15,7 +15,6 @@
 package com.google.api.codegen.config;
 
 import com.google.api.codegen.discogapic.transformer.DiscoGapicParser;
-import com.google.api.codegen.discovery.Method;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 
@@ -62,14 +61,7 @@ public class DiscoInterfaceModel implements InterfaceModel {
   /** Returns a list of language-agnostic methods. */
   @Override
   public List<MethodModel> getMethods() {
-    ImmutableList.Builder<MethodModel> methods = ImmutableList.builder();
-    if (!apiModel.getDocument().resources().containsKey(interfaceName)) {
-      return ImmutableList.of();
-    }
-    for (Method method : apiModel.getDocument().resources().get(interfaceName)) {
-      methods.add(new DiscoveryMethodModel(method, apiModel));
-    }
-    return methods.build();
+    return ImmutableList.copyOf(apiModel.getMethodModels(interfaceName));
   }
 
   @Override
@@ -32,10 +32,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
@@ -66,7 +66,7 @@ public class DiscoveryField implements FieldModel, TypeModel {
 
   // For each namespace, stores the symbol table and table of schemas and their names to
   // ensure unique message type names for each namespace.
-  private static Map<String, SchemaNamer> namespaceToSchemaNamer = new HashMap<>();
+  private static Map<String, SchemaNamer> namespaceToSchemaNamer = new ConcurrentHashMap<>();
 
   /**
    * Create a FieldModel object from a non-null Schema object, and internally dereference the input
@@ -103,7 +103,7 @@ public class DiscoveryField implements FieldModel, TypeModel {
   }
 
   /** Create a FieldModel object from a non-null Schema object. */
-  public static synchronized DiscoveryField create(Schema schema, DiscoApiModel rootApiModel) {
+  public static DiscoveryField create(Schema schema, DiscoApiModel rootApiModel) {
     if (!Strings.isNullOrEmpty(schema.reference()) && rootApiModel != null) {
       // First create a DiscoveryField for the underlying referenced Schema.
       create(schema.dereference(), rootApiModel);
@@ -111,6 +111,37 @@ public class DiscoveryField implements FieldModel, TypeModel {
     return new DiscoveryField(schema, rootApiModel);
   }
 
+  /**
+   * Assigns the unique type names of all message-type schemas in the given model's document,
+   * walking the schemas depth-first in the iteration order of {@link Document#schemas()}. That
+   * order is fixed for a given document, so callers that create DiscoveryFields from several
+   * threads call this first to keep the names independent of thread scheduling.
+   */
+  public static void reserveSchemaNames(DiscoApiModel apiModel) {
+    for (Schema schema : apiModel.getDocument().schemas().values()) {
+      reserveSchemaNames(schema, apiModel);
+    }
+  }
+
+  private static void reserveSchemaNames(Schema schema, DiscoApiModel apiModel) {
+    // Creating the field names the schema and, recursively, its properties.
+    create(schema, apiModel);
+    reserveElementSchemaNames(schema, apiModel);
+  }
+
+  /** Names the element schemas of the given schema and its properties, which are not fields. */
+  private static void reserveElementSchemaNames(Schema schema, DiscoApiModel apiModel) {
+    if (schema.items() != null) {
+      reserveSchemaNames(schema.items(), apiModel);
+    }
+    if (schema.additionalProperties() != null) {
+      reserveSchemaNames(schema.additionalProperties(), apiModel);
+    }
+    for (Schema property : schema.properties().values()) {
+      reserveElementSchemaNames(property, apiModel);
+    }
+  }
+
   /** @return the JSON identifier for this field, unchanged from the Discovery doc. */
   public String getRawName() {
     return originalSchema.getIdentifier();
@@ -489,7 +520,7 @@ public class DiscoveryField implements FieldModel, TypeModel {
     // Stores the escaped name for each message-type schema.
     private Map<Schema, String> messageNames = new TreeMap<>(messageSchemaComparator);
 
-    String getSchemaName(Schema schema, String basename) {
+    synchronized String getSchemaName(Schema schema, String basename) {
       return messageNames.computeIfAbsent(schema, k -> idSymbolTable.getNewSymbol(basename));
     }
   }
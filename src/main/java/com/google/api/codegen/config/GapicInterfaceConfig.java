@@ -85,6 +85,10 @@ public abstract class GapicInterfaceConfig implements InterfaceConfig {
   @Override
   public abstract String getManualDoc();
 
+  @Override
+  @Nullable
+  public abstract ChannelConfig getChannelConfig();
+
   @Override
   public String getName() {
     return getInterfaceNameOverride() != null
@@ -193,6 +197,12 @@ public abstract class GapicInterfaceConfig implements InterfaceConfig {
     }
     ImmutableSet<SingleResourceNameConfig> singleResourceNames = resourcesBuilder.build();
 
+    ChannelConfig channelConfig = null;
+    if (interfaceConfigProto.hasChannel()) {
+      channelConfig =
+          ChannelConfig.createChannelConfig(diagCollector, interfaceConfigProto.getChannel());
+    }
+
     String manualDoc =
         Strings.nullToEmpty(
                 interfaceConfigProto.getLangDoc().get(language.toString().toLowerCase()))
@@ -211,7 +221,8 @@ public abstract class GapicInterfaceConfig implements InterfaceConfig {
           retrySettingsDefinition,
           requiredConstructorParams,
           singleResourceNames,
-          manualDoc);
+          manualDoc,
+          channelConfig);
     }
   }
 
@@ -25,10 +25,13 @@ import com.google.api.tools.framework.model.Model;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nullable;
 
 /**
@@ -39,6 +42,17 @@ import javax.annotation.Nullable;
 public abstract class GapicInterfaceContext implements InterfaceContext {
   private ImmutableList<MethodModel> interfaceMethods;
 
+  // Per-method lookups are made many times per method by the transformers, so they are memoized.
+  // The contexts share this context's type table, so the memos are never carried over to a
+  // context with a new type table.
+  private ImmutableList<MethodModel> allInterfaceMethods;
+  private InterfaceConfig originalInterfaceConfig;
+  private final ConcurrentMap<String, GapicMethodContext> requestMethodContexts =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<
+          GapicMethodConfig, ConcurrentMap<FlatteningConfig, GapicMethodContext>>
+      flattenedMethodContexts = new MapMaker().weakKeys().makeMap();
+
   public static GapicInterfaceContext create(
       Interface apiInterface,
       GapicProductConfig productConfig,
@@ -65,6 +79,21 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
         createGrpcRerouteMap(protoInterface.getInterface().getModel(), productConfig));
   }
 
+  /**
+   * Creates a context for the same interface and interface configs as this one. The reroute map
+   * only depends on those, so it is reused rather than rebuilt from every interface of the model.
+   */
+  private GapicInterfaceContext withTypeTable(
+      GapicProductConfig productConfig, ModelTypeTable typeTable, SurfaceNamer namer) {
+    return new AutoValue_GapicInterfaceContext(
+        getInterfaceModel(),
+        productConfig,
+        typeTable,
+        namer,
+        getFeatureConfig(),
+        getGrpcRerouteMap());
+  }
+
   private static Map<Interface, Interface> createGrpcRerouteMap(
       Model model, GapicProductConfig productConfig) {
     HashMap<Interface, Interface> grpcRerouteMap = new HashMap<>();
@@ -122,22 +151,15 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
 
   @Override
   public GapicInterfaceContext withNewTypeTable() {
-    return create(
-        getInterface(),
-        getProductConfig(),
-        getImportTypeTable().cloneEmpty(),
-        getNamer(),
-        getFeatureConfig());
+    return withTypeTable(getProductConfig(), getImportTypeTable().cloneEmpty(), getNamer());
   }
 
   @Override
   public GapicInterfaceContext withNewTypeTable(String packageName) {
-    return create(
-        getInterface(),
+    return withTypeTable(
         getProductConfig().withPackageName(packageName),
         getImportTypeTable().cloneEmpty(packageName),
-        getNamer().cloneWithPackageName(packageName),
-        getFeatureConfig());
+        getNamer().cloneWithPackageName(packageName));
   }
 
   @Override
@@ -151,12 +173,7 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
    * <p>If the method is a gRPC re-route method, returns the MethodConfig of the original method.
    */
   public GapicMethodConfig getMethodConfig(MethodModel method) {
-    Interface originalInterface = getInterface();
-    if (getGrpcRerouteMap().containsKey(originalInterface)) {
-      originalInterface = getGrpcRerouteMap().get(originalInterface);
-    }
-    InterfaceConfig originalInterfaceConfig =
-        getProductConfig().getInterfaceConfig(originalInterface);
+    InterfaceConfig originalInterfaceConfig = getOriginalInterfaceConfig();
     if (originalInterfaceConfig != null) {
       return (GapicMethodConfig) originalInterfaceConfig.getMethodConfig(method);
     } else {
@@ -165,40 +182,88 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
     }
   }
 
+  /** Returns the config of the interface, or of the interface it is a gRPC re-route of. */
+  @Nullable
+  private InterfaceConfig getOriginalInterfaceConfig() {
+    if (originalInterfaceConfig == null) {
+      Interface originalInterface = getInterface();
+      if (getGrpcRerouteMap().containsKey(originalInterface)) {
+        originalInterface = getGrpcRerouteMap().get(originalInterface);
+      }
+      originalInterfaceConfig = getProductConfig().getInterfaceConfig(originalInterface);
+    }
+    return originalInterfaceConfig;
+  }
+
   @Override
   public GapicMethodContext asFlattenedMethodContext(
       MethodContext methodContext, FlatteningConfig flatteningConfig) {
-    return GapicMethodContext.create(
-        this,
-        getInterface(),
-        getProductConfig(),
-        getImportTypeTable(),
-        getNamer(),
-        (GapicMethodConfig) methodContext.getMethodConfig(),
-        flatteningConfig,
-        getFeatureConfig());
+    GapicMethodConfig methodConfig = (GapicMethodConfig) methodContext.getMethodConfig();
+    if (flatteningConfig == null) {
+      return createMethodContext(methodConfig, null);
+    }
+    ConcurrentMap<FlatteningConfig, GapicMethodContext> contexts =
+        flattenedMethodContexts.get(methodConfig);
+    if (contexts == null) {
+      contexts = new MapMaker().weakKeys().makeMap();
+      ConcurrentMap<FlatteningConfig, GapicMethodContext> previous =
+          flattenedMethodContexts.putIfAbsent(methodConfig, contexts);
+      if (previous != null) {
+        contexts = previous;
+      }
+    }
+    GapicMethodContext context = contexts.get(flatteningConfig);
+    if (context == null) {
+      context = createMethodContext(methodConfig, flatteningConfig);
+      GapicMethodContext previous = contexts.putIfAbsent(flatteningConfig, context);
+      if (previous != null) {
+        context = previous;
+      }
+    }
+    return context;
   }
 
   @Override
   public GapicMethodContext asRequestMethodContext(MethodModel method) {
+    // Method configs are looked up by simple name, so the contexts are keyed the same way.
+    GapicMethodContext context = requestMethodContexts.get(method.getSimpleName());
+    if (context == null) {
+      context = createMethodContext(getMethodConfig(method), null);
+      GapicMethodContext previous =
+          requestMethodContexts.putIfAbsent(method.getSimpleName(), context);
+      if (previous != null) {
+        context = previous;
+      }
+    }
+    return context;
+  }
+
+  private GapicMethodContext createMethodContext(
+      GapicMethodConfig methodConfig, @Nullable FlatteningConfig flatteningConfig) {
     return GapicMethodContext.create(
         this,
         getInterface(),
         getProductConfig(),
         getImportTypeTable(),
         getNamer(),
-        getMethodConfig(method),
-        null,
+        methodConfig,
+        flatteningConfig,
         getFeatureConfig());
   }
 
+  /** Returns the methods of this interface. Memoize the result. */
   @Override
   public List<MethodModel> getInterfaceMethods() {
+    if (allInterfaceMethods != null) {
+      return allInterfaceMethods;
+    }
+
     ImmutableList.Builder<MethodModel> methodBuilder = ImmutableList.builder();
     for (Method method : getInterface().getMethods()) {
       methodBuilder.add(new ProtoMethodModel(method));
     }
-    return methodBuilder.build();
+    allInterfaceMethods = methodBuilder.build();
+    return allInterfaceMethods;
   }
 
   /** Returns a list of methods for this interface that have method configs. Memoize the result. */
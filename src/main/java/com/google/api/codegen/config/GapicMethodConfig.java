@@ -96,6 +96,23 @@ public abstract class GapicMethodConfig extends MethodConfig {
 
     String retryCodesName = retryCodesConfig.getMethodRetryNames().get(method.getSimpleName());
 
+    HedgingConfig hedging = null;
+    if (methodConfigProto.hasHedging()) {
+      hedging =
+          HedgingConfig.createHedgingConfig(
+              diagCollector,
+              methodConfigProto.getHedging(),
+              methodModel,
+              retryCodesConfig.getRetryCodesDefinition().get(retryCodesName));
+    }
+
+    CompressionConfig compression = null;
+    if (methodConfigProto.hasCompression()) {
+      compression =
+          CompressionConfig.createCompressionConfig(
+              diagCollector, methodConfigProto.getCompression(), methodModel);
+    }
+
     String retryParamsName =
         RetryDefinitionsTransformer.getRetryParamsName(
             methodConfigProto, diagCollector, retryParamsConfigNames);
@@ -145,6 +162,8 @@ public abstract class GapicMethodConfig extends MethodConfig {
         .setRetrySettingsConfigName(retryParamsName)
         .setTimeout(timeout)
         .setBatching(batching)
+        .setHedging(hedging)
+        .setCompression(compression)
         .setSampleCodeInitFields(sampleCodeInitFields)
         .setSampleSpec(sampleSpec)
         .setRerouteToGrpcInterface(rerouteToGrpcInterface)
@@ -399,6 +418,10 @@ public abstract class GapicMethodConfig extends MethodConfig {
 
     public abstract Builder setBatching(@Nullable BatchingConfig val);
 
+    public abstract Builder setHedging(@Nullable HedgingConfig val);
+
+    public abstract Builder setCompression(@Nullable CompressionConfig val);
+
     public abstract Builder setFieldNamePatterns(ImmutableMap<String, String> val);
 
     public abstract Builder setSampleCodeInitFields(List<String> val);
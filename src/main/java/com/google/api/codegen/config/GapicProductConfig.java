@@ -28,6 +28,7 @@ import com.google.api.codegen.configgen.mergers.LanguageSettingsMerger;
 import com.google.api.codegen.util.ConfigVersionValidator;
 import com.google.api.codegen.util.LicenseHeaderUtil;
 import com.google.api.codegen.util.ProtoParser;
+import com.google.api.codegen.util.ResourceAnnotationIndex;
 import com.google.api.tools.framework.model.*;
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
@@ -199,18 +200,14 @@ public abstract class GapicProductConfig implements ProductConfig {
     ImmutableMap<String, ResourceNameConfig> resourceNameConfigs;
     ResourceNameMessageConfigs messageConfigs;
     if (protoParser.isProtoAnnotationsEnabled()) {
+      // Walk the resource annotations of all messages and fields once and share the result.
+      ResourceAnnotationIndex annotationIndex =
+          ResourceAnnotationIndex.create(protoParser, sourceProtos);
+
       Map<String, ResourceDescriptorConfig> descriptorConfigMap =
-          protoParser.getResourceDescriptorConfigMap(sourceProtos, diagCollector);
-
-      Set<String> configsWithChildTypeReferences =
-          sourceProtos
-              .stream()
-              .flatMap(protoFile -> protoFile.getMessages().stream())
-              .flatMap(messageType -> messageType.getFields().stream())
-              .filter(protoParser::hasResourceReference)
-              .map(field -> protoParser.getResourceReference(field).getChildType())
-              .filter(type -> !Strings.isNullOrEmpty(type))
-              .collect(Collectors.toSet());
+          protoParser.getResourceDescriptorConfigMap(annotationIndex, diagCollector);
+
+      Set<String> configsWithChildTypeReferences = annotationIndex.getChildTypeReferences();
 
       resourceNameConfigs =
           createResourceNameConfigsFromAnnotationsAndGapicConfig(
@@ -224,7 +221,7 @@ public abstract class GapicProductConfig implements ProductConfig {
 
       messageConfigs =
           ResourceNameMessageConfigs.createFromAnnotations(
-              diagCollector, sourceProtos, protoParser, descriptorConfigMap);
+              diagCollector, sourceProtos, annotationIndex, descriptorConfigMap);
     } else {
       resourceNameConfigs =
           createResourceNameConfigsFromGapicConfigOnly(
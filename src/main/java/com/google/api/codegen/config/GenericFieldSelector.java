@@ -14,10 +14,15 @@
  */
 package com.google.api.codegen.config;
 
+import java.util.List;
+
 /** API source-agnostic interface for FieldSelectors. */
 public interface GenericFieldSelector {
 
   String getParamName();
 
   FieldModel getLastField();
+
+  /** The fields on the path from the message to the selected field, outermost first. */
+  List<FieldModel> getFields();
 }
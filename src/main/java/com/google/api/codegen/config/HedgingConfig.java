@@ -0,0 +1,100 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import com.google.api.codegen.HedgingConfigProto;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Enums;
+import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * HedgingConfig represents the hedging policy of a method: when no response arrives within the
+ * hedging delay, another copy of the request is sent, up to the maximum number of attempts, and the
+ * first response is used.
+ */
+@AutoValue
+public abstract class HedgingConfig {
+  public abstract int getMaxAttempts();
+
+  public abstract long getHedgingDelayMillis();
+
+  /** The names of the status codes after which the next copy is sent at once. */
+  public abstract ImmutableList<String> getNonFatalCodes();
+
+  /**
+   * Creates an instance of HedgingConfig based on HedgingConfigProto. The method must not be
+   * streaming, and it must not have retry codes: every retry would send all the hedged copies
+   * again, so, as in the gRPC service config, hedging and retrying are mutually exclusive. On
+   * errors, null will be returned, and diagnostics are reported to the diag collector.
+   */
+  @Nullable
+  static HedgingConfig createHedgingConfig(
+      DiagCollector diagCollector,
+      HedgingConfigProto hedgingConfigProto,
+      MethodModel methodModel,
+      @Nullable List<String> retryCodes) {
+    boolean error = false;
+    if (MethodConfig.isGrpcStreamingMethod(methodModel)) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Hedging is not supported for streaming methods (in method %s)",
+              methodModel.getFullName()));
+      error = true;
+    }
+    if (retryCodes != null && !retryCodes.isEmpty()) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Hedging and retrying are mutually exclusive, but the hedged method %s is retried on %s",
+              methodModel.getFullName(),
+              retryCodes));
+      error = true;
+    }
+    if (hedgingConfigProto.getMaxAttempts() < 2) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Hedging max_attempts must be at least 2, was %s (in method %s)",
+              hedgingConfigProto.getMaxAttempts(),
+              methodModel.getFullName()));
+      error = true;
+    }
+    for (String code : hedgingConfigProto.getNonFatalCodesList()) {
+      if (!Enums.getIfPresent(Status.Code.class, code).isPresent()) {
+        diagCollector.addDiag(
+            Diag.error(
+                SimpleLocation.TOPLEVEL,
+                "Hedging non-fatal code is not a status code: %s (in method %s)",
+                code,
+                methodModel.getFullName()));
+        error = true;
+      }
+    }
+    if (error) {
+      return null;
+    }
+    return new AutoValue_HedgingConfig(
+        hedgingConfigProto.getMaxAttempts(),
+        hedgingConfigProto.getHedgingDelayMillis(),
+        ImmutableList.copyOf(hedgingConfigProto.getNonFatalCodesList()));
+  }
+}
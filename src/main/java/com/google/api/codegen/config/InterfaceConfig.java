@@ -43,6 +43,10 @@ public interface InterfaceConfig {
 
   String getManualDoc();
 
+  /** Returns the defaults for the gRPC channels of the client, or null if there are none. */
+  @Nullable
+  ChannelConfig getChannelConfig();
+
   MethodConfig getMethodConfig(MethodModel method);
 
   boolean hasPageStreamingMethods();
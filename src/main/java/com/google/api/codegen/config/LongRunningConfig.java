@@ -18,11 +18,13 @@ import com.google.api.codegen.LongRunningConfigProto;
 import com.google.api.codegen.util.ProtoParser;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.Field;
 import com.google.api.tools.framework.model.Method;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.api.tools.framework.model.TypeRef;
 import com.google.auto.value.AutoValue;
+import com.google.common.base.Strings;
 import com.google.longrunning.OperationInfo;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -38,6 +40,8 @@ public abstract class LongRunningConfig {
   static final Duration LRO_MAX_POLL_DELAY_MILLIS = Duration.ofMillis(5000);
   static final Duration LRO_TOTAL_POLL_TIMEOUT_MILLS = Duration.ofMillis(300000);
 
+  private static final String POLL_DELAY_HINT_TYPE_NAME = "google.protobuf.Duration";
+
   /** Returns the message type returned from a completed operation. */
   public abstract TypeModel getReturnType();
 
@@ -59,6 +63,24 @@ public abstract class LongRunningConfig {
   /** Returns total polling timeout. */
   public abstract Duration getTotalPollTimeout();
 
+  /** Returns the fraction, from 0 to 1, by which each poll delay may be randomly shortened. */
+  public abstract double getPollDelayJitter();
+
+  /**
+   * Returns the Duration field of the metadata type through which the server hints at the delay
+   * before the next poll, or null if there is none.
+   */
+  @Nullable
+  public abstract FieldModel getPollDelayHintField();
+
+  /** Returns whether polls wake on a schedule shared by all operations. */
+  public abstract boolean isSharedPollSchedule();
+
+  /** Returns whether polling adapts to anything beyond the fixed backoff. */
+  public boolean hasAdaptivePolling() {
+    return getPollDelayJitter() > 0 || getPollDelayHintField() != null || isSharedPollSchedule();
+  }
+
   private static String qualifyLroTypeName(
       String typeName, Method method, ProtoParser protoParser) {
     if (!typeName.contains(".")) {
@@ -128,6 +150,7 @@ public abstract class LongRunningConfig {
 
     LongRunningConfig.Builder builder =
         getGapicConfigLroRetrySettingsOrDefault(diagCollector, longRunningConfigProto);
+    setAdaptivePolling(builder, diagCollector, longRunningConfigProto, metadataType);
 
     return builder
         .setReturnType(ProtoTypeRef.create(returnType))
@@ -193,6 +216,58 @@ public abstract class LongRunningConfig {
         .setTotalPollTimeout(totalPollTimeout);
   }
 
+  /**
+   * Sets the adaptive polling settings of the given builder from a method's GAPIC config. Errors
+   * are reported to the diagCollector.
+   */
+  private static void setAdaptivePolling(
+      LongRunningConfig.Builder builder,
+      DiagCollector diagCollector,
+      LongRunningConfigProto longRunningConfigProto,
+      TypeRef metadataType) {
+    double pollDelayJitter = longRunningConfigProto.getPollDelayJitter();
+    if (pollDelayJitter < 0 || pollDelayJitter > 1) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Poll delay jitter must be between 0 and 1: '%s'",
+              pollDelayJitter));
+    }
+    builder.setPollDelayJitter(pollDelayJitter);
+
+    String hintFieldName = longRunningConfigProto.getPollDelayHintField();
+    if (!Strings.isNullOrEmpty(hintFieldName)) {
+      Field hintField = metadataType.getMessageType().lookupField(hintFieldName);
+      if (hintField == null
+          || hintField.getType().isRepeated()
+          || !hintField.getType().isMessage()
+          || !hintField
+              .getType()
+              .getMessageType()
+              .getFullName()
+              .equals(POLL_DELAY_HINT_TYPE_NAME)) {
+        diagCollector.addDiag(
+            Diag.error(
+                SimpleLocation.TOPLEVEL,
+                "Poll delay hint field must be a %s field of the metadata type %s: '%s'",
+                POLL_DELAY_HINT_TYPE_NAME,
+                metadataType.getMessageType().getFullName(),
+                hintFieldName));
+      } else {
+        builder.setPollDelayHintField(new ProtoField(hintField));
+      }
+    }
+
+    if (longRunningConfigProto.getSharedPollSchedule()
+        && longRunningConfigProto.getInitialPollDelayMillis() <= 0) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "A shared poll schedule ticks every initial poll delay, which must be positive"));
+    }
+    builder.setSharedPollSchedule(longRunningConfigProto.getSharedPollSchedule());
+  }
+
   /** Creates an instance of LongRunningConfig based on LongRunningConfigProto. */
   @Nullable
   static LongRunningConfig createLongRunningConfigFromGapicConfigOnly(
@@ -241,6 +316,7 @@ public abstract class LongRunningConfig {
 
     LongRunningConfig.Builder builder =
         getGapicConfigLroRetrySettingsOrDefault(diagCollector, longRunningConfigProto);
+    setAdaptivePolling(builder, diagCollector, longRunningConfigProto, metadataType);
 
     return builder
         .setReturnType(ProtoTypeRef.create(returnType))
@@ -249,7 +325,9 @@ public abstract class LongRunningConfig {
   }
 
   private static Builder newBuilder() {
-    return new AutoValue_LongRunningConfig.Builder();
+    return new AutoValue_LongRunningConfig.Builder()
+        .setPollDelayJitter(0)
+        .setSharedPollSchedule(false);
   }
 
   @AutoValue.Builder
@@ -267,6 +345,12 @@ public abstract class LongRunningConfig {
 
     public abstract Builder setTotalPollTimeout(Duration val);
 
+    public abstract Builder setPollDelayJitter(double val);
+
+    public abstract Builder setPollDelayHintField(FieldModel val);
+
+    public abstract Builder setSharedPollSchedule(boolean val);
+
     public abstract LongRunningConfig build();
   }
 }
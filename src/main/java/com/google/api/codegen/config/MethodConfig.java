@@ -72,6 +72,12 @@ public abstract class MethodConfig {
 
   public abstract ReleaseLevel getReleaseLevel();
 
+  @Nullable
+  public abstract HedgingConfig getHedging();
+
+  @Nullable
+  public abstract CompressionConfig getCompression();
+
   /**
    * package-private for internal use.
    *
@@ -120,6 +126,16 @@ public abstract class MethodConfig {
     return getBatching() != null;
   }
 
+  /** Returns true if this method has a hedging policy configured. */
+  public boolean isHedging() {
+    return getHedging() != null;
+  }
+
+  /** Returns true if this method has request compression configured. */
+  public boolean isCompressed() {
+    return getCompression() != null;
+  }
+
   public ImmutableList<FieldModel> getRequiredFields() {
     return getRequiredFieldConfigs()
         .stream()
@@ -64,6 +64,17 @@ public abstract class PageStreamingConfig {
 
   public abstract FieldConfig getResourcesFieldConfig();
 
+  /**
+   * Returns the number of pages to request ahead of the page being iterated, or zero if pages are
+   * requested only as they are needed.
+   */
+  public abstract int getPrefetchDepth();
+
+  /** Returns whether iterating over the resources requests pages ahead of time. */
+  public boolean hasPrefetch() {
+    return getPrefetchDepth() > 0;
+  }
+
   @Nullable
   public FieldModel getPageSizeField() {
     return getPagingFields().getPageSizeField();
@@ -165,7 +176,13 @@ public abstract class PageStreamingConfig {
               methodConfigProto.getResourceNameTreatment());
     }
 
-    if (requestTokenField == null || responseTokenField == null || resourcesFieldConfig == null) {
+    int prefetchDepth = pageStreaming.getPrefetchDepth();
+    boolean validPrefetchDepth = checkPrefetchDepth(diagCollector, method, prefetchDepth);
+
+    if (requestTokenField == null
+        || responseTokenField == null
+        || resourcesFieldConfig == null
+        || !validPrefetchDepth) {
       return null;
     }
     PagingFields pagingFields =
@@ -174,7 +191,7 @@ public abstract class PageStreamingConfig {
             .setRequestTokenField(requestTokenField)
             .setResponseTokenField(responseTokenField)
             .build();
-    return new AutoValue_PageStreamingConfig(pagingFields, resourcesFieldConfig);
+    return new AutoValue_PageStreamingConfig(pagingFields, resourcesFieldConfig, prefetchDepth);
   }
 
   /**
@@ -189,6 +206,7 @@ public abstract class PageStreamingConfig {
       ImmutableMap<String, ResourceNameConfig> resourceNameConfigs,
       ProtoMethodModel method,
       PagingFields pagingFields,
+      int prefetchDepth,
       ProtoParser protoParser,
       String defaultPackageName) {
     FieldModel requestTokenField = pagingFields.getRequestTokenField();
@@ -214,10 +232,29 @@ public abstract class PageStreamingConfig {
               messageConfigs, resourceNameConfigs, resourcesField, resourceNameTreatment);
     }
 
-    if (requestTokenField == null || responseTokenField == null || resourcesFieldConfig == null) {
+    boolean validPrefetchDepth = checkPrefetchDepth(diagCollector, method, prefetchDepth);
+
+    if (requestTokenField == null
+        || responseTokenField == null
+        || resourcesFieldConfig == null
+        || !validPrefetchDepth) {
       return null;
     }
-    return new AutoValue_PageStreamingConfig(pagingFields, resourcesFieldConfig);
+    return new AutoValue_PageStreamingConfig(pagingFields, resourcesFieldConfig, prefetchDepth);
+  }
+
+  private static boolean checkPrefetchDepth(
+      DiagCollector diagCollector, MethodModel method, int prefetchDepth) {
+    if (prefetchDepth < 0) {
+      diagCollector.addDiag(
+          Diag.error(
+              SimpleLocation.TOPLEVEL,
+              "Prefetch depth must not be negative: method = %s, prefetch_depth = %s",
+              method.getFullName(),
+              prefetchDepth));
+      return false;
+    }
+    return true;
   }
 
   /** package-private for use by {@link GapicMethodConfig}. */
@@ -229,8 +266,10 @@ public abstract class PageStreamingConfig {
       ResourceNameMessageConfigs messageConfigs,
       ImmutableMap<String, ResourceNameConfig> resourceNameConfigs,
       ProtoParser protoParser) {
-    // Let the GAPIC config define a page streaming config as an override.
-    if (methodConfigProto.hasPageStreaming()) {
+    // Let the GAPIC config define a page streaming config as an override. A config which only sets
+    // the prefetch depth keeps the paging fields found in the proto file.
+    PageStreamingConfigProto pageStreaming = methodConfigProto.getPageStreaming();
+    if (pageStreaming.hasRequest() || pageStreaming.hasResponse()) {
       return createPageStreamingFromGapicConfig(
           diagCollector, messageConfigs, resourceNameConfigs, methodConfigProto, methodModel);
     }
@@ -254,6 +293,7 @@ public abstract class PageStreamingConfig {
           resourceNameConfigs,
           methodModel,
           pagingFields,
+          pageStreaming.getPrefetchDepth(),
           protoParser,
           defaultPackageName);
     }
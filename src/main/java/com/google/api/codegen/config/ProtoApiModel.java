@@ -20,6 +20,7 @@ import com.google.api.Service;
 import com.google.api.codegen.gapic.ProtoModels;
 import com.google.api.codegen.util.ProtoParser;
 import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.Interface;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.TypeRef;
 import com.google.common.annotations.VisibleForTesting;
@@ -29,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /**
  * Utility class that provides data from "service config", as defined in a service yaml file.
@@ -37,10 +39,20 @@ import java.util.TreeSet;
  */
 public class ProtoApiModel implements ApiModel {
   private final Model protoModel;
+  private final Predicate<Interface> interfaceFilter;
   private ImmutableList<ProtoInterfaceModel> interfaceModels;
 
   public ProtoApiModel(Model protoModel) {
+    this(protoModel, apiInterface -> true);
+  }
+
+  /**
+   * Creates a model with only the interfaces accepted by the given filter; used to generate part of
+   * the output, such as one shard.
+   */
+  public ProtoApiModel(Model protoModel, Predicate<Interface> interfaceFilter) {
     this.protoModel = protoModel;
+    this.interfaceFilter = interfaceFilter;
   }
 
   public Model getProtoModel() {
@@ -105,6 +117,7 @@ public class ProtoApiModel implements ApiModel {
       interfaceModels =
           ProtoModels.getInterfaces(protoModel, productConfig)
               .stream()
+              .filter(interfaceFilter)
               .map(ProtoInterfaceModel::new)
               .collect(ImmutableList.toImmutableList());
     }
@@ -155,12 +155,12 @@ public class ProtoField implements FieldModel {
 
   @Override
   public boolean isString() {
-    return protoField.getType().equals(TYPE_STRING);
+    return protoField.getType().getKind() == TYPE_STRING;
   }
 
   @Override
   public boolean isBytes() {
-    return protoField.getType().equals(TYPE_BYTES);
+    return protoField.getType().getKind() == TYPE_BYTES;
   }
 
   @Override
@@ -14,8 +14,11 @@
  */
 package com.google.api.codegen.config;
 
+import com.google.api.tools.framework.model.Field;
 import com.google.api.tools.framework.model.FieldSelector;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 
 /** Proto-based wrapper around FieldSelector. */
 public final class ProtoFieldSelector implements GenericFieldSelector {
@@ -35,4 +38,13 @@ public final class ProtoFieldSelector implements GenericFieldSelector {
   public FieldModel getLastField() {
     return new ProtoField(fieldSelector.getLastField());
   }
+
+  @Override
+  public List<FieldModel> getFields() {
+    ImmutableList.Builder<FieldModel> fields = ImmutableList.builder();
+    for (Field field : fieldSelector.getFields()) {
+      fields.add(new ProtoField(field));
+    }
+    return fields.build();
+  }
 }
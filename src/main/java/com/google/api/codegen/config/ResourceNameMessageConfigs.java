@@ -22,6 +22,7 @@ import com.google.api.codegen.discogapic.transformer.DiscoGapicNamer;
 import com.google.api.codegen.discovery.Method;
 import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.util.ProtoParser;
+import com.google.api.codegen.util.ResourceAnnotationIndex;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.Field;
@@ -54,61 +55,68 @@ public abstract class ResourceNameMessageConfigs {
       List<ProtoFile> protoFiles,
       ProtoParser parser,
       Map<String, ResourceDescriptorConfig> descriptorConfigMap) {
+    return createFromAnnotations(
+        diagCollector,
+        protoFiles,
+        ResourceAnnotationIndex.create(parser, protoFiles),
+        descriptorConfigMap);
+  }
+
+  static ResourceNameMessageConfigs createFromAnnotations(
+      DiagCollector diagCollector,
+      List<ProtoFile> protoFiles,
+      ResourceAnnotationIndex annotationIndex,
+      Map<String, ResourceDescriptorConfig> descriptorConfigMap) {
     ImmutableMap.Builder<String, ResourceNameMessageConfig> builder = ImmutableMap.builder();
 
-    for (ProtoFile protoFile : protoFiles) {
-      for (MessageType message : protoFile.getMessages()) {
-        ImmutableMap.Builder<String, String> fieldEntityMapBuilder = ImmutableMap.builder();
+    for (MessageType message : annotationIndex.getAnnotatedMessages()) {
+      ImmutableMap.Builder<String, String> fieldEntityMapBuilder = ImmutableMap.builder();
 
-        String resourceFieldName = null;
-        ResourceDescriptor resourceDescriptor = parser.getResourceDescriptor(message);
-        if (resourceDescriptor != null) {
-          resourceFieldName = resourceDescriptor.getNameField();
-          if (Strings.isNullOrEmpty(resourceFieldName)) {
-            resourceFieldName = "name"; // Default field containing the resource path.
-          }
-          Field resourceField = message.lookupField(resourceFieldName);
-          String entityName =
-              getResourceDescriptorTypeForField(
-                  false,
-                  diagCollector,
-                  descriptorConfigMap,
-                  resourceDescriptor.getType(),
-                  message,
-                  resourceField);
-          if (Strings.isNullOrEmpty(entityName)) continue;
-          fieldEntityMapBuilder.put(resourceField.getSimpleName(), entityName);
+      String resourceFieldName = null;
+      ResourceDescriptor resourceDescriptor = annotationIndex.getResourceDescriptor(message);
+      if (resourceDescriptor != null) {
+        resourceFieldName = resourceDescriptor.getNameField();
+        if (Strings.isNullOrEmpty(resourceFieldName)) {
+          resourceFieldName = "name"; // Default field containing the resource path.
         }
+        Field resourceField = message.lookupField(resourceFieldName);
+        String entityName =
+            getResourceDescriptorTypeForField(
+                false,
+                diagCollector,
+                descriptorConfigMap,
+                resourceDescriptor.getType(),
+                message,
+                resourceField);
+        if (Strings.isNullOrEmpty(entityName)) continue;
+        fieldEntityMapBuilder.put(resourceField.getSimpleName(), entityName);
+      }
 
-        for (Field field : message.getFields()) {
-          if (!parser.hasResourceReference(field)) {
-            continue;
-          }
-          if (field.getSimpleName().equals(resourceFieldName)) {
-            // We've already processed the Resource message's "name" field above.
-            continue;
-          }
-
-          ResourceReference reference = parser.getResourceReference(field);
-          boolean isChildReference = !Strings.isNullOrEmpty(reference.getChildType());
-          String type = isChildReference ? reference.getChildType() : reference.getType();
-          if (type.equals("*")) {
-            // This is an AnyResourceNameConfig.
-            fieldEntityMapBuilder.put(field.getSimpleName(), "*");
-            continue;
-          }
-          String entityName =
-              getResourceDescriptorTypeForField(
-                  isChildReference, diagCollector, descriptorConfigMap, type, message, field);
-          if (Strings.isNullOrEmpty(entityName)) continue;
-          fieldEntityMapBuilder.put(field.getSimpleName(), entityName);
+      for (Field field : annotationIndex.getResourceReferenceFields(message)) {
+        if (field.getSimpleName().equals(resourceFieldName)) {
+          // We've already processed the Resource message's "name" field above.
+          continue;
         }
-        ImmutableMap<String, String> fieldEntityMap = fieldEntityMapBuilder.build();
-        if (fieldEntityMap.size() > 0) {
-          ResourceNameMessageConfig messageConfig =
-              new AutoValue_ResourceNameMessageConfig(message.getFullName(), fieldEntityMap);
-          builder.put(messageConfig.messageName(), messageConfig);
+
+        ResourceReference reference = annotationIndex.getResourceReference(field);
+        boolean isChildReference = !Strings.isNullOrEmpty(reference.getChildType());
+        String type = isChildReference ? reference.getChildType() : reference.getType();
+        if (type.equals("*")) {
+          // This is an AnyResourceNameConfig.
+          fieldEntityMapBuilder.put(field.getSimpleName(), "*");
+          continue;
         }
+        String entityName =
+            getResourceDescriptorTypeForField(
+                isChildReference, diagCollector, descriptorConfigMap, type, message, field);
+        if (Strings.isNullOrEmpty(entityName)) continue;
+        fieldEntityMapBuilder.put(field.getSimpleName(), entityName);
+      }
+      ImmutableMap<String, String> fieldEntityMap = fieldEntityMapBuilder.build();
+      if (fieldEntityMap.size() > 0) {
+        ResourceNameMessageConfig messageConfig =
+            new AutoValue_ResourceNameMessageConfig(message.getFullName(), fieldEntityMap);
+        builder.put(messageConfig.messageName(), messageConfig);
       }
     }
     ImmutableMap<String, ResourceNameMessageConfig> map = builder.build();
@@ -17,15 +17,27 @@ package com.google.api.codegen.discogapic;
 import com.google.api.codegen.common.CodeGenerator;
 import com.google.api.codegen.common.GeneratedResult;
 import com.google.api.codegen.config.DiscoApiModel;
+import com.google.api.codegen.config.DiscoInterfaceModel;
+import com.google.api.codegen.config.DiscoveryField;
 import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.gapic.OutputFilter;
 import com.google.api.codegen.rendering.CommonSnippetSetRunner;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.viewmodel.ViewModel;
 import com.google.api.tools.framework.snippet.Doc;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.gson.internal.LinkedTreeMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /** CodeGenerator for discogapic, the GAPIC library surface for Discovery documents. */
 public class DiscoGapicGenerator implements CodeGenerator<Doc> {
@@ -33,6 +45,7 @@ public class DiscoGapicGenerator implements CodeGenerator<Doc> {
   private final GapicProductConfig productConfig;
   private final CommonSnippetSetRunner snippetSetRunner;
   private final List<ModelToViewTransformer<DiscoApiModel>> transformers;
+  private final OutputFilter outputFilter;
 
   private final List<String> snippetFileNames;
 
@@ -40,11 +53,13 @@ public class DiscoGapicGenerator implements CodeGenerator<Doc> {
       DiscoApiModel model,
       GapicProductConfig productConfig,
       CommonSnippetSetRunner snippetSetRunner,
-      List<ModelToViewTransformer<DiscoApiModel>> transformers) {
+      List<ModelToViewTransformer<DiscoApiModel>> transformers,
+      OutputFilter outputFilter) {
     this.model = model;
     this.productConfig = productConfig;
     this.snippetSetRunner = snippetSetRunner;
     this.transformers = transformers;
+    this.outputFilter = outputFilter;
 
     ImmutableList.Builder<String> snippetFileNames = ImmutableList.builder();
     for (ModelToViewTransformer<DiscoApiModel> transformer : transformers) {
@@ -62,17 +77,81 @@ public class DiscoGapicGenerator implements CodeGenerator<Doc> {
   public Map<String, GeneratedResult<Doc>> generate() {
     Map<String, GeneratedResult<Doc>> results = new LinkedTreeMap<>();
 
-    for (ModelToViewTransformer<DiscoApiModel> transformer : transformers) {
-      List<ViewModel> surfaceDocs = transformer.transform(model, productConfig);
-
+    // Results are merged in transformer order, so that later transformers still win on
+    // conflicting output paths.
+    for (List<ViewModel> surfaceDocs : transformAll()) {
       for (ViewModel surfaceDoc : surfaceDocs) {
-        results.putAll(snippetSetRunner.generate(surfaceDoc));
+        // Skip rendering files that were not asked for.
+        if (outputFilter.matches(surfaceDoc.outputPath())) {
+          results.putAll(snippetSetRunner.generate(surfaceDoc));
+        }
       }
     }
 
     return results;
   }
 
+  /**
+   * Runs the transformers, which are independent of each other, concurrently and returns their view
+   * models in transformer order.
+   */
+  private List<List<ViewModel>> transformAll() {
+    int threadCount = Math.min(transformers.size(), Runtime.getRuntime().availableProcessors());
+    if (threadCount <= 1) {
+      return transformers.stream().map(this::transform).collect(Collectors.toList());
+    }
+
+    // Message type names are handed out first-come, first-served; fix them before fanning out.
+    DiscoveryField.reserveSchemaNames(model);
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threadCount,
+            new ThreadFactoryBuilder().setNameFormat("disco-gapic-%d").setDaemon(true).build());
+    try {
+      List<Future<List<ViewModel>>> futures = new ArrayList<>();
+      for (ModelToViewTransformer<DiscoApiModel> transformer : transformers) {
+        futures.add(executor.submit(() -> transform(transformer)));
+      }
+      List<List<ViewModel>> results = new ArrayList<>();
+      for (Future<List<ViewModel>> future : futures) {
+        try {
+          results.add(Futures.getUnchecked(future));
+        } catch (UncheckedExecutionException e) {
+          Throwables.throwIfUnchecked(e.getCause());
+          throw e;
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Returns the views the given transformer builds for this generator's shard of the output. */
+  private List<ViewModel> transform(ModelToViewTransformer<DiscoApiModel> transformer) {
+    if (!outputFilter.isSharded()) {
+      return transformer.transform(model, productConfig);
+    }
+    // Only interfaces with a config are generated, so only they are split between shards.
+    List<String> generatedInterfaceNames =
+        model
+            .getInterfaces(productConfig)
+            .stream()
+            .filter(productConfig::hasInterfaceConfig)
+            .map(DiscoInterfaceModel::getFullName)
+            .collect(Collectors.toList());
+    return outputFilter.transformShard(
+        generatedInterfaceNames,
+        names ->
+            transformer.transform(
+                new DiscoApiModel(
+                    model.getDocument(),
+                    model.getDefaultPackageName(),
+                    name -> names.contains(name) || !generatedInterfaceNames.contains(name)),
+                productConfig));
+  }
+
   public static Builder newBuilder() {
     return new Builder();
   }
@@ -82,6 +161,7 @@ public class DiscoGapicGenerator implements CodeGenerator<Doc> {
     private GapicProductConfig productConfig;
     private CommonSnippetSetRunner snippetSetRunner;
     private List<ModelToViewTransformer<DiscoApiModel>> transformers;
+    private OutputFilter outputFilter = OutputFilter.all();
 
     private Builder() {}
 
@@ -106,8 +186,14 @@ public class DiscoGapicGenerator implements CodeGenerator<Doc> {
       return this;
     }
 
+    public Builder setOutputFilter(OutputFilter outputFilter) {
+      this.outputFilter = outputFilter;
+      return this;
+    }
+
     public DiscoGapicGenerator build() {
-      return new DiscoGapicGenerator(model, productConfig, snippetSetRunner, transformers);
+      return new DiscoGapicGenerator(
+          model, productConfig, snippetSetRunner, transformers, outputFilter);
     }
   }
 }
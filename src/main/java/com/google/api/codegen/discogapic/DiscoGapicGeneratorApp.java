@@ -14,8 +14,6 @@
  */
 package com.google.api.codegen.discogapic;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.codegen.ArtifactType;
 import com.google.api.codegen.ConfigProto;
 import com.google.api.codegen.common.CodeGenerator;
@@ -27,9 +25,13 @@ import com.google.api.codegen.config.DiscoApiModel;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
-import com.google.api.codegen.discovery.DiscoveryNode;
+import com.google.api.codegen.discovery.DiscoveryDocumentParser;
 import com.google.api.codegen.discovery.Document;
 import com.google.api.codegen.gapic.ArtifactFlags;
+import com.google.api.codegen.gapic.OutputFilter;
+import com.google.api.codegen.rendering.ParallelDocRenderer;
+import com.google.api.codegen.rendering.ZipOutputWriter;
+import com.google.api.codegen.rendering.ZipOutputWriter.Compression;
 import com.google.api.codegen.util.MultiYamlReader;
 import com.google.api.tools.framework.model.ConfigSource;
 import com.google.api.tools.framework.model.DiagCollector;
@@ -47,8 +49,7 @@ import com.google.protobuf.Message;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +72,33 @@ public class DiscoGapicGeneratorApp {
           "The name of the output file or folder to put generated code.",
           "");
 
+  public static final Option<String> OUTPUT_COMPRESSION =
+      ToolOptions.createOption(
+          String.class,
+          "output_compression",
+          "How entries of an archive output are stored: 'deflated' (default) or 'stored'.",
+          "");
+
+  public static final Option<String> OUTPUT_FILTER =
+      ToolOptions.createOption(
+          String.class,
+          "output_filter",
+          "A glob selecting the output files to generate; a glob without '/' matches file names.",
+          "");
+
+  public static final Option<Integer> SHARD_INDEX =
+      ToolOptions.createOption(
+          Integer.class,
+          "shard_index",
+          "The shard of the output to generate, from 0 to shard_count - 1.",
+          0);
+  public static final Option<Integer> SHARD_COUNT =
+      ToolOptions.createOption(
+          Integer.class,
+          "shard_count",
+          "The number of shards the output is split into; each shard generates a disjoint part.",
+          1);
+
   public static final Option<List<String>> GENERATOR_CONFIG_FILES =
       ToolOptions.createOption(
           new TypeLiteral<List<String>>() {},
@@ -108,13 +136,38 @@ public class DiscoGapicGeneratorApp {
       List<String> enabledArtifacts,
       ArtifactType artifactType)
       throws IOException {
+    return getGenerators(
+        discoveryDocPath,
+        configFileNames,
+        packageConfig2File,
+        dependencyConfigFile,
+        languageStr,
+        enabledArtifacts,
+        artifactType,
+        OutputFilter.all());
+  }
+
+  /**
+   * From config file paths, constructs the DiscoGapicGenerators to run, producing only the files
+   * selected by outputFilter.
+   */
+  public static List<CodeGenerator<?>> getGenerators(
+      String discoveryDocPath,
+      List<String> configFileNames,
+      String packageConfig2File,
+      String dependencyConfigFile,
+      String languageStr,
+      List<String> enabledArtifacts,
+      ArtifactType artifactType,
+      OutputFilter outputFilter)
+      throws IOException {
     if (!new File(discoveryDocPath).exists()) {
       throw new IOException("File not found: " + discoveryDocPath);
     }
-    Reader reader = new InputStreamReader(new FileInputStream(new File(discoveryDocPath)));
-
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode root = mapper.readTree(reader);
+    Document document;
+    try (InputStream in = new FileInputStream(new File(discoveryDocPath))) {
+      document = DiscoveryDocumentParser.parse(in);
+    }
 
     // Read the YAML config and convert it to proto.
     if (configFileNames.size() == 0) {
@@ -152,12 +205,12 @@ public class DiscoGapicGeneratorApp {
     String defaultPackageName =
         configProto.getLanguageSettingsMap().get(languageStr).getPackageName();
 
-    DiscoApiModel model =
-        new DiscoApiModel(Document.from(new DiscoveryNode(root)), defaultPackageName);
+    DiscoApiModel model = new DiscoApiModel(document, defaultPackageName);
 
     GapicProductConfig productConfig = GapicProductConfig.create(model, configProto, language);
 
-    ArtifactFlags artifactFlags = new ArtifactFlags(enabledArtifacts, artifactType, false);
+    ArtifactFlags artifactFlags =
+        new ArtifactFlags(enabledArtifacts, artifactType, false, outputFilter);
     return DiscoGapicGeneratorFactory.create(
         language, model, productConfig, packageConfig, artifactFlags);
   }
@@ -169,6 +222,9 @@ public class DiscoGapicGeneratorApp {
     String packageConfig2File = options.get(PACKAGE_CONFIG2_FILE);
     String languageStr = options.get(LANGUAGE);
     List<String> enabledArtifacts = options.get(ENABLED_ARTIFACTS);
+    OutputFilter outputFilter =
+        OutputFilter.fromGlob(options.get(OUTPUT_FILTER))
+            .withShard(options.get(SHARD_INDEX), options.get(SHARD_COUNT));
 
     List<CodeGenerator<?>> generators =
         getGenerators(
@@ -178,11 +234,12 @@ public class DiscoGapicGeneratorApp {
             null,
             languageStr,
             enabledArtifacts,
-            artifactType);
+            artifactType,
+            outputFilter);
 
     Map<String, Object> outputFiles = Maps.newHashMap();
     for (CodeGenerator<?> generator : generators) {
-      outputFiles.putAll(GeneratedResult.extractBodies(generator.generate()));
+      outputFiles.putAll(GeneratedResult.extractBodies(outputFilter.filter(generator.generate())));
     }
     writeCodeGenOutput(outputFiles, options.get(OUTPUT_FILE));
     return 0;
@@ -190,8 +247,9 @@ public class DiscoGapicGeneratorApp {
 
   private void writeCodeGenOutput(Map<String, ?> outputFiles, String outputPath)
       throws IOException {
-    if (outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar")) {
-      ToolUtil.writeJar(outputFiles, outputPath);
+    if (ZipOutputWriter.isArchivePath(outputPath)) {
+      Compression compression = Compression.fromString(options.get(OUTPUT_COMPRESSION));
+      new ZipOutputWriter(ParallelDocRenderer.create(), compression).write(outputFiles, outputPath);
     } else {
       ToolUtil.writeFiles(outputFiles, outputPath);
     }
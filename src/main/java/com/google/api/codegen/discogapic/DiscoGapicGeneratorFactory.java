@@ -57,10 +57,13 @@ public class DiscoGapicGeneratorFactory {
       if (artifactFlags.surfaceGeneratorEnabled()) {
         if (artifactFlags.codeFilesEnabled()) {
           GapicCodePathMapper javaPathMapper =
-              CommonGapicCodePathMapper.newBuilder()
-                  .setPrefix("src/main/java")
-                  .setShouldAppendPackage(true)
-                  .build();
+              artifactFlags
+                  .getOutputFilter()
+                  .applyTo(
+                      CommonGapicCodePathMapper.newBuilder()
+                          .setPrefix("src/main/java")
+                          .setShouldAppendPackage(true)
+                          .build());
           List<ModelToViewTransformer<DiscoApiModel>> transformers =
               Arrays.asList(
                   new JavaDiscoGapicResourceNameToViewTransformer(javaPathMapper),
@@ -69,6 +72,7 @@ public class DiscoGapicGeneratorFactory {
                   new JavaDiscoGapicSurfaceTransformer(javaPathMapper));
           DiscoGapicGenerator generator =
               DiscoGapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setDiscoApiModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new JavaRenderingUtil()))
@@ -81,6 +85,7 @@ public class DiscoGapicGeneratorFactory {
         if (artifactFlags.packagingFilesEnabled()) {
           CodeGenerator metadataGenerator =
               DiscoGapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setDiscoApiModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new JavaRenderingUtil()))
@@ -93,12 +98,16 @@ public class DiscoGapicGeneratorFactory {
 
       if (artifactFlags.testGeneratorEnabled()) {
         GapicCodePathMapper javaTestPathMapper =
-            CommonGapicCodePathMapper.newBuilder()
-                .setPrefix("src/test/java")
-                .setShouldAppendPackage(true)
-                .build();
+            artifactFlags
+                .getOutputFilter()
+                .applyTo(
+                    CommonGapicCodePathMapper.newBuilder()
+                        .setPrefix("src/test/java")
+                        .setShouldAppendPackage(true)
+                        .build());
         CodeGenerator<?> testGenerator =
             DiscoGapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setDiscoApiModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
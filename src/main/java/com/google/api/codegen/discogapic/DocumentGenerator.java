@@ -14,9 +14,7 @@
  */
 package com.google.api.codegen.discogapic;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.api.codegen.discovery.DiscoveryNode;
+import com.google.api.codegen.discovery.DiscoveryDocumentParser;
 import com.google.api.codegen.discovery.Document;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
@@ -25,8 +23,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.InputStream;
 
 /** Generates an in-memory Document model object from a Discovery document filepath. */
 public class DocumentGenerator {
@@ -35,10 +32,9 @@ public class DocumentGenerator {
       throw new FileNotFoundException("Discovery document filepath not found.");
     }
 
-    Reader reader = new InputStreamReader(new FileInputStream(new File(discoveryDocPath)));
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode root = mapper.readTree(reader);
-    return Document.from(new DiscoveryNode(root));
+    try (InputStream in = new FileInputStream(new File(discoveryDocPath))) {
+      return DiscoveryDocumentParser.parse(in);
+    }
   }
 
   public static Document createDocumentAndLog(String discoveryDocPath, DiagCollector diagCollector)
@@ -0,0 +1,123 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discogapic.transformer;
+
+import com.google.api.codegen.config.DiscoveryField;
+import com.google.api.codegen.discovery.Schema;
+import com.google.api.codegen.discovery.Schema.Format;
+import com.google.api.codegen.discovery.Schema.Type;
+import com.google.api.codegen.viewmodel.JsonValueType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Decides which Discovery schemas get a generated JSON codec, which streams a message to and from
+ * JSON field by field instead of going through reflection.
+ *
+ * <p>A message has a codec if each of its fields is a string, number, boolean or message, or a list
+ * or string-keyed map of those, and every message it refers to has a codec as well. The value types
+ * mirror the Java types given to the fields by JavaSchemaTypeNameConverter.
+ */
+public class DiscoGapicJsonCodecs {
+  private DiscoGapicJsonCodecs() {}
+
+  /** Returns whether the given field is rendered as a string-keyed map. */
+  public static boolean isMap(Schema field) {
+    return field.dereference().isMap();
+  }
+
+  /**
+   * Returns the schema of each value of the given field: the element schema of a list, the value
+   * schema of a map, or the field itself otherwise.
+   */
+  @Nullable
+  public static Schema getValueSchema(Schema field) {
+    Schema schema = field.dereference();
+    if (schema.isMap()) {
+      return schema.additionalProperties();
+    }
+    if (schema.type() == Type.ARRAY) {
+      return schema.items();
+    }
+    return field;
+  }
+
+  /**
+   * Returns the JSON type of each value of the given field, or null if the generated codecs cannot
+   * read and write it.
+   */
+  @Nullable
+  public static JsonValueType getValueType(Schema field) {
+    Schema value = getValueSchema(field);
+    if (value == null) {
+      return null;
+    }
+    switch (value.type()) {
+      case STRING:
+        return JsonValueType.STRING;
+      case INTEGER:
+        return JsonValueType.INTEGER;
+      case NUMBER:
+        return value.format() == Format.FLOAT ? JsonValueType.FLOAT : JsonValueType.DOUBLE;
+      case BOOLEAN:
+        return JsonValueType.BOOLEAN;
+      default:
+        Schema message = value.dereference();
+        if (!message.isMap()
+            && message.type() != Type.ARRAY
+            && DiscoveryField.isTopLevelSchema(message)) {
+          return JsonValueType.MESSAGE;
+        }
+        return null;
+    }
+  }
+
+  /** Returns whether the message class generated for the given schema has a JSON codec. */
+  public static boolean hasCodec(Schema message) {
+    return hasCodec(
+        message.dereference(), Collections.newSetFromMap(new IdentityHashMap<Schema, Boolean>()));
+  }
+
+  private static boolean hasCodec(Schema message, Set<Schema> visited) {
+    if (!visited.add(message)) {
+      // Already checked, or being checked further up a recursive message.
+      return true;
+    }
+    for (Schema field : getFields(message)) {
+      JsonValueType valueType = getValueType(field);
+      if (valueType == null) {
+        return false;
+      }
+      if (valueType == JsonValueType.MESSAGE
+          && !hasCodec(getValueSchema(field).dereference(), visited)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the fields of the message class generated for the given schema. */
+  private static List<Schema> getFields(Schema message) {
+    List<Schema> fields = new ArrayList<>(message.properties().values());
+    if (message.items() != null) {
+      fields.addAll(message.items().properties().values());
+    }
+    return fields;
+  }
+}
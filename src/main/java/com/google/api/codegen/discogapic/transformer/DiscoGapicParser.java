@@ -20,7 +20,17 @@ import com.google.api.codegen.discovery.Method;
 import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.util.Inflector;
 import com.google.api.codegen.util.Name;
+import com.google.api.codegen.viewmodel.ResourceNamePatternPieceView;
+import com.google.api.codegen.viewmodel.StaticLangMemberView;
+import com.google.common.base.CharMatcher;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -163,4 +173,59 @@ public class DiscoGapicParser {
   public static Name getResourceNameName(ResourceNameConfig resourceNameConfig) {
     return resourceNameConfig.getEntityName().join("name");
   }
+
+  /**
+   * Splits a path template made only of literal segments and single-segment parameters into pieces,
+   * so that generated code can parse and format it without a PathTemplate. Returns an empty list
+   * for any other template, which is left to PathTemplate.
+   */
+  public static List<ResourceNamePatternPieceView> getPathTemplatePieces(
+      String pathTemplate, List<StaticLangMemberView> pathParams) {
+    Map<String, StaticLangMemberView> paramsByName = new HashMap<>();
+    for (StaticLangMemberView param : pathParams) {
+      if (!param.typeName().equals("String")) {
+        return ImmutableList.of();
+      }
+      paramsByName.put(param.name(), param);
+    }
+
+    List<ResourceNamePatternPieceView.Builder> pieces = new ArrayList<>();
+    Set<String> usedParams = new HashSet<>();
+    StringBuilder literal = new StringBuilder();
+    String[] segments = pathTemplate.split("/", -1);
+    for (int i = 0; i < segments.length; i++) {
+      String segment = segments[i];
+      if (i > 0) {
+        literal.append('/');
+      }
+      if (segment.startsWith("{") && segment.endsWith("}")) {
+        StaticLangMemberView param = paramsByName.get(segment.substring(1, segment.length() - 1));
+        if (param == null || !usedParams.add(param.name())) {
+          return ImmutableList.of();
+        }
+        if (literal.length() > 0) {
+          pieces.add(ResourceNamePatternPieceView.newBuilder().literal(literal.toString()));
+          literal.setLength(0);
+        }
+        pieces.add(ResourceNamePatternPieceView.newBuilder().param(param));
+      } else if (segment.isEmpty() || CharMatcher.anyOf("{}*=").matchesAnyOf(segment)) {
+        // Wildcards, multi-segment parameters and empty segments need PathTemplate.
+        return ImmutableList.of();
+      } else {
+        literal.append(segment);
+      }
+    }
+    if (literal.length() > 0) {
+      pieces.add(ResourceNamePatternPieceView.newBuilder().literal(literal.toString()));
+    }
+    if (usedParams.size() != pathParams.size()) {
+      return ImmutableList.of();
+    }
+
+    ImmutableList.Builder<ResourceNamePatternPieceView> pieceViews = ImmutableList.builder();
+    for (int i = 0; i < pieces.size(); i++) {
+      pieceViews.add(pieces.get(i).isLast(i == pieces.size() - 1).build());
+    }
+    return pieceViews.build();
+  }
 }
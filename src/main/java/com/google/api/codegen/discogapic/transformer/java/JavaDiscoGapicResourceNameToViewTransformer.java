@@ -119,9 +119,11 @@ public class JavaDiscoGapicResourceNameToViewTransformer
           continue;
         }
         Method method = namePatternsToMethod.get(namePattern);
+        // Each file gets its own imports, which depend on how its name is parsed.
+        SchemaTransformationContext fileContext = requestContext.withNewTypeTable();
         StaticLangApiResourceNameView resourceNameView =
-            generateResourceNameClass(requestContext, method, nameConfig);
-        surfaceRequests.add(generateResourceNameFile(requestContext, resourceNameView));
+            generateResourceNameClass(fileContext, method, nameConfig);
+        surfaceRequests.add(generateResourceNameFile(fileContext, resourceNameView));
 
         namePatterns.add(nameConfig.getNamePattern());
       }
@@ -144,7 +146,7 @@ public class JavaDiscoGapicResourceNameToViewTransformer
     StaticLangApiResourceNameFileView.Builder apiFile =
         StaticLangApiResourceNameFileView.newBuilder();
     apiFile.templateFileName(RESOURCE_NAME_TEMPLATE_FILENAME);
-    addResourceNameClassImports(context.getImportTypeTable());
+    addResourceNameClassImports(context.getImportTypeTable(), messageView);
     apiFile.resourceName(messageView);
 
     String outputPath = pathMapper.getOutputPath(null, context.getDocContext().getProductConfig());
@@ -178,6 +180,8 @@ public class JavaDiscoGapicResourceNameToViewTransformer
     }
     Collections.sort(properties);
     resourceNameView.pathParams(properties);
+    resourceNameView.pathTemplatePieces(
+        DiscoGapicParser.getPathTemplatePieces(nameConfig.getNamePattern(), properties));
 
     return resourceNameView.build();
   }
@@ -204,11 +208,15 @@ public class JavaDiscoGapicResourceNameToViewTransformer
     return paramView.build();
   }
 
-  private void addResourceNameClassImports(ImportTypeTable typeTable) {
+  private void addResourceNameClassImports(
+      ImportTypeTable typeTable, StaticLangApiResourceNameView resourceNameView) {
     typeTable.getAndSaveNicknameFor("com.google.api.core.BetaApi");
     typeTable.getAndSaveNicknameFor("com.google.common.base.Preconditions");
     typeTable.getAndSaveNicknameFor("com.google.common.collect.ImmutableMap");
-    typeTable.getAndSaveNicknameFor("com.google.api.pathtemplate.PathTemplate");
+    if (!resourceNameView.hasSpecializedParser()) {
+      typeTable.getAndSaveNicknameFor("com.google.api.pathtemplate.PathTemplate");
+    }
+    typeTable.getAndSaveNicknameFor("com.google.api.pathtemplate.ValidationException");
     typeTable.getAndSaveNicknameFor("com.google.api.resourcenames.ResourceName");
     typeTable.getAndSaveNicknameFor("com.google.api.resourcenames.ResourceNameFactory");
     typeTable.getAndSaveNicknameFor("java.io.IOException");
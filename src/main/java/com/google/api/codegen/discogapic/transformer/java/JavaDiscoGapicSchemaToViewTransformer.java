@@ -19,8 +19,10 @@ import static com.google.api.codegen.util.java.JavaTypeTable.JavaLangResolution.
 import com.google.api.codegen.config.DiscoApiModel;
 import com.google.api.codegen.config.DiscoGapicInterfaceContext;
 import com.google.api.codegen.config.DiscoveryField;
+import com.google.api.codegen.config.FieldModel;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.discogapic.SchemaTransformationContext;
+import com.google.api.codegen.discogapic.transformer.DiscoGapicJsonCodecs;
 import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.discovery.Schema.Type;
 import com.google.api.codegen.gapic.GapicCodePathMapper;
@@ -37,6 +39,7 @@ import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.SymbolTable;
 import com.google.api.codegen.util.java.JavaNameFormatter;
 import com.google.api.codegen.util.java.JavaTypeTable;
+import com.google.api.codegen.viewmodel.JsonValueType;
 import com.google.api.codegen.viewmodel.StaticLangApiMessageFileView;
 import com.google.api.codegen.viewmodel.StaticLangApiMessageView;
 import com.google.api.codegen.viewmodel.ViewModel;
@@ -51,11 +54,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /* Creates the ViewModel for a Discovery Doc Schema Java class. */
 public class JavaDiscoGapicSchemaToViewTransformer
     implements ModelToViewTransformer<DiscoApiModel> {
   private final GapicCodePathMapper pathMapper;
+  private final boolean parallel;
   private final StandardImportSectionTransformer importSectionTransformer =
       new StandardImportSectionTransformer();
   private final FileHeaderTransformer fileHeaderTransformer =
@@ -71,7 +77,16 @@ public class JavaDiscoGapicSchemaToViewTransformer
   private static final String SCHEMA_TEMPLATE_FILENAME = "java/message.snip";
 
   public JavaDiscoGapicSchemaToViewTransformer(GapicCodePathMapper pathMapper) {
+    this(pathMapper, true);
+  }
+
+  /**
+   * @param parallel whether to transform the document's schemas concurrently on the common
+   *     fork-join pool. The output is the same either way.
+   */
+  public JavaDiscoGapicSchemaToViewTransformer(GapicCodePathMapper pathMapper, boolean parallel) {
     this.pathMapper = pathMapper;
+    this.parallel = parallel;
   }
 
   public List<String> getTemplateFileNames() {
@@ -80,7 +95,6 @@ public class JavaDiscoGapicSchemaToViewTransformer
 
   @Override
   public List<ViewModel> transform(DiscoApiModel model, GapicProductConfig productConfig) {
-    List<ViewModel> surfaceSchemas = new ArrayList<>();
     String packageName = productConfig.getPackageName();
     JavaSurfaceNamer surfaceNamer = new JavaSurfaceNamer(packageName, packageName, nameFormatter);
     DiscoGapicInterfaceContext context =
@@ -91,15 +105,19 @@ public class JavaDiscoGapicSchemaToViewTransformer
             surfaceNamer,
             JavaFeatureConfig.create(productConfig));
 
-    for (Schema schema : context.getDocument().schemas().values()) {
-      Map<SchemaTransformationContext, StaticLangApiMessageView> contextViews =
-          new TreeMap<>(SchemaTransformationContext.comparator);
-      generateSchemaClasses(contextViews, context, schema);
-      for (Map.Entry<SchemaTransformationContext, StaticLangApiMessageView> contextView :
-          contextViews.entrySet()) {
-        surfaceSchemas.add(generateSchemaFile(contextView.getKey(), contextView.getValue()));
-      }
-    }
+    // Message type names are handed out first-come, first-served; fix them before fanning out.
+    DiscoveryField.reserveSchemaNames(model);
+
+    // Each schema is transformed with its own type table, so schemas are independent of each other.
+    Stream<Schema> schemas =
+        parallel
+            ? context.getDocument().schemas().values().parallelStream()
+            : context.getDocument().schemas().values().stream();
+    List<ViewModel> surfaceSchemas =
+        schemas
+            .map(schema -> generateSchemaFiles(context, schema))
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
     Collections.sort(
         surfaceSchemas,
         new Comparator<ViewModel>() {
@@ -111,6 +129,22 @@ public class JavaDiscoGapicSchemaToViewTransformer
     return surfaceSchemas;
   }
 
+  /* Creates the file views for a schema and all message-type schemas nested in it. */
+  private List<ViewModel> generateSchemaFiles(DiscoGapicInterfaceContext context, Schema schema) {
+    Map<SchemaTransformationContext, StaticLangApiMessageView> contextViews =
+        new TreeMap<>(SchemaTransformationContext.comparator);
+    generateSchemaClasses(contextViews, context, schema);
+    List<ViewModel> schemaFiles = new ArrayList<>(contextViews.size());
+    for (Map.Entry<SchemaTransformationContext, StaticLangApiMessageView> contextView :
+        contextViews.entrySet()) {
+      if (pathMapper.isOutputWanted(
+          getSchemaOutputPath(contextView.getKey(), contextView.getValue()))) {
+        schemaFiles.add(generateSchemaFile(contextView.getKey(), contextView.getValue()));
+      }
+    }
+    return schemaFiles;
+  }
+
   private SchemaTypeTable createTypeTable(String implicitPackageName, SurfaceNamer namer) {
     return new SchemaTypeTable(
         new JavaTypeTable(implicitPackageName, IGNORE_JAVA_LANG_CLASH),
@@ -123,11 +157,14 @@ public class JavaDiscoGapicSchemaToViewTransformer
       SchemaTransformationContext context, StaticLangApiMessageView messageView) {
     StaticLangApiMessageFileView.Builder apiFile = StaticLangApiMessageFileView.newBuilder();
     apiFile.templateFileName(SCHEMA_TEMPLATE_FILENAME);
+    apiFile.productLevel(true);
     addApiImports(context.getSchemaTypeTable());
+    if (messageView.hasJsonCodec()) {
+      addJsonCodecImports(context.getSchemaTypeTable());
+    }
     apiFile.schema(messageView);
 
-    String outputPath = pathMapper.getOutputPath(null, context.getDocContext().getProductConfig());
-    apiFile.outputPath(outputPath + File.separator + messageView.innerTypeName() + ".java");
+    apiFile.outputPath(getSchemaOutputPath(context, messageView));
 
     // must be done as the last step to catch all imports
     apiFile.fileHeader(fileHeaderTransformer.generateFileHeader(context));
@@ -135,6 +172,12 @@ public class JavaDiscoGapicSchemaToViewTransformer
     return apiFile.build();
   }
 
+  private String getSchemaOutputPath(
+      SchemaTransformationContext context, StaticLangApiMessageView messageView) {
+    String outputPath = pathMapper.getOutputPath(null, context.getDocContext().getProductConfig());
+    return outputPath + File.separator + messageView.innerTypeName() + ".java";
+  }
+
   private StaticLangApiMessageView generateSchemaClasses(
       Map<SchemaTransformationContext, StaticLangApiMessageView> messageViewAccumulator,
       DiscoGapicInterfaceContext documentContext,
@@ -167,10 +210,24 @@ public class JavaDiscoGapicSchemaToViewTransformer
     String schemaTypeName = schemaTypeTable.getAndSaveNicknameFor(schemaModel);
 
     schemaView.typeName(schemaTypeName);
+    String innerTypeName = schemaTypeName;
     if (schema.repeated() || schema.type() == Type.ARRAY) {
-      schemaView.innerTypeName(schemaTypeTable.getInnerTypeNameFor(schemaModel));
-    } else {
-      schemaView.innerTypeName(schemaTypeName);
+      innerTypeName = schemaTypeTable.getInnerTypeNameFor(schemaModel);
+    }
+    schemaView.innerTypeName(innerTypeName);
+
+    boolean isMap = DiscoGapicJsonCodecs.isMap(schema);
+    JsonValueType jsonValueType = DiscoGapicJsonCodecs.getValueType(schema);
+    schemaView.isMap(isMap);
+    schemaView.jsonValueType(jsonValueType);
+    if (jsonValueType != null && isMap) {
+      schemaView.jsonValueTypeName(
+          schemaTypeTable.getAndSaveNicknameForElementType(
+              (FieldModel)
+                  DiscoveryField.create(
+                      DiscoGapicJsonCodecs.getValueSchema(schema), documentContext.getApiModel())));
+    } else if (jsonValueType != null) {
+      schemaView.jsonValueTypeName(innerTypeName);
     }
 
     // Generate a Schema view from each property.
@@ -197,6 +254,9 @@ public class JavaDiscoGapicSchemaToViewTransformer
     schemaView.canRepeat(schema.repeated() || schema.type().equals(Type.ARRAY));
     schemaView.isRequired(schema.required());
     schemaView.hasRequiredProperties(hasRequiredProperties);
+    if (DiscoveryField.isTopLevelSchema(schema)) {
+      schemaView.hasJsonCodec(DiscoGapicJsonCodecs.hasCodec(schema));
+    }
 
     StaticLangApiMessageView messageView = schemaView.build();
 
@@ -223,4 +283,11 @@ public class JavaDiscoGapicSchemaToViewTransformer
     typeTable.getAndSaveNicknameFor("javax.annotation.Generated");
     typeTable.getAndSaveNicknameFor("javax.annotation.Nullable");
   }
+
+  private void addJsonCodecImports(ImportTypeTable typeTable) {
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.JsonReader");
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.JsonToken");
+    typeTable.getAndSaveNicknameFor("com.google.gson.stream.JsonWriter");
+    typeTable.getAndSaveNicknameFor("java.io.IOException");
+  }
 }
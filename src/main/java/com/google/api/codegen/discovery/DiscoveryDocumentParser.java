@@ -0,0 +1,581 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discovery;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.api.codegen.discovery.Document.AuthType;
+import com.google.api.codegen.discovery.Schema.Format;
+import com.google.api.codegen.discovery.Schema.Type;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.internal.LinkedTreeMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link Document}, {@link Method} and {@link Schema} objects directly from a JSON token
+ * stream, without materializing the Discovery document as a JSON tree first.
+ *
+ * <p>Absent values get the same defaults as {@link DiscoveryNode} gives them: empty strings, false
+ * booleans and empty objects. A value of an unexpected JSON type is rejected with an {@link
+ * IllegalArgumentException}.
+ */
+public class DiscoveryDocumentParser {
+
+  private static final String CLOUD_PLATFORM_SCOPE =
+      "https://www.googleapis.com/auth/cloud-platform";
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private DiscoveryDocumentParser() {}
+
+  /**
+   * Parses a Discovery document from a stream.
+   *
+   * @param in the JSON source; its encoding is detected automatically.
+   * @return a document.
+   */
+  public static Document parse(InputStream in) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+      return parseDocument(parser);
+    }
+  }
+
+  /** Parses a document from a parser positioned before or at the document's START_OBJECT. */
+  static Document parseDocument(JsonParser parser) throws IOException {
+    advanceToFirstToken(parser);
+    return new DocumentParser().parse(parser);
+  }
+
+  /** Parses a method from a parser positioned before or at the method's START_OBJECT. */
+  static Method parseMethod(JsonParser parser, Node parent) throws IOException {
+    advanceToFirstToken(parser);
+    Method method = readMethod(parser);
+    method.setParent(parent);
+    return method;
+  }
+
+  /** Parses a schema from a parser positioned before or at the schema's START_OBJECT. */
+  static Schema parseSchema(JsonParser parser, String key, Node parent) throws IOException {
+    advanceToFirstToken(parser);
+    Schema schema = readSchema(parser, key);
+    if (parent != null) {
+      schema.setParent(parent);
+    }
+    return schema;
+  }
+
+  /** Adapts {@link DiscoveryNode}-based callers to the streaming parser. */
+  static <T> T parseNode(DiscoveryNode node, NodeReader<T> reader) {
+    try (JsonParser parser = node.traverse()) {
+      return reader.read(parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  interface NodeReader<T> {
+    T read(JsonParser parser) throws IOException;
+  }
+
+  private static class DocumentParser {
+    private final List<String> authScopes = new ArrayList<>();
+    private final Map<String, Schema> schemas = new HashMap<>();
+    private final List<Method> rootMethods = new ArrayList<>();
+    private final Map<String, List<Method>> resources = new LinkedTreeMap<>();
+    private final Map<String, String> strings = new HashMap<>();
+    private boolean versionModule;
+
+    private Document parse(JsonParser parser) throws IOException {
+      expectObject(parser, "document");
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        switch (fieldName) {
+          case "auth":
+            readAuth(parser);
+            break;
+          case "schemas":
+            expectObject(parser, fieldName);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+              String name = parser.getCurrentName();
+              parser.nextToken();
+              schemas.put(name, readSchema(parser, name));
+            }
+            break;
+          case "methods":
+            rootMethods.clear();
+            readMethods(parser, rootMethods);
+            break;
+          case "resources":
+            resources.clear();
+            expectObject(parser, fieldName);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+              String name = parser.getCurrentName();
+              parser.nextToken();
+              resources.put(name, readResource(parser, name));
+            }
+            break;
+          case "version_module":
+            versionModule = readBoolean(parser, fieldName);
+            break;
+          case "basePath":
+          case "baseUrl":
+          case "canonicalName":
+          case "description":
+          case "id":
+          case "name":
+          case "ownerDomain":
+          case "revision":
+          case "rootUrl":
+          case "servicePath":
+          case "title":
+          case "version":
+            strings.put(fieldName, readString(parser, fieldName));
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+      return build();
+    }
+
+    private void readAuth(JsonParser parser) throws IOException {
+      expectObject(parser, "auth");
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        if (!fieldName.equals("oauth2")) {
+          parser.skipChildren();
+          continue;
+        }
+        expectObject(parser, fieldName);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String oauthFieldName = parser.getCurrentName();
+          parser.nextToken();
+          if (!oauthFieldName.equals("scopes")) {
+            parser.skipChildren();
+            continue;
+          }
+          expectObject(parser, oauthFieldName);
+          authScopes.clear();
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String scope = parser.getCurrentName();
+            if (!authScopes.contains(scope)) {
+              authScopes.add(scope);
+            }
+            parser.nextToken();
+            parser.skipChildren();
+          }
+        }
+      }
+    }
+
+    private Document build() {
+      AuthType authType;
+      if (authScopes.isEmpty()) {
+        authType = AuthType.API_KEY;
+      } else if (authScopes.contains(CLOUD_PLATFORM_SCOPE)) {
+        authType = AuthType.ADC;
+      } else {
+        authType = AuthType.OAUTH_3L;
+      }
+
+      List<Method> methods = new ArrayList<>(rootMethods);
+      for (List<Method> resourceMethods : resources.values()) {
+        methods.addAll(resourceMethods);
+      }
+      Collections.sort(methods); // Ensure methods are ordered alphabetically by their ID.
+
+      String name = getString("name");
+      String canonicalName = getString("canonicalName");
+      if (canonicalName.isEmpty()) {
+        canonicalName = name;
+      }
+      String rootUrl = getString("rootUrl");
+      String baseUrl =
+          strings.containsKey("baseUrl")
+              ? getString("baseUrl")
+              : (rootUrl + Strings.nullToEmpty(getString("basePath")));
+
+      Document thisDocument =
+          new AutoValue_Document(
+              "", // authInstructionsUrl (only intended to be overridden).
+              ImmutableList.copyOf(authScopes),
+              authType,
+              baseUrl,
+              canonicalName,
+              getString("description"),
+              "", // discoveryDocUrl (only intended to be overridden).
+              getString("id"),
+              methods,
+              name,
+              getString("ownerDomain"),
+              resources,
+              getString("revision"),
+              rootUrl,
+              schemas,
+              getString("servicePath"),
+              getString("title"),
+              getString("version"),
+              versionModule);
+
+      for (Schema schema : schemas.values()) {
+        schema.setParent(thisDocument);
+      }
+      for (Method method : methods) {
+        method.setParent(thisDocument);
+      }
+      return thisDocument;
+    }
+
+    private String getString(String fieldName) {
+      return strings.getOrDefault(fieldName, "");
+    }
+  }
+
+  /**
+   * Reads a resource object and returns its methods followed by the methods of all of its nested
+   * resources.
+   */
+  private static List<Method> readResource(JsonParser parser, String resourceName)
+      throws IOException {
+    expectObject(parser, resourceName);
+    List<Method> methods = new ArrayList<>();
+    List<Method> nestedMethods = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      parser.nextToken();
+      switch (fieldName) {
+        case "methods":
+          methods.clear();
+          readMethods(parser, methods);
+          break;
+        case "resources":
+          nestedMethods.clear();
+          expectObject(parser, fieldName);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            nestedMethods.addAll(readResource(parser, name));
+          }
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    methods.addAll(nestedMethods);
+    return methods;
+  }
+
+  private static void readMethods(JsonParser parser, List<Method> methods) throws IOException {
+    expectObject(parser, "methods");
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      methods.add(readMethod(parser));
+    }
+  }
+
+  private static Method readMethod(JsonParser parser) throws IOException {
+    expectObject(parser, "method");
+    String description = "";
+    String httpMethod = "";
+    String id = "";
+    String path = "";
+    String flatPath = null;
+    Map<String, Schema> parameters = new HashMap<>();
+    Map<String, Schema> queryParams = new HashMap<>();
+    Map<String, Schema> pathParams = new HashMap<>();
+    Schema request = null;
+    Schema response = null;
+    List<String> scopes = new ArrayList<>();
+    boolean supportsMediaDownload = false;
+    boolean supportsMediaUpload = false;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      parser.nextToken();
+      switch (fieldName) {
+        case "description":
+          description = readString(parser, fieldName);
+          break;
+        case "httpMethod":
+          httpMethod = readString(parser, fieldName);
+          break;
+        case "id":
+          id = readString(parser, fieldName);
+          break;
+        case "path":
+          path = readString(parser, fieldName);
+          break;
+        case "flatPath":
+          flatPath = readString(parser, fieldName);
+          break;
+        case "parameters":
+          parameters.clear();
+          queryParams.clear();
+          pathParams.clear();
+          expectObject(parser, fieldName);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            Schema schema = readSchema(parser, name);
+            // TODO: Remove these checks once we're sure that parameters can't be objects/arrays.
+            // This is based on the assumption that these types can't be serialized as a query or
+            // path parameter.
+            Preconditions.checkState(schema.type() != Schema.Type.ANY);
+            Preconditions.checkState(schema.type() != Schema.Type.ARRAY);
+            Preconditions.checkState(schema.type() != Schema.Type.OBJECT);
+            parameters.put(name, schema);
+            if (schema.location().toLowerCase().equals("path")) {
+              pathParams.put(name, schema);
+            } else if (schema.location().toLowerCase().equals("query")) {
+              queryParams.put(name, schema);
+            }
+          }
+          break;
+        case "request":
+          request = nullIfNoReference(readSchema(parser, "request"));
+          break;
+        case "response":
+          response = nullIfNoReference(readSchema(parser, "response"));
+          break;
+        case "scopes":
+          scopes.clear();
+          expectArray(parser, fieldName);
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            scopes.add(readString(parser, fieldName));
+          }
+          break;
+        case "supportsMediaDownload":
+          supportsMediaDownload = readBoolean(parser, fieldName);
+          break;
+        case "supportsMediaUpload":
+          supportsMediaUpload = readBoolean(parser, fieldName);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    Method thisMethod =
+        new AutoValue_Method(
+            description,
+            flatPath != null ? flatPath : path,
+            httpMethod,
+            id,
+            parameters,
+            path,
+            pathParams,
+            queryParams,
+            request,
+            response,
+            scopes,
+            supportsMediaDownload,
+            supportsMediaUpload);
+
+    if (request != null) {
+      request.setParent(thisMethod);
+    }
+    if (response != null) {
+      response.setParent(thisMethod);
+    }
+    for (Schema schema : parameters.values()) {
+      schema.setParent(thisMethod);
+    }
+    return thisMethod;
+  }
+
+  /** Reads a schema, or returns an empty schema if the object has no fields. */
+  private static Schema readSchema(JsonParser parser, String key) throws IOException {
+    expectObject(parser, key);
+    int fieldCount = 0;
+    Schema additionalProperties = null;
+    String defaultValue = "";
+    String description = "";
+    String format = "";
+    String id = "";
+    boolean isEnum = false;
+    Schema items = null;
+    String location = "";
+    String pattern = "";
+    Map<String, Schema> properties = new LinkedHashMap<>();
+    String reference = "";
+    boolean repeated = false;
+    boolean required = false;
+    String type = "";
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      parser.nextToken();
+      fieldCount++;
+      switch (fieldName) {
+        case "additionalProperties":
+          additionalProperties = nullIfEmpty(readSchema(parser, ""));
+          break;
+        case "default":
+          defaultValue = readString(parser, fieldName);
+          break;
+        case "description":
+          description = readString(parser, fieldName);
+          break;
+        case "format":
+          format = readString(parser, fieldName);
+          break;
+        case "id":
+          id = readString(parser, fieldName);
+          break;
+        case "enum":
+          expectArray(parser, fieldName);
+          int valueCount = 0;
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            valueCount++;
+          }
+          isEnum = valueCount > 0;
+          break;
+        case "items":
+          items = nullIfEmpty(readSchema(parser, key));
+          break;
+        case "location":
+          location = readString(parser, fieldName);
+          break;
+        case "pattern":
+          pattern = readString(parser, fieldName);
+          break;
+        case "properties":
+          properties.clear();
+          expectObject(parser, fieldName);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            properties.put(name, readSchema(parser, name));
+          }
+          break;
+        case "$ref":
+          reference = readString(parser, fieldName);
+          break;
+        case "repeated":
+          repeated = readBoolean(parser, fieldName);
+          break;
+        case "required":
+          required = readBoolean(parser, fieldName);
+          break;
+        case "type":
+          type = readString(parser, fieldName);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    if (fieldCount == 0) {
+      return Schema.empty();
+    }
+
+    Schema thisSchema =
+        Schema.newBuilder()
+            .setAdditionalProperties(additionalProperties)
+            .setDefaultValue(defaultValue)
+            .setDescription(description)
+            .setFormat(Format.getEnum(format))
+            .setId(id)
+            .setIsEnum(isEnum)
+            // additionalProperties is a dynamically-keyed map in Discovery docs.
+            .setIsMap(additionalProperties != null)
+            .setItems(items)
+            .setKey(key)
+            .setLocation(location)
+            .setPattern(pattern)
+            .setProperties(ImmutableMap.copyOf(properties))
+            .setReference(reference)
+            .setRepeated(repeated)
+            .setRequired(required)
+            .setType(Type.getEnum(type))
+            .build();
+    if (items != null) {
+      items.setParent(thisSchema);
+    }
+    for (Schema schema : thisSchema.properties().values()) {
+      schema.setParent(thisSchema);
+    }
+    if (additionalProperties != null) {
+      additionalProperties.setParent(thisSchema);
+    }
+    return thisSchema;
+  }
+
+  private static Schema nullIfEmpty(Schema schema) {
+    return schema.type() == Type.EMPTY && schema.reference().isEmpty() ? null : schema;
+  }
+
+  private static Schema nullIfNoReference(Schema schema) {
+    return schema.reference().isEmpty() ? null : schema;
+  }
+
+  private static void advanceToFirstToken(JsonParser parser) throws IOException {
+    if (parser.getCurrentToken() == null) {
+      parser.nextToken();
+    }
+  }
+
+  private static void expectObject(JsonParser parser, String name) {
+    Preconditions.checkArgument(
+        parser.getCurrentToken() == JsonToken.START_OBJECT, "%s must be an object", name);
+  }
+
+  private static void expectArray(JsonParser parser, String name) {
+    Preconditions.checkArgument(
+        parser.getCurrentToken() == JsonToken.START_ARRAY, "%s must be an array", name);
+  }
+
+  private static String readString(JsonParser parser, String name) throws IOException {
+    Preconditions.checkArgument(
+        parser.getCurrentToken() == JsonToken.VALUE_STRING, "%s must be a string", name);
+    return parser.getText();
+  }
+
+  /**
+   * Reads a boolean. Note that string values of "True" or "False" are also accepted, in addition to
+   * boolean values.
+   */
+  private static boolean readBoolean(JsonParser parser, String name) throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    if (token == JsonToken.VALUE_STRING) {
+      String text = parser.getText();
+      if (text.equals("True")) {
+        return true;
+      } else if (text.equals("False")) {
+        return false;
+      }
+    }
+    Preconditions.checkArgument(
+        token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE,
+        "%s must be a boolean",
+        name);
+    return token == JsonToken.VALUE_TRUE;
+  }
+}
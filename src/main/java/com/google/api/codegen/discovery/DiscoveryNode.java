@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.discovery;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.base.Preconditions;
@@ -166,4 +167,9 @@ public class DiscoveryNode {
   public int size() {
     return jsonNode.size();
   }
+
+  /** @return a token stream over this node, for use by {@link DiscoveryDocumentParser}. */
+  JsonParser traverse() {
+    return jsonNode.traverse();
+  }
 }
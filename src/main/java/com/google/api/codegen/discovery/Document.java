@@ -17,13 +17,6 @@ package com.google.api.codegen.discovery;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.auto.value.AutoValue;
-import com.google.common.base.Strings;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
-import com.google.gson.internal.LinkedTreeMap;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -39,9 +32,6 @@ public abstract class Document implements Node {
 
   // TODO(saicheems): Assert that all references link to a valid schema?
 
-  private static final String CLOUD_PLATFORM_SCOPE =
-      "https://www.googleapis.com/auth/cloud-platform";
-
   /**
    * Returns a document constructed from root.
    *
@@ -49,119 +39,7 @@ public abstract class Document implements Node {
    * @return a document.
    */
   public static Document from(DiscoveryNode root) {
-    AuthType authType;
-    DiscoveryNode scopesNode = root.getObject("auth").getObject("oauth2").getObject("scopes");
-
-    ImmutableList.Builder<String> authScopes = new Builder<>();
-    if (scopesNode.isEmpty()) {
-      authType = AuthType.API_KEY;
-    } else {
-      authScopes.addAll(scopesNode.getFieldNames());
-      if (scopesNode.has(CLOUD_PLATFORM_SCOPE)) {
-        authType = AuthType.ADC;
-      } else {
-        authType = AuthType.OAUTH_3L;
-      }
-    }
-    String canonicalName = root.getString("canonicalName");
-    String description = root.getString("description");
-    String id = root.getString("id");
-    Map<String, Schema> schemas = parseSchemas(root);
-    List<Method> methods = parseMethods(root);
-    Collections.sort(methods); // Ensure methods are ordered alphabetically by their ID.
-    String ownerDomain = root.getString("ownerDomain");
-    String name = root.getString("name");
-    if (canonicalName.isEmpty()) {
-      canonicalName = name;
-    }
-    Map<String, List<Method>> resources = parseResources(root);
-    String revision = root.getString("revision");
-    String rootUrl = root.getString("rootUrl");
-    String servicePath = root.getString("servicePath");
-    String title = root.getString("title");
-    String version = root.getString("version");
-    boolean versionModule = root.getBoolean("version_module");
-
-    String baseUrl =
-        root.has("baseUrl")
-            ? root.getString("baseUrl")
-            : (rootUrl + Strings.nullToEmpty(root.getString("basePath")));
-
-    Document thisDocument =
-        new AutoValue_Document(
-            "", // authInstructionsUrl (only intended to be overridden).
-            authScopes.build(),
-            authType,
-            baseUrl,
-            canonicalName,
-            description,
-            "", // discoveryDocUrl (only intended to be overridden).
-            id,
-            methods,
-            name,
-            ownerDomain,
-            resources,
-            revision,
-            rootUrl,
-            schemas,
-            servicePath,
-            title,
-            version,
-            versionModule);
-
-    for (Schema schema : schemas.values()) {
-      schema.setParent(thisDocument);
-    }
-    for (Method method : methods) {
-      method.setParent(thisDocument);
-    }
-    for (List<Method> resourceMethods : resources.values()) {
-      for (Method method : resourceMethods) {
-        method.setParent(thisDocument);
-      }
-    }
-
-    return thisDocument;
-  }
-
-  private static Map<String, List<Method>> parseResources(DiscoveryNode root) {
-    List<Method> methods = new ArrayList<>();
-    DiscoveryNode methodsNode = root.getObject("methods");
-    List<String> resourceNames = methodsNode.getFieldNames();
-    for (String name : resourceNames) {
-      methods.add(Method.from(methodsNode.getObject(name), null));
-    }
-    Map<String, List<Method>> resources = new LinkedTreeMap<>();
-    DiscoveryNode resourcesNode = root.getObject("resources");
-    resourceNames = resourcesNode.getFieldNames();
-    for (String name : resourceNames) {
-      resources.put(name, parseMethods(resourcesNode.getObject(name)));
-    }
-    return resources;
-  }
-
-  private static List<Method> parseMethods(DiscoveryNode root) {
-    List<Method> methods = new ArrayList<>();
-    DiscoveryNode methodsNode = root.getObject("methods");
-    List<String> resourceNames = methodsNode.getFieldNames();
-    for (String name : resourceNames) {
-      methods.add(Method.from(methodsNode.getObject(name), null));
-    }
-    DiscoveryNode resourcesNode = root.getObject("resources");
-    resourceNames = resourcesNode.getFieldNames();
-    for (String name : resourceNames) {
-      methods.addAll(parseMethods(resourcesNode.getObject(name)));
-    }
-    return methods;
-  }
-
-  private static Map<String, Schema> parseSchemas(DiscoveryNode root) {
-    Map<String, Schema> schemas = new HashMap<>();
-    DiscoveryNode schemasNode = root.getObject("schemas");
-    for (String name : schemasNode.getFieldNames()) {
-      schemas.put(name, Schema.from(schemasNode.getObject(name), name, null));
-    }
-    return schemas;
+    return DiscoveryDocumentParser.parseNode(root, DiscoveryDocumentParser::parseDocument);
   }
 
   /** @return the parent Node that contains this node. */
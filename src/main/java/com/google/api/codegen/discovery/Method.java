@@ -15,9 +15,6 @@
 package com.google.api.codegen.discovery;
 
 import com.google.auto.value.AutoValue;
-import com.google.common.base.Preconditions;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -37,75 +34,8 @@ public abstract class Method implements Comparable<Method>, Node {
    * @return a method.
    */
   public static Method from(DiscoveryNode root, Node parent) {
-    String description = root.getString("description");
-    String httpMethod = root.getString("httpMethod");
-    String id = root.getString("id");
-    String path = root.getString("path");
-    String flatPath = root.has("flatPath") ? root.getString("flatPath") : path;
-
-    DiscoveryNode parametersNode = root.getObject("parameters");
-    Map<String, Schema> parameters = new HashMap<>();
-    Map<String, Schema> queryParams = new HashMap<>();
-    Map<String, Schema> pathParams = new HashMap<>();
-
-    for (String name : root.getObject("parameters").getFieldNames()) {
-      Schema schema = Schema.from(parametersNode.getObject(name), name, null);
-      // TODO: Remove these checks once we're sure that parameters can't be objects/arrays.
-      // This is based on the assumption that these types can't be serialized as a query or path
-      // parameter.
-      Preconditions.checkState(schema.type() != Schema.Type.ANY);
-      Preconditions.checkState(schema.type() != Schema.Type.ARRAY);
-      Preconditions.checkState(schema.type() != Schema.Type.OBJECT);
-      parameters.put(name, schema);
-      if (schema.location().toLowerCase().equals("path")) {
-        pathParams.put(name, schema);
-      } else if (schema.location().toLowerCase().equals("query")) {
-        queryParams.put(name, schema);
-      }
-    }
-
-    Schema request = Schema.from(root.getObject("request"), "request", null);
-    if (request.reference().isEmpty()) {
-      request = null;
-    }
-    Schema response = Schema.from(root.getObject("response"), "response", null);
-    if (response.reference().isEmpty()) {
-      response = null;
-    }
-    List<String> scopes = new ArrayList<>();
-    for (DiscoveryNode scopeNode : root.getArray("scopes").getElements()) {
-      scopes.add(scopeNode.asText());
-    }
-    boolean supportsMediaDownload = root.getBoolean("supportsMediaDownload");
-    boolean supportsMediaUpload = root.getBoolean("supportsMediaUpload");
-
-    Method thisMethod =
-        new AutoValue_Method(
-            description,
-            flatPath,
-            httpMethod,
-            id,
-            parameters,
-            path,
-            pathParams,
-            queryParams,
-            request,
-            response,
-            scopes,
-            supportsMediaDownload,
-            supportsMediaUpload);
-
-    thisMethod.parent = parent;
-    if (request != null) {
-      request.setParent(thisMethod);
-    }
-    if (response != null) {
-      response.setParent(thisMethod);
-    }
-    for (Schema schema : parameters.values()) {
-      schema.setParent(thisMethod);
-    }
-    return thisMethod;
+    return DiscoveryDocumentParser.parseNode(
+        root, parser -> DiscoveryDocumentParser.parseMethod(parser, parent));
   }
 
   @Override
@@ -129,71 +129,8 @@ public abstract class Schema implements Node {
    * @return a schema.
    */
   public static Schema from(DiscoveryNode root, String key, Node parent) {
-    if (root.isEmpty()) {
-      return empty();
-    }
-    Schema additionalProperties = Schema.from(root.getObject("additionalProperties"), "", null);
-    if (additionalProperties.type() == Type.EMPTY && additionalProperties.reference().isEmpty()) {
-      additionalProperties = null;
-    }
-    String defaultValue = root.getString("default");
-    String description = root.getString("description");
-    Format format = Format.getEnum(root.getString("format"));
-    String id = root.getString("id");
-    boolean isEnum = !root.getArray("enum").isEmpty();
-    Schema items = Schema.from(root.getObject("items"), key, null);
-    if (items.type() == Type.EMPTY && items.reference().isEmpty()) {
-      items = null;
-    }
-    String location = root.getString("location");
-    String pattern = root.getString("pattern");
-
-    ImmutableMap.Builder<String, Schema> propertiesBuilder = ImmutableMap.builder();
-    DiscoveryNode propertiesNode = root.getObject("properties");
-    for (String name : propertiesNode.getFieldNames()) {
-      propertiesBuilder.put(name, Schema.from(propertiesNode.getObject(name), name, null));
-    }
-    ImmutableMap<String, Schema> properties = propertiesBuilder.build();
-
-    String reference = root.getString("$ref");
-    boolean repeated = root.getBoolean("repeated");
-    boolean required = root.getBoolean("required");
-    Type type = Type.getEnum(root.getString("type"));
-
-    // additionalProperties is a dynamically-keyed map in Discovery docs.
-    boolean isMap = additionalProperties != null;
-
-    Schema thisSchema =
-        Schema.newBuilder()
-            .setAdditionalProperties(additionalProperties)
-            .setDefaultValue(defaultValue)
-            .setDescription(description)
-            .setFormat(format)
-            .setId(id)
-            .setIsEnum(isEnum)
-            .setIsMap(isMap)
-            .setItems(items)
-            .setKey(key)
-            .setLocation(location)
-            .setPattern(pattern)
-            .setProperties(properties)
-            .setReference(reference)
-            .setRepeated(repeated)
-            .setRequired(required)
-            .setType(type)
-            .build();
-    thisSchema.parent = parent;
-    if (items != null) {
-      items.setParent(thisSchema);
-    }
-    for (Schema schema : properties.values()) {
-      schema.setParent(thisSchema);
-    }
-    if (additionalProperties != null) {
-      additionalProperties.setParent(thisSchema);
-    }
-
-    return thisSchema;
+    return DiscoveryDocumentParser.parseNode(
+        root, parser -> DiscoveryDocumentParser.parseSchema(parser, key, parent));
   }
 
   /** @return a non-null identifier for this schema. */
@@ -20,16 +20,27 @@ import java.util.List;
 public class ArtifactFlags {
   public static final String ARTIFACT_SURFACE = "surface";
   public static final String ARTIFACT_TEST = "test";
+  public static final String ARTIFACT_BENCHMARK = "benchmark";
 
   private final List<String> enabledArtifacts;
   private final ArtifactType artifactType;
   private final boolean devSamples;
+  private final OutputFilter outputFilter;
 
   public ArtifactFlags(
       List<String> enabledArtifacts, ArtifactType artifactType, boolean devSamples) {
+    this(enabledArtifacts, artifactType, devSamples, OutputFilter.all());
+  }
+
+  public ArtifactFlags(
+      List<String> enabledArtifacts,
+      ArtifactType artifactType,
+      boolean devSamples,
+      OutputFilter outputFilter) {
     this.enabledArtifacts = enabledArtifacts;
     this.artifactType = artifactType;
     this.devSamples = devSamples;
+    this.outputFilter = outputFilter;
   }
 
   public boolean surfaceGeneratorEnabled() {
@@ -40,6 +51,16 @@ public class ArtifactFlags {
     return enabledArtifacts.isEmpty() || enabledArtifacts.contains(ARTIFACT_TEST);
   }
 
+  /**
+   * Returns whether benchmarks against the generated mock services are generated. Unlike the other
+   * artifacts, benchmarks are only generated when asked for by name. They call the mocks generated
+   * with the tests, so they also require the tests to be enabled. Benchmarks exist for Java and Go
+   * only.
+   */
+  public boolean benchmarkGeneratorEnabled() {
+    return enabledArtifacts.contains(ARTIFACT_BENCHMARK) && testGeneratorEnabled();
+  }
+
   public boolean codeFilesEnabled() {
     return artifactType == ArtifactType.LEGACY_GAPIC_AND_PACKAGE
         || artifactType == ArtifactType.GAPIC_CODE
@@ -56,4 +77,9 @@ public class ArtifactFlags {
   public boolean devSamplesEnabled() {
     return devSamples;
   }
+
+  /** Selects the generated files to produce by their output path. */
+  public OutputFilter getOutputFilter() {
+    return outputFilter;
+  }
 }
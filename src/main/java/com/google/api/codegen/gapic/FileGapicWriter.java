@@ -15,14 +15,19 @@
 package com.google.api.codegen.gapic;
 
 import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.rendering.ParallelDocRenderer;
+import com.google.api.codegen.rendering.ZipOutputWriter;
+import com.google.api.codegen.rendering.ZipOutputWriter.Compression;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.SimpleLocation;
-import com.google.api.tools.framework.tools.ToolUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -32,10 +37,22 @@ import javax.annotation.Nonnull;
 public class FileGapicWriter implements GapicWriter {
 
   private final String outputPath;
+  private final ParallelDocRenderer renderer;
+  private final Compression compression;
   private boolean isDone = false;
 
   public FileGapicWriter(String outputPath) {
+    this(outputPath, Compression.DEFLATED);
+  }
+
+  public FileGapicWriter(String outputPath, Compression compression) {
+    this(outputPath, ParallelDocRenderer.create(), compression);
+  }
+
+  public FileGapicWriter(String outputPath, ParallelDocRenderer renderer, Compression compression) {
     this.outputPath = outputPath;
+    this.renderer = renderer;
+    this.compression = compression;
   }
 
   @Override
@@ -65,18 +82,38 @@ public class FileGapicWriter implements GapicWriter {
 
   @VisibleForTesting
   void writeCodeGenOutput(Map<String, Object> outputFiles, String outputPath) throws IOException {
-    // TODO: Support zip output.
-    if (outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar")) {
-      ToolUtil.writeJar(outputFiles, outputPath);
+    if (ZipOutputWriter.isArchivePath(outputPath)) {
+      new ZipOutputWriter(renderer, compression).write(outputFiles, outputPath);
     } else {
-      ToolUtil.writeFiles(outputFiles, outputPath);
+      writeFiles(outputFiles, outputPath);
     }
   }
 
+  private void writeFiles(Map<String, Object> outputFiles, String outputPath) throws IOException {
+    renderer.render(
+        outputFiles,
+        (path, content) -> {
+          File file =
+              Strings.isNullOrEmpty(outputPath) ? new File(path) : new File(outputPath, path);
+          if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+          }
+          try (OutputStream out = new FileOutputStream(file)) {
+            out.write(toBytes(content));
+          }
+        });
+  }
+
+  private static byte[] toBytes(Object content) {
+    return content instanceof byte[]
+        ? (byte[]) content
+        : ((String) content).getBytes(StandardCharsets.UTF_8);
+  }
+
   @VisibleForTesting
   void setOutputFilesPermissions(
       Set<String> executables, String outputPath, DiagCollector diagCollector) {
-    if (outputPath.endsWith(".jar")) {
+    if (ZipOutputWriter.isArchivePath(outputPath)) {
       return;
     }
 
@@ -31,6 +31,14 @@ public interface GapicCodePathMapper {
    */
   String getSamplesOutputPath(String elementFullName, ProductConfig config, String method);
 
+  /**
+   * Returns whether the file at the given output path should be generated at all. Transformers can
+   * ask this before building the view of a file; see {@link OutputFilter}.
+   */
+  default boolean isOutputWanted(String outputPath) {
+    return true;
+  }
+
   /** The canonical name for the sub-directory containing standalone library usage samples */
   public static final String SAMPLES_DIRECTORY = "samples";
 }
@@ -21,6 +21,7 @@ import com.google.api.codegen.config.ProtoApiModel;
 import com.google.api.codegen.rendering.CommonSnippetSetRunner;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.Interface;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.stages.Merged;
 import com.google.api.tools.framework.snippet.Doc;
@@ -28,6 +29,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /* CodeGenerator for proto-based GAPIC libraries that uses ViewModels to render the templates. */
 public class GapicGenerator implements CodeGenerator<Doc> {
@@ -35,16 +37,19 @@ public class GapicGenerator implements CodeGenerator<Doc> {
   private final GapicProductConfig productConfig;
   private final CommonSnippetSetRunner snippetSetRunner;
   private final ModelToViewTransformer<ProtoApiModel> modelToViewTransformer;
+  private final OutputFilter outputFilter;
 
   private GapicGenerator(
       Model model,
       GapicProductConfig productConfig,
       CommonSnippetSetRunner snippetSetRunner,
-      ModelToViewTransformer<ProtoApiModel> modelToViewTransformer) {
+      ModelToViewTransformer<ProtoApiModel> modelToViewTransformer,
+      OutputFilter outputFilter) {
     this.model = model;
     this.productConfig = productConfig;
     this.snippetSetRunner = snippetSetRunner;
     this.modelToViewTransformer = modelToViewTransformer;
+    this.outputFilter = outputFilter;
   }
 
   @Override
@@ -60,15 +65,34 @@ public class GapicGenerator implements CodeGenerator<Doc> {
       return null;
     }
 
+    // Only interfaces with a config are generated, so only they are split between shards; the
+    // others stay visible to every shard.
+    List<Interface> generatedInterfaces =
+        ProtoModels.getInterfaces(model, productConfig)
+            .stream()
+            .filter(apiInterface -> productConfig.getInterfaceConfig(apiInterface) != null)
+            .collect(Collectors.toList());
     List<ViewModel> surfaceDocs =
-        modelToViewTransformer.transform(new ProtoApiModel(model), productConfig);
+        outputFilter.transformShard(
+            generatedInterfaces,
+            interfaces ->
+                modelToViewTransformer.transform(
+                    new ProtoApiModel(
+                        model,
+                        apiInterface ->
+                            interfaces.contains(apiInterface)
+                                || !generatedInterfaces.contains(apiInterface)),
+                    productConfig));
     if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
       return null;
     }
 
     Map<String, GeneratedResult<Doc>> results = new TreeMap<>();
     for (ViewModel surfaceDoc : surfaceDocs) {
-      results.putAll(snippetSetRunner.generate(surfaceDoc));
+      // Skip rendering files that were not asked for.
+      if (outputFilter.matches(surfaceDoc.outputPath())) {
+        results.putAll(snippetSetRunner.generate(surfaceDoc));
+      }
     }
 
     return results;
@@ -83,6 +107,7 @@ public class GapicGenerator implements CodeGenerator<Doc> {
     private GapicProductConfig productConfig;
     private CommonSnippetSetRunner snippetSetRunner;
     private ModelToViewTransformer<ProtoApiModel> modelToViewTransformer;
+    private OutputFilter outputFilter = OutputFilter.all();
 
     private Builder() {}
 
@@ -107,8 +132,14 @@ public class GapicGenerator implements CodeGenerator<Doc> {
       return this;
     }
 
+    public Builder setOutputFilter(OutputFilter outputFilter) {
+      this.outputFilter = outputFilter;
+      return this;
+    }
+
     public GapicGenerator build() {
-      return new GapicGenerator(model, productConfig, snippetSetRunner, modelToViewTransformer);
+      return new GapicGenerator(
+          model, productConfig, snippetSetRunner, modelToViewTransformer, outputFilter);
     }
   }
 }
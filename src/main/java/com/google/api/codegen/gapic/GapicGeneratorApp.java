@@ -26,6 +26,7 @@ import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
 import com.google.api.codegen.util.MultiYamlReader;
 import com.google.api.codegen.util.ProtoParser;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.api.tools.framework.model.ConfigSource;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.SimpleLocation;
@@ -55,6 +56,30 @@ public class GapicGeneratorApp extends ToolDriverBase {
           "output_file",
           "The name of the output file or folder to put generated code.",
           "");
+  public static final Option<String> OUTPUT_COMPRESSION =
+      ToolOptions.createOption(
+          String.class,
+          "output_compression",
+          "How entries of an archive output are stored: 'deflated' (default) or 'stored'.",
+          "");
+  public static final Option<String> OUTPUT_FILTER =
+      ToolOptions.createOption(
+          String.class,
+          "output_filter",
+          "A glob selecting the output files to generate; a glob without '/' matches file names.",
+          "");
+  public static final Option<Integer> SHARD_INDEX =
+      ToolOptions.createOption(
+          Integer.class,
+          "shard_index",
+          "The shard of the output to generate, from 0 to shard_count - 1.",
+          0);
+  public static final Option<Integer> SHARD_COUNT =
+      ToolOptions.createOption(
+          Integer.class,
+          "shard_count",
+          "The number of shards the output is split into; each shard generates a disjoint part.",
+          1);
   public static final Option<String> PROTO_PACKAGE =
       ToolOptions.createOption(
           String.class,
@@ -93,6 +118,13 @@ public class GapicGeneratorApp extends ToolDriverBase {
           "Whether to generate samples in non-production-ready languages.",
           false);
 
+  public static final Option<Boolean> INTERN_VIEWS =
+      ToolOptions.createOption(
+          Boolean.class,
+          "intern_views",
+          "Whether to share one instance among equal view models, trading time for memory.",
+          false);
+
   private ArtifactType artifactType;
 
   private final GapicWriter gapicWriter;
@@ -118,6 +150,7 @@ public class GapicGeneratorApp extends ToolDriverBase {
 
   @Override
   protected void process() throws Exception {
+    ViewModelInterner.setEnabled(options.get(INTERN_VIEWS));
 
     String protoPackage = Strings.emptyToNull(options.get(PROTO_PACKAGE));
 
@@ -172,13 +205,18 @@ public class GapicGeneratorApp extends ToolDriverBase {
       return;
     }
 
+    OutputFilter outputFilter =
+        OutputFilter.fromGlob(options.get(OUTPUT_FILTER))
+            .withShard(options.get(SHARD_INDEX), options.get(SHARD_COUNT));
     ArtifactFlags artifactFlags =
-        new ArtifactFlags(options.get(ENABLED_ARTIFACTS), artifactType, options.get(DEV_SAMPLES));
+        new ArtifactFlags(
+            options.get(ENABLED_ARTIFACTS), artifactType, options.get(DEV_SAMPLES), outputFilter);
     List<CodeGenerator<?>> generators =
         GapicGeneratorFactory.create(language, model, productConfig, packageConfig, artifactFlags);
     ImmutableMap.Builder<String, GeneratedResult<?>> generatedResults = ImmutableMap.builder();
     for (CodeGenerator<?> generator : generators) {
-      Map<String, ? extends GeneratedResult<?>> generatorResult = generator.generate();
+      Map<String, ? extends GeneratedResult<?>> generatorResult =
+          outputFilter.filter(generator.generate());
       for (Map.Entry<String, ? extends GeneratedResult<?>> entry : generatorResult.entrySet()) {
         generatedResults.put(entry.getKey(), entry.getValue());
       }
@@ -43,12 +43,14 @@ import com.google.api.codegen.transformer.csharp.CSharpGapicSmokeTestTransformer
 import com.google.api.codegen.transformer.csharp.CSharpGapicSnippetsTransformer;
 import com.google.api.codegen.transformer.csharp.CSharpGapicUnitTestTransformer;
 import com.google.api.codegen.transformer.csharp.CSharpStandaloneSampleTransformer;
+import com.google.api.codegen.transformer.go.GoGapicBenchmarkTransformer;
 import com.google.api.codegen.transformer.go.GoGapicSurfaceTestTransformer;
 import com.google.api.codegen.transformer.go.GoGapicSurfaceTransformer;
 import com.google.api.codegen.transformer.java.JavaGapicPackageTransformer;
 import com.google.api.codegen.transformer.java.JavaGapicSamplesPackageTransformer;
 import com.google.api.codegen.transformer.java.JavaGapicSamplesTransformer;
 import com.google.api.codegen.transformer.java.JavaGapicSurfaceTransformer;
+import com.google.api.codegen.transformer.java.JavaSurfaceBenchmarkTransformer;
 import com.google.api.codegen.transformer.java.JavaSurfaceTestTransformer;
 import com.google.api.codegen.transformer.nodejs.NodeJSGapicSamplesTransformer;
 import com.google.api.codegen.transformer.nodejs.NodeJSGapicSurfaceDocTransformer;
@@ -116,6 +118,7 @@ public class GapicGeneratorFactory {
       Function<ModelToViewTransformer<ProtoApiModel>, CodeGenerator> newCsharpGenerator =
           transformer ->
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CSharpRenderingUtil()))
@@ -182,6 +185,7 @@ public class GapicGeneratorFactory {
       if (artifactFlags.surfaceGeneratorEnabled()) {
         CodeGenerator generator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -193,6 +197,7 @@ public class GapicGeneratorFactory {
       if (artifactFlags.testGeneratorEnabled()) {
         CodeGenerator testGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -200,11 +205,23 @@ public class GapicGeneratorFactory {
                 .build();
         generators.add(testGenerator);
       }
+      if (artifactFlags.benchmarkGeneratorEnabled()) {
+        CodeGenerator benchmarkGenerator =
+            GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
+                .setModel(model)
+                .setProductConfig(productConfig)
+                .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
+                .setModelToViewTransformer(new GoGapicBenchmarkTransformer())
+                .build();
+        generators.add(benchmarkGenerator);
+      }
 
     } else if (language.equals(JAVA)) {
       Function<ModelToViewTransformer<ProtoApiModel>, CodeGenerator> newJavaGenerator =
           transformer ->
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new JavaRenderingUtil()))
@@ -213,7 +230,9 @@ public class GapicGeneratorFactory {
 
       if (artifactFlags.surfaceGeneratorEnabled()) {
         GapicCodePathMapper javaPathMapper =
-            JavaGapicCodePathMapper.newBuilder().prefix("src/main/java").build();
+            artifactFlags
+                .getOutputFilter()
+                .applyTo(JavaGapicCodePathMapper.newBuilder().prefix("src/main/java").build());
 
         if (artifactFlags.codeFilesEnabled()) {
           generators.add(newJavaGenerator.apply(new JavaGapicSurfaceTransformer(javaPathMapper)));
@@ -226,7 +245,11 @@ public class GapicGeneratorFactory {
 
         if (artifactFlags.packagingFilesEnabled()) {
           generators.add(newJavaGenerator.apply(new JavaGapicPackageTransformer<>(packageConfig)));
+        }
 
+        // Static resources are product-level files, which only the product shard generates.
+        if (artifactFlags.packagingFilesEnabled()
+            && artifactFlags.getOutputFilter().isProductShard()) {
           CodeGenerator staticResourcesGenerator =
               new StaticResourcesGenerator(
                   ImmutableMap.<String, String>builder()
@@ -249,7 +272,9 @@ public class GapicGeneratorFactory {
       if (artifactFlags.testGeneratorEnabled()) {
         if (artifactFlags.codeFilesEnabled()) {
           GapicCodePathMapper javaTestPathMapper =
-              JavaGapicCodePathMapper.newBuilder().prefix("src/test/java").build();
+              artifactFlags
+                  .getOutputFilter()
+                  .applyTo(JavaGapicCodePathMapper.newBuilder().prefix("src/test/java").build());
           generators.add(
               newJavaGenerator.apply(
                   new JavaSurfaceTestTransformer<>(
@@ -258,6 +283,18 @@ public class GapicGeneratorFactory {
                       "java/grpc_test.snip")));
         }
       }
+
+      if (artifactFlags.benchmarkGeneratorEnabled() && artifactFlags.codeFilesEnabled()) {
+        GapicCodePathMapper javaBenchmarkPathMapper =
+            artifactFlags
+                .getOutputFilter()
+                .applyTo(JavaGapicCodePathMapper.newBuilder().prefix("src/jmh/java").build());
+        generators.add(
+            newJavaGenerator.apply(
+                new JavaSurfaceBenchmarkTransformer<>(
+                    javaBenchmarkPathMapper,
+                    new JavaGapicSurfaceTransformer(javaBenchmarkPathMapper))));
+      }
       return generators;
 
     } else if (language.equals(NODEJS)) {
@@ -265,6 +302,7 @@ public class GapicGeneratorFactory {
         GapicCodePathMapper nodeJSPathMapper = new NodeJSCodePathMapper();
         CodeGenerator mainGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -274,6 +312,7 @@ public class GapicGeneratorFactory {
 
         CodeGenerator metadataGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -281,12 +320,13 @@ public class GapicGeneratorFactory {
                 .build();
         CodeGenerator clientConfigGenerator =
             LegacyGapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setContext(new ClientConfigGapicContext(model, productConfig))
                 .setSnippetSetRunner(
                     new ClientConfigSnippetSetRunner<>(SnippetSetRunner.SNIPPET_RESOURCE_ROOT))
                 .setSnippetFileNames(Arrays.asList("clientconfig/json.snip"))
-                .setCodePathMapper(nodeJSPathMapper)
+                .setCodePathMapper(artifactFlags.getOutputFilter().applyTo(nodeJSPathMapper))
                 .build();
 
         generators.add(mainGenerator);
@@ -296,6 +336,7 @@ public class GapicGeneratorFactory {
         if (artifactFlags.devSamplesEnabled()) {
           CodeGenerator sampleGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -304,6 +345,7 @@ public class GapicGeneratorFactory {
                   .build();
           CodeGenerator sampleMetadataGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -316,6 +358,7 @@ public class GapicGeneratorFactory {
 
         CodeGenerator messageGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -327,6 +370,7 @@ public class GapicGeneratorFactory {
       if (artifactFlags.testGeneratorEnabled()) {
         CodeGenerator testGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -342,6 +386,7 @@ public class GapicGeneratorFactory {
               PhpGapicCodePathMapper.newBuilder().setPrefix("src").build();
           CodeGenerator generator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -354,18 +399,21 @@ public class GapicGeneratorFactory {
               PhpGapicCodePathMapper.newBuilder().setPrefix("src").setSuffix("resources").build();
           CodeGenerator clientConfigGenerator =
               LegacyGapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setContext(new PhpClientConfigGapicContext(model, productConfig))
                   .setSnippetSetRunner(
                       new ClientConfigSnippetSetRunner<>(SnippetSetRunner.SNIPPET_RESOURCE_ROOT))
                   .setSnippetFileNames(Arrays.asList("clientconfig/json.snip"))
-                  .setCodePathMapper(phpClientConfigPathMapper)
+                  .setCodePathMapper(
+                      artifactFlags.getOutputFilter().applyTo(phpClientConfigPathMapper))
                   .build();
           generators.add(clientConfigGenerator);
         }
         if (artifactFlags.packagingFilesEnabled()) {
           CodeGenerator metadataGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -378,6 +426,7 @@ public class GapicGeneratorFactory {
               PhpGapicCodePathMapper.newBuilder().setPrefix("samples").build();
           CodeGenerator sampleGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -390,6 +439,7 @@ public class GapicGeneratorFactory {
       if (artifactFlags.testGeneratorEnabled()) {
         CodeGenerator testGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -403,6 +453,7 @@ public class GapicGeneratorFactory {
             CommonGapicCodePathMapper.newBuilder().setShouldAppendPackage(true).build();
         CodeGenerator mainGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new PythonRenderingUtil()))
@@ -411,12 +462,13 @@ public class GapicGeneratorFactory {
                 .build();
         CodeGenerator clientConfigGenerator =
             LegacyGapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setContext(new ClientConfigGapicContext(model, productConfig))
                 .setSnippetSetRunner(
                     new ClientConfigSnippetSetRunner<>(SnippetSetRunner.SNIPPET_RESOURCE_ROOT))
                 .setSnippetFileNames(Arrays.asList("clientconfig/python_clientconfig.snip"))
-                .setCodePathMapper(pythonPathMapper)
+                .setCodePathMapper(artifactFlags.getOutputFilter().applyTo(pythonPathMapper))
                 .build();
         generators.add(mainGenerator);
         generators.add(clientConfigGenerator);
@@ -429,6 +481,7 @@ public class GapicGeneratorFactory {
                   .build();
           CodeGenerator sampleGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new PythonRenderingUtil()))
@@ -440,6 +493,7 @@ public class GapicGeneratorFactory {
 
         CodeGenerator metadataGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new PythonRenderingUtil()))
@@ -455,6 +509,7 @@ public class GapicGeneratorFactory {
                 .build();
         CodeGenerator testGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -474,6 +529,7 @@ public class GapicGeneratorFactory {
                 .build();
         CodeGenerator mainGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -482,15 +538,17 @@ public class GapicGeneratorFactory {
                 .build();
         CodeGenerator clientConfigGenerator =
             LegacyGapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setContext(new ClientConfigGapicContext(model, productConfig))
                 .setSnippetSetRunner(
                     new ClientConfigSnippetSetRunner<>(SnippetSetRunner.SNIPPET_RESOURCE_ROOT))
                 .setSnippetFileNames(Arrays.asList("clientconfig/json.snip"))
-                .setCodePathMapper(rubyPathMapper)
+                .setCodePathMapper(artifactFlags.getOutputFilter().applyTo(rubyPathMapper))
                 .build();
         CodeGenerator metadataGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -505,6 +563,7 @@ public class GapicGeneratorFactory {
                   .build();
           CodeGenerator sampleGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -513,6 +572,7 @@ public class GapicGeneratorFactory {
                   .build();
           CodeGenerator sampleMetadataGenerator =
               GapicGenerator.newBuilder()
+                  .setOutputFilter(artifactFlags.getOutputFilter())
                   .setModel(model)
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -528,6 +588,7 @@ public class GapicGeneratorFactory {
 
         CodeGenerator messageGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -543,6 +604,7 @@ public class GapicGeneratorFactory {
                 .setPackageFilePathNameFormatter(new RubyNameFormatter());
         CodeGenerator testGenerator =
             GapicGenerator.newBuilder()
+                .setOutputFilter(artifactFlags.getOutputFilter())
                 .setModel(model)
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
@@ -22,30 +22,46 @@ import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.stages.Merged;
 import com.google.api.tools.framework.snippet.Doc;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
-/** Legacy CodeGenerator that uses a custom SnippetSetRunner for each generator. */
+/**
+ * Legacy CodeGenerator that uses a custom SnippetSetRunner for each generator.
+ *
+ * <p>Every (snippet file, interface) pair is generated independently on a worker pool.
+ */
 public class LegacyGapicGenerator implements CodeGenerator<Doc> {
   private final Model model;
   private final GapicContext context;
   private final SnippetSetRunner<Interface> generator;
   private final List<String> snippetFileNames;
   private final GapicCodePathMapper pathMapper;
+  private final OutputFilter outputFilter;
 
   private LegacyGapicGenerator(
       Model model,
       GapicContext context,
       SnippetSetRunner<Interface> generator,
       List<String> snippetFileNames,
-      GapicCodePathMapper pathMapper) {
+      GapicCodePathMapper pathMapper,
+      OutputFilter outputFilter) {
     this.model = model;
     this.context = context;
     this.generator = generator;
     this.snippetFileNames = snippetFileNames;
     this.pathMapper = pathMapper;
+    this.outputFilter = outputFilter;
   }
 
   @Override
@@ -55,53 +71,102 @@ public class LegacyGapicGenerator implements CodeGenerator<Doc> {
 
   @Override
   public Map<String, GeneratedResult<Doc>> generate() {
-    Map<String, GeneratedResult<Doc>> docs = new TreeMap<>();
+    // Establish required stage for generation.
+    model.establishStage(Merged.KEY);
+    if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
+      return ImmutableMap.of();
+    }
 
+    // Build one task per (snippet file, interface) pair. Tasks are listed in snippet file order so
+    // that, as before, results of later snippet files win on conflicting output paths.
+    List<SnippetTask> tasks = new ArrayList<>();
+    // Every file is generated for one interface, so a shard only needs its own interfaces.
+    List<Interface> interfaces =
+        outputFilter.selectInterfaces(ProtoModels.getInterfaces(model, context.getApiConfig()));
     for (String snippetFileName : snippetFileNames) {
-      Map<String, GeneratedResult<Doc>> snippetDocs = generate(snippetFileName);
-      docs.putAll(snippetDocs);
+      for (Interface modelInterface : interfaces) {
+        if (context.getApiConfig().getInterfaceConfig(modelInterface) == null) {
+          continue;
+        }
+        tasks.add(new SnippetTask(snippetFileName, modelInterface));
+      }
     }
 
-    return docs;
-  }
+    Map<String, GeneratedResult<Doc>> docs = new TreeMap<>();
+    for (Map<String, GeneratedResult<Doc>> result : runTasks(tasks)) {
+      docs.putAll(result);
+    }
 
-  private Map<String, GeneratedResult<Doc>> generate(String snippetFileName) {
-    // Establish required stage for generation.
-    model.establishStage(Merged.KEY);
+    // Return result.
     if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
       return ImmutableMap.of();
     }
 
-    // Run the generator for each service.
-    Map<String, GeneratedResult<Doc>> generated = new TreeMap<>();
-    for (Interface modelInterface : ProtoModels.getInterfaces(model, context.getApiConfig())) {
-      if (context.getApiConfig().getInterfaceConfig(modelInterface) == null) {
-        continue;
-      }
+    return docs;
+  }
 
-      String subPath;
-      if (modelInterface == null) {
-        subPath = pathMapper.getOutputPath(null, context.getApiConfig());
-      } else {
-        subPath = pathMapper.getOutputPath(modelInterface.getFullName(), context.getApiConfig());
+  /** Runs the tasks on a worker pool and returns their results in task order. */
+  private List<Map<String, GeneratedResult<Doc>>> runTasks(List<SnippetTask> tasks) {
+    int threadCount = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+    if (threadCount <= 1) {
+      return tasks.stream().map(this::generate).collect(Collectors.toList());
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threadCount,
+            new ThreadFactoryBuilder().setNameFormat("legacy-gapic-%d").setDaemon(true).build());
+    try {
+      List<Future<Map<String, GeneratedResult<Doc>>>> futures = new ArrayList<>();
+      for (SnippetTask task : tasks) {
+        futures.add(executor.submit(() -> generate(task)));
+      }
+      List<Map<String, GeneratedResult<Doc>>> results = new ArrayList<>();
+      for (Future<Map<String, GeneratedResult<Doc>>> future : futures) {
+        try {
+          results.add(Futures.getUnchecked(future));
+        } catch (UncheckedExecutionException e) {
+          Throwables.throwIfUnchecked(e.getCause());
+          throw e;
+        }
       }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
-      Map<String, GeneratedResult<Doc>> result =
-          generator.generate(modelInterface, snippetFileName, context);
+  private Map<String, GeneratedResult<Doc>> generate(SnippetTask task) {
+    Interface modelInterface = task.modelInterface;
+    String subPath;
+    if (modelInterface == null) {
+      subPath = pathMapper.getOutputPath(null, context.getApiConfig());
+    } else {
+      subPath = pathMapper.getOutputPath(modelInterface.getFullName(), context.getApiConfig());
+    }
+
+    Map<String, GeneratedResult<Doc>> result =
+        generator.generate(modelInterface, task.snippetFileName, context);
 
-      for (Map.Entry<String, GeneratedResult<Doc>> resEntry : result.entrySet()) {
-        String resSubPath =
-            Strings.isNullOrEmpty(subPath) ? resEntry.getKey() : subPath + "/" + resEntry.getKey();
+    Map<String, GeneratedResult<Doc>> generated = new TreeMap<>();
+    for (Map.Entry<String, GeneratedResult<Doc>> resEntry : result.entrySet()) {
+      String resSubPath =
+          Strings.isNullOrEmpty(subPath) ? resEntry.getKey() : subPath + "/" + resEntry.getKey();
+      if (pathMapper.isOutputWanted(resSubPath)) {
         generated.put(resSubPath, resEntry.getValue());
       }
     }
+    return generated;
+  }
 
-    // Return result.
-    if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
-      return ImmutableMap.of();
-    }
+  private static class SnippetTask {
+    private final String snippetFileName;
+    private final Interface modelInterface;
 
-    return generated;
+    private SnippetTask(String snippetFileName, Interface modelInterface) {
+      this.snippetFileName = snippetFileName;
+      this.modelInterface = modelInterface;
+    }
   }
 
   public static Builder newBuilder() {
@@ -114,6 +179,7 @@ public class LegacyGapicGenerator implements CodeGenerator<Doc> {
     private SnippetSetRunner<Interface> generator;
     private List<String> snippetFileNames;
     private GapicCodePathMapper pathMapper;
+    private OutputFilter outputFilter = OutputFilter.all();
 
     private Builder() {}
 
@@ -142,8 +208,14 @@ public class LegacyGapicGenerator implements CodeGenerator<Doc> {
       return this;
     }
 
+    public Builder setOutputFilter(OutputFilter outputFilter) {
+      this.outputFilter = outputFilter;
+      return this;
+    }
+
     public LegacyGapicGenerator build() {
-      return new LegacyGapicGenerator(model, context, generator, snippetFileNames, pathMapper);
+      return new LegacyGapicGenerator(
+          model, context, generator, snippetFileNames, pathMapper, outputFilter);
     }
   }
 }
@@ -0,0 +1,212 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.config.ProductConfig;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the generated files to produce by their output path, so that work for other files can be
+ * skipped.
+ *
+ * <p>The filter is a glob as understood by {@link java.nio.file.FileSystem#getPathMatcher}. A glob
+ * without a '/' is matched against the file name only, so "*Client.java" selects every client
+ * class; any other glob is matched against the whole output path.
+ *
+ * <p>A filter can also select one shard of the output, so that several workers can generate the
+ * same API side by side. Shards are cut by API interface before any views are built: shard 0 owns
+ * the product-level files, such as package manifests, and the interfaces are dealt out to the other
+ * shards in the order of {@link ProtoModels#getInterfaces}. Each view states whether it is
+ * product-level through {@link ViewModel#isProductLevel}. The union of the outputs of all shards is
+ * the output of an unsharded run.
+ */
+public class OutputFilter {
+  private static final OutputFilter ALL = new OutputFilter(null, false, 0, 1);
+
+  private final PathMatcher matcher;
+  private final boolean matchFileNameOnly;
+  private final int shardIndex;
+  private final int shardCount;
+
+  private OutputFilter(
+      PathMatcher matcher, boolean matchFileNameOnly, int shardIndex, int shardCount) {
+    this.matcher = matcher;
+    this.matchFileNameOnly = matchFileNameOnly;
+    this.shardIndex = shardIndex;
+    this.shardCount = shardCount;
+  }
+
+  /** Returns a filter that selects every file. */
+  public static OutputFilter all() {
+    return ALL;
+  }
+
+  /** Returns a filter for the given glob; an empty glob selects every file. */
+  public static OutputFilter fromGlob(String glob) {
+    if (Strings.isNullOrEmpty(glob)) {
+      return ALL;
+    }
+    return new OutputFilter(
+        FileSystems.getDefault().getPathMatcher("glob:" + glob), !glob.contains("/"), 0, 1);
+  }
+
+  /**
+   * Returns a filter that selects the files of this filter which are owned by the given shard.
+   *
+   * @throws IllegalArgumentException if shardIndex is not in [0, shardCount)
+   */
+  public OutputFilter withShard(int shardIndex, int shardCount) {
+    Preconditions.checkArgument(shardCount > 0, "shard count must be positive: %s", shardCount);
+    Preconditions.checkArgument(
+        shardIndex >= 0 && shardIndex < shardCount,
+        "shard index must be in [0, %s): %s",
+        shardCount,
+        shardIndex);
+    if (shardCount == 1 && this.shardCount == 1) {
+      return this;
+    }
+    return new OutputFilter(matcher, matchFileNameOnly, shardIndex, shardCount);
+  }
+
+  /** Returns whether this filter selects every output path. */
+  public boolean isAll() {
+    return matcher == null;
+  }
+
+  /** Returns whether this filter selects one of several shards of the output. */
+  public boolean isSharded() {
+    return shardCount > 1;
+  }
+
+  /** Returns whether this filter's shard generates the product-level files. */
+  public boolean isProductShard() {
+    return shardIndex == 0;
+  }
+
+  /**
+   * Returns the interfaces of the given list which are owned by this filter's shard. The list must
+   * be in the same order on every shard.
+   */
+  public <T> List<T> selectInterfaces(List<T> interfaces) {
+    if (!isSharded()) {
+      return interfaces;
+    }
+    ImmutableList.Builder<T> selectedInterfaces = ImmutableList.builder();
+    for (int i = 0; i < interfaces.size(); i++) {
+      // Shard 0 is kept for the product-level files.
+      if (1 + i % (shardCount - 1) == shardIndex) {
+        selectedInterfaces.add(interfaces.get(i));
+      }
+    }
+    return selectedInterfaces.build();
+  }
+
+  /**
+   * Returns the views of the files owned by this filter's shard.
+   *
+   * <p>The product shard keeps the {@link ViewModel#isProductLevel product-level} views, built from
+   * all interfaces because they list every one of them. Every other shard builds the views of its
+   * own interfaces only and drops the product-level ones.
+   *
+   * @param interfaces the interfaces of the API, in the same order on every shard
+   * @param transform builds the views of the API restricted to the given interfaces
+   */
+  public <T> List<ViewModel> transformShard(
+      List<T> interfaces, Function<List<T>, List<ViewModel>> transform) {
+    if (!isSharded()) {
+      return transform.apply(interfaces);
+    }
+    if (isProductShard()) {
+      return transform
+          .apply(interfaces)
+          .stream()
+          .filter(ViewModel::isProductLevel)
+          .collect(Collectors.toList());
+    }
+    List<T> selectedInterfaces = selectInterfaces(interfaces);
+    if (selectedInterfaces.isEmpty()) {
+      return ImmutableList.of();
+    }
+    return transform
+        .apply(selectedInterfaces)
+        .stream()
+        .filter(view -> !view.isProductLevel())
+        .collect(Collectors.toList());
+  }
+
+  /** Returns whether the file at the given output path should be generated. */
+  public boolean matches(String outputPath) {
+    if (isAll()) {
+      return true;
+    }
+    Path path = Paths.get(outputPath).normalize();
+    if (matchFileNameOnly) {
+      path = path.getFileName();
+    }
+    return path != null && matcher.matches(path);
+  }
+
+  /** Returns the entries of the given map whose keys are selected output paths. */
+  public <V> Map<String, V> filter(Map<String, V> outputFiles) {
+    if (isAll()) {
+      return outputFiles;
+    }
+    Map<String, V> selectedFiles = new LinkedHashMap<>();
+    for (Map.Entry<String, V> entry : outputFiles.entrySet()) {
+      if (matches(entry.getKey())) {
+        selectedFiles.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return selectedFiles;
+  }
+
+  /**
+   * Returns a path mapper that answers {@link GapicCodePathMapper#isOutputWanted} with this filter.
+   */
+  public GapicCodePathMapper applyTo(GapicCodePathMapper pathMapper) {
+    if (isAll()) {
+      return pathMapper;
+    }
+    return new GapicCodePathMapper() {
+      @Override
+      public String getOutputPath(String elementFullName, ProductConfig config) {
+        return pathMapper.getOutputPath(elementFullName, config);
+      }
+
+      @Override
+      public String getSamplesOutputPath(
+          String elementFullName, ProductConfig config, String method) {
+        return pathMapper.getSamplesOutputPath(elementFullName, config, method);
+      }
+
+      @Override
+      public boolean isOutputWanted(String outputPath) {
+        return matches(outputPath) && pathMapper.isOutputWanted(outputPath);
+      }
+    };
+  }
+}
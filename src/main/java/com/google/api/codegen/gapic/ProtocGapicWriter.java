@@ -15,17 +15,27 @@
 package com.google.api.codegen.gapic;
 
 import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.rendering.ParallelDocRenderer;
 import com.google.api.tools.framework.model.DiagCollector;
-import com.google.api.tools.framework.snippet.Doc;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import java.io.IOException;
 import java.util.Map;
 import javax.annotation.Nonnull;
 
 public class ProtocGapicWriter implements GapicWriter {
 
+  private final ParallelDocRenderer renderer;
   private boolean isDone = false;
   private CodeGeneratorResponse response;
 
+  public ProtocGapicWriter() {
+    this(ParallelDocRenderer.create());
+  }
+
+  public ProtocGapicWriter(ParallelDocRenderer renderer) {
+    this.renderer = renderer;
+  }
+
   @Override
   public boolean isDone() {
     return isDone;
@@ -41,36 +51,35 @@ public class ProtocGapicWriter implements GapicWriter {
 
   @Override
   public void writeCodeGenOutput(
-      @Nonnull Map<String, GeneratedResult<?>> generatedResults, DiagCollector diagCollector) {
+      @Nonnull Map<String, GeneratedResult<?>> generatedResults, DiagCollector diagCollector)
+      throws IOException {
     Map<String, Object> outputFiles = GeneratedResult.extractBodiesGeneric(generatedResults);
     this.response = writeCodeGenOutputToProtoc(outputFiles);
     this.isDone = true;
   }
 
-  private CodeGeneratorResponse writeCodeGenOutputToProtoc(Map<String, ?> outputFiles) {
+  private CodeGeneratorResponse writeCodeGenOutputToProtoc(Map<String, ?> outputFiles)
+      throws IOException {
     CodeGeneratorResponse.Builder protocResponse = CodeGeneratorResponse.newBuilder();
 
-    for (Map.Entry<String, ?> entry : outputFiles.entrySet()) {
-      com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File.Builder protoOutFile =
-          com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File.newBuilder();
-
-      StringBuilder outputStream = new StringBuilder();
+    renderer.render(
+        outputFiles,
+        (path, value) -> {
+          com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File.Builder
+              protoOutFile =
+                  com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File.newBuilder();
 
-      Object value = entry.getValue();
-      if (value instanceof Doc) {
-        outputStream.append(((Doc) value).prettyPrint());
-      } else if (value instanceof String) {
-        outputStream.append((String) value);
-      } else if (value instanceof byte[]) {
-        outputStream.append((byte[]) value);
-      } else {
-        throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
-      }
+          StringBuilder outputStream = new StringBuilder();
+          if (value instanceof String) {
+            outputStream.append((String) value);
+          } else {
+            outputStream.append((byte[]) value);
+          }
 
-      protoOutFile.setContent(outputStream.toString());
-      protoOutFile.setName(entry.getKey());
-      protocResponse.addFile(protoOutFile.build());
-    }
+          protoOutFile.setContent(outputStream.toString());
+          protoOutFile.setName(path);
+          protocResponse.addFile(protoOutFile.build());
+        });
 
     return protocResponse.build();
   }
@@ -0,0 +1,123 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.rendering.ParallelDocRenderer;
+import com.google.api.codegen.rendering.ZipOutputWriter;
+import com.google.api.codegen.rendering.ZipOutputWriter.Compression;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
+import com.google.api.tools.framework.tools.ToolUtil;
+import com.google.common.base.Joiner;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Combines the outputs of a generator run split with --shard_index and --shard_count.
+ *
+ * <p>Each shard output is either an archive (.jar, .srcjar or .zip) or a directory. The merged
+ * output is written the same way an unsharded run writes it, so merging the archives of all shards
+ * yields a byte-identical archive. Files that are executable in a directory shard stay executable
+ * in a merged directory.
+ */
+public class ShardOutputMerger {
+
+  private final Compression compression;
+
+  public ShardOutputMerger(Compression compression) {
+    this.compression = compression;
+  }
+
+  /** Merges the given shard outputs into outputPath. */
+  public void merge(List<String> shardPaths, String outputPath) throws IOException {
+    Map<String, GeneratedResult<?>> outputFiles = readShards(shardPaths);
+    DiagCollector diagCollector = new SimpleDiagCollector();
+    new FileGapicWriter(outputPath, ParallelDocRenderer.create(), compression)
+        .writeCodeGenOutput(outputFiles, diagCollector);
+    ToolUtil.reportDiags(diagCollector, true);
+  }
+
+  /**
+   * Reads the files of all the given shard outputs, keyed by output path.
+   *
+   * @throws IOException if two shards contain different files at the same path
+   */
+  static Map<String, GeneratedResult<?>> readShards(List<String> shardPaths) throws IOException {
+    Map<String, GeneratedResult<?>> outputFiles = new TreeMap<>();
+    for (String shardPath : shardPaths) {
+      for (Map.Entry<String, GeneratedResult<byte[]>> file : readShard(shardPath).entrySet()) {
+        GeneratedResult<?> previous = outputFiles.putIfAbsent(file.getKey(), file.getValue());
+        if (previous == null) {
+          continue;
+        }
+        if (!Arrays.equals((byte[]) previous.getBody(), file.getValue().getBody())) {
+          throw new IOException(
+              "Shard outputs contain conflicting versions of " + file.getKey() + ".");
+        }
+        if (file.getValue().isExecutable()) {
+          outputFiles.put(file.getKey(), file.getValue());
+        }
+      }
+    }
+    return outputFiles;
+  }
+
+  private static Map<String, GeneratedResult<byte[]>> readShard(String shardPath)
+      throws IOException {
+    Map<String, GeneratedResult<byte[]>> files = new TreeMap<>();
+    if (ZipOutputWriter.isArchivePath(shardPath)) {
+      try (ZipInputStream in =
+          new ZipInputStream(new BufferedInputStream(new FileInputStream(shardPath)))) {
+        for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+          if (!entry.isDirectory()) {
+            // The archive writer does not record permissions.
+            files.put(entry.getName(), GeneratedResult.create(ByteStreams.toByteArray(in), false));
+          }
+        }
+      }
+      return files;
+    }
+
+    Path root = Paths.get(shardPath);
+    if (!Files.isDirectory(root)) {
+      throw new IOException("Shard output not found: " + shardPath);
+    }
+    List<Path> paths;
+    try (Stream<Path> walk = Files.walk(root)) {
+      paths = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    for (Path path : paths) {
+      // Archive entries always use '/', so directory shards are keyed the same way.
+      String outputPath = Joiner.on('/').join(root.relativize(path));
+      files.put(
+          outputPath, GeneratedResult.create(Files.readAllBytes(path), Files.isExecutable(path)));
+    }
+    return files;
+  }
+}
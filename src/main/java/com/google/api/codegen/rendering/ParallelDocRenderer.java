@@ -0,0 +1,169 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import com.google.api.tools.framework.snippet.Doc;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pretty-prints generated {@link Doc} bodies on a bounded worker pool and hands the rendered files
+ * to a single consumer in sorted path order.
+ *
+ * <p>At most {@code maxInFlight} files are being rendered or waiting to be consumed at any time, so
+ * the rendered text of the whole output is never held in memory at once. The consumer is always
+ * invoked on the calling thread, which makes it safe to write to order-sensitive sinks such as a
+ * jar stream. Additional per-file work, such as compression, can be moved onto the worker pool with
+ * a {@link RenderedFileProcessor}.
+ */
+public class ParallelDocRenderer {
+
+  /** Receives rendered files on the calling thread. */
+  public interface RenderedFileConsumer<T> {
+    void accept(String path, T content) throws IOException;
+  }
+
+  /**
+   * Post-processes a rendered file on a worker thread. The content is either a {@link String} or a
+   * {@code byte[]}.
+   */
+  public interface RenderedFileProcessor<T> {
+    T process(String path, Object content) throws IOException;
+  }
+
+  private final int threadCount;
+  private final int maxInFlight;
+
+  /** Creates a renderer with one worker per available processor. */
+  public static ParallelDocRenderer create() {
+    int threadCount = Runtime.getRuntime().availableProcessors();
+    return new ParallelDocRenderer(threadCount, 2 * threadCount);
+  }
+
+  public ParallelDocRenderer(int threadCount, int maxInFlight) {
+    Preconditions.checkArgument(threadCount > 0, "threadCount must be positive");
+    Preconditions.checkArgument(maxInFlight >= threadCount, "maxInFlight must be >= threadCount");
+    this.threadCount = threadCount;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Renders all the given files and passes them to the consumer, sorted by path.
+   *
+   * @param outputFiles map from output path to a {@link Doc}, {@link String} or {@code byte[]}
+   * @param consumer receives each rendered file (a {@link String} or a {@code byte[]}) on the
+   *     calling thread
+   */
+  public void render(Map<String, ?> outputFiles, RenderedFileConsumer<Object> consumer)
+      throws IOException {
+    render(outputFiles, (path, content) -> content, consumer);
+  }
+
+  /**
+   * Renders all the given files, post-processes them on the worker pool and passes the results to
+   * the consumer, sorted by path.
+   *
+   * @param outputFiles map from output path to a {@link Doc}, {@link String} or {@code byte[]}
+   * @param processor transforms each rendered file on a worker thread
+   * @param consumer receives each processed file on the calling thread
+   */
+  public <T> void render(
+      Map<String, ?> outputFiles,
+      RenderedFileProcessor<T> processor,
+      RenderedFileConsumer<T> consumer)
+      throws IOException {
+    Map<String, ?> sortedFiles = new TreeMap<>(outputFiles);
+    if (threadCount == 1 || sortedFiles.size() <= 1) {
+      for (Map.Entry<String, ?> entry : sortedFiles.entrySet()) {
+        String path = entry.getKey();
+        consumer.accept(path, processor.process(path, renderBody(entry.getValue())));
+      }
+      return;
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(threadCount, sortedFiles.size()),
+            new ThreadFactoryBuilder().setNameFormat("gapic-render-%d").setDaemon(true).build());
+    try {
+      Iterator<? extends Map.Entry<String, ?>> pending = sortedFiles.entrySet().iterator();
+      Deque<RenderTask<T>> inFlight = new ArrayDeque<>(maxInFlight);
+      while (pending.hasNext() || !inFlight.isEmpty()) {
+        while (pending.hasNext() && inFlight.size() < maxInFlight) {
+          Map.Entry<String, ?> entry = pending.next();
+          String path = entry.getKey();
+          Object body = entry.getValue();
+          inFlight.addLast(
+              new RenderTask<>(
+                  path, executor.submit(() -> processor.process(path, renderBody(body)))));
+        }
+        RenderTask<T> task = inFlight.removeFirst();
+        consumer.accept(task.path, task.await());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Pretty-prints a {@link Doc} body; {@link String} and {@code byte[]} bodies are returned as is.
+   */
+  public static Object renderBody(Object body) {
+    if (body instanceof Doc) {
+      return ((Doc) body).prettyPrint();
+    } else if (body instanceof String || body instanceof byte[]) {
+      return body;
+    } else {
+      throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+    }
+  }
+
+  private static class RenderTask<T> {
+    private final String path;
+    private final Future<T> future;
+
+    private RenderTask(String path, Future<T> future) {
+      this.path = path;
+      this.future = future;
+    }
+
+    private T await() throws IOException {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while rendering " + path, e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IOException("Failed to render " + path, cause);
+      }
+    }
+  }
+}
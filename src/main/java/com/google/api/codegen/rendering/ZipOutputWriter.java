@@ -0,0 +1,269 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes generated files into a zip archive (.zip, .jar or .srcjar).
+ *
+ * <p>Entries are rendered and compressed in parallel by a {@link ParallelDocRenderer} and appended
+ * to the archive in sorted path order. Every entry gets the same fixed timestamp, so the same input
+ * always produces a byte-identical archive.
+ */
+public class ZipOutputWriter {
+
+  /** How archive entries are stored. */
+  public enum Compression {
+    /** Entries are compressed with deflate. */
+    DEFLATED,
+    /** Entries are stored without compression; useful for archives that are unpacked right away. */
+    STORED;
+
+    /** Parses a compression name, case-insensitively. An empty name means {@link #DEFLATED}. */
+    public static Compression fromString(String name) {
+      return name == null || name.isEmpty() ? DEFLATED : valueOf(name.toUpperCase());
+    }
+  }
+
+  private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+  private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+  private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+  private static final int METHOD_STORED = 0;
+  private static final int METHOD_DEFLATED = 8;
+  private static final int VERSION_STORED = 10;
+  private static final int VERSION_DEFLATED = 20;
+  private static final int FLAG_UTF8_NAMES = 0x0800;
+
+  // 1980-01-01 00:00:00, the earliest timestamp expressible in the DOS format zip uses.
+  private static final int DOS_TIME = 0;
+  private static final int DOS_DATE = (1 << 5) | 1;
+
+  private static final long MAX_ZIP32_VALUE = 0xffffffffL;
+  private static final int MAX_ZIP32_ENTRIES = 0xffff;
+
+  private final ParallelDocRenderer renderer;
+  private final Compression compression;
+
+  public ZipOutputWriter(ParallelDocRenderer renderer, Compression compression) {
+    this.renderer = renderer;
+    this.compression = compression;
+  }
+
+  /** Returns whether the given output path names a zip archive rather than a directory. */
+  public static boolean isArchivePath(String outputPath) {
+    return outputPath.endsWith(".jar")
+        || outputPath.endsWith(".srcjar")
+        || outputPath.endsWith(".zip");
+  }
+
+  /** Writes the given files into a new archive at outputPath. */
+  public void write(Map<String, ?> outputFiles, String outputPath) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputPath))) {
+      write(outputFiles, out);
+    }
+  }
+
+  /** Writes the given files as a zip archive to the stream. The stream is not closed. */
+  public void write(Map<String, ?> outputFiles, OutputStream out) throws IOException {
+    CountingOutputStream archive = new CountingOutputStream(out);
+    List<CentralDirectoryRecord> centralDirectory = new ArrayList<>();
+    renderer.render(
+        outputFiles,
+        this::compress,
+        (path, entry) -> {
+          checkZip32(archive.count, "archive size");
+          centralDirectory.add(new CentralDirectoryRecord(entry.header, archive.count));
+          writeLocalFileHeader(archive, entry.header);
+          archive.write(entry.data);
+        });
+
+    long centralDirectoryOffset = archive.count;
+    for (CentralDirectoryRecord record : centralDirectory) {
+      writeCentralDirectoryHeader(archive, record);
+    }
+    long centralDirectorySize = archive.count - centralDirectoryOffset;
+    if (centralDirectory.size() > MAX_ZIP32_ENTRIES) {
+      throw new IOException("Too many entries for a zip archive: " + centralDirectory.size());
+    }
+    checkZip32(archive.count, "archive size");
+
+    writeInt(archive, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+    writeShort(archive, 0); // number of this disk
+    writeShort(archive, 0); // disk where the central directory starts
+    writeShort(archive, centralDirectory.size());
+    writeShort(archive, centralDirectory.size());
+    writeInt(archive, centralDirectorySize);
+    writeInt(archive, centralDirectoryOffset);
+    writeShort(archive, 0); // comment length
+    archive.flush();
+  }
+
+  private CompressedEntry compress(String path, Object content) throws IOException {
+    byte[] bytes =
+        content instanceof byte[]
+            ? (byte[]) content
+            : ((String) content).getBytes(StandardCharsets.UTF_8);
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+
+    byte[] data = bytes;
+    if (compression == Compression.DEFLATED) {
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      try {
+        deflater.setInput(bytes);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+          compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        data = compressed.toByteArray();
+      } finally {
+        deflater.end();
+      }
+    }
+    checkZip32(bytes.length, path);
+    return new CompressedEntry(
+        new EntryHeader(
+            path.getBytes(StandardCharsets.UTF_8), crc.getValue(), data.length, bytes.length),
+        data);
+  }
+
+  private void writeLocalFileHeader(OutputStream out, EntryHeader header) throws IOException {
+    writeInt(out, LOCAL_FILE_HEADER_SIGNATURE);
+    writeEntryFields(out, header);
+    writeShort(out, 0); // extra field length
+    out.write(header.name);
+  }
+
+  private void writeCentralDirectoryHeader(OutputStream out, CentralDirectoryRecord record)
+      throws IOException {
+    writeInt(out, CENTRAL_DIRECTORY_SIGNATURE);
+    writeShort(out, versionNeeded()); // version made by
+    writeEntryFields(out, record.header);
+    writeShort(out, 0); // extra field length
+    writeShort(out, 0); // file comment length
+    writeShort(out, 0); // disk number start
+    writeShort(out, 0); // internal file attributes
+    writeInt(out, 0); // external file attributes
+    writeInt(out, record.localHeaderOffset);
+    out.write(record.header.name);
+  }
+
+  /** Writes the fields shared by the local file header and the central directory header. */
+  private void writeEntryFields(OutputStream out, EntryHeader header) throws IOException {
+    writeShort(out, versionNeeded());
+    writeShort(out, FLAG_UTF8_NAMES);
+    writeShort(out, compression == Compression.DEFLATED ? METHOD_DEFLATED : METHOD_STORED);
+    writeShort(out, DOS_TIME);
+    writeShort(out, DOS_DATE);
+    writeInt(out, header.crc);
+    writeInt(out, header.compressedSize);
+    writeInt(out, header.size);
+    writeShort(out, header.name.length);
+  }
+
+  private int versionNeeded() {
+    return compression == Compression.DEFLATED ? VERSION_DEFLATED : VERSION_STORED;
+  }
+
+  private static void checkZip32(long value, String what) throws IOException {
+    if (value > MAX_ZIP32_VALUE) {
+      throw new IOException("Zip64 archives are not supported; too large: " + what);
+    }
+  }
+
+  private static void writeShort(OutputStream out, int value) throws IOException {
+    out.write(value & 0xff);
+    out.write((value >>> 8) & 0xff);
+  }
+
+  private static void writeInt(OutputStream out, long value) throws IOException {
+    writeShort(out, (int) (value & 0xffff));
+    writeShort(out, (int) ((value >>> 16) & 0xffff));
+  }
+
+  private static class EntryHeader {
+    private final byte[] name;
+    private final long crc;
+    private final long compressedSize;
+    private final long size;
+
+    private EntryHeader(byte[] name, long crc, long compressedSize, long size) {
+      this.name = name;
+      this.crc = crc;
+      this.compressedSize = compressedSize;
+      this.size = size;
+    }
+  }
+
+  private static class CompressedEntry {
+    private final EntryHeader header;
+    private final byte[] data;
+
+    private CompressedEntry(EntryHeader header, byte[] data) {
+      this.header = header;
+      this.data = data;
+    }
+  }
+
+  private static class CentralDirectoryRecord {
+    private final EntryHeader header;
+    private final long localHeaderOffset;
+
+    private CentralDirectoryRecord(EntryHeader header, long localHeaderOffset) {
+      this.header = header;
+      this.localHeaderOffset = localHeaderOffset;
+    }
+  }
+
+  private static class CountingOutputStream extends OutputStream {
+    private final OutputStream out;
+    private long count;
+
+    private CountingOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+  }
+}
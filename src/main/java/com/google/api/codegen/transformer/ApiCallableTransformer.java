@@ -15,6 +15,7 @@
 package com.google.api.codegen.transformer;
 
 import com.google.api.codegen.config.DiscoGapicInterfaceConfig;
+import com.google.api.codegen.config.DiscoveryField;
 import com.google.api.codegen.config.DiscoveryMethodModel;
 import com.google.api.codegen.config.FieldConfig;
 import com.google.api.codegen.config.FieldModel;
@@ -27,18 +28,26 @@ import com.google.api.codegen.config.PageStreamingConfig;
 import com.google.api.codegen.config.SingleResourceNameConfig;
 import com.google.api.codegen.config.TransportProtocol;
 import com.google.api.codegen.config.VisibilityConfig;
+import com.google.api.codegen.discogapic.transformer.DiscoGapicJsonCodecs;
+import com.google.api.codegen.discogapic.transformer.DiscoGapicNamer;
 import com.google.api.codegen.discogapic.transformer.DiscoGapicParser;
 import com.google.api.codegen.discovery.Method;
+import com.google.api.codegen.discovery.Schema;
+import com.google.api.codegen.transformer.SurfaceNamer.Cardinality;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.viewmodel.ApiCallSettingsView;
 import com.google.api.codegen.viewmodel.ApiCallableImplType;
 import com.google.api.codegen.viewmodel.ApiCallableView;
 import com.google.api.codegen.viewmodel.HttpMethodView;
+import com.google.api.codegen.viewmodel.HttpQueryParamView;
 import com.google.api.codegen.viewmodel.LongRunningOperationDetailView;
 import com.google.api.codegen.viewmodel.MethodDescriptorView;
+import com.google.api.codegen.viewmodel.ResourceNamePatternPieceView;
 import com.google.api.codegen.viewmodel.RetryCodesDefinitionView;
 import com.google.api.codegen.viewmodel.RetryParamsDefinitionView;
 import com.google.api.codegen.viewmodel.ServiceMethodType;
+import com.google.api.codegen.viewmodel.StaticLangMemberView;
+import com.google.common.base.Strings;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,12 +58,14 @@ public class ApiCallableTransformer {
 
   private final BatchingTransformer batchingTransformer;
   private final RetryDefinitionsTransformer retryDefinitionsTransformer;
+  private final CompressionTransformer compressionTransformer;
   private final LongRunningTransformer lroTransformer;
   private final HeaderRequestParamTransformer headerRequestParamTransformer;
 
   public ApiCallableTransformer() {
     this.batchingTransformer = new BatchingTransformer();
     this.retryDefinitionsTransformer = new RetryDefinitionsTransformer();
+    this.compressionTransformer = new CompressionTransformer();
     this.lroTransformer = new LongRunningTransformer();
     this.headerRequestParamTransformer = new HeaderRequestParamTransformer();
   }
@@ -232,6 +243,7 @@ public class ApiCallableTransformer {
       httpMethodView.resourceNameTypeName(
           context.getNamer().publicClassName(DiscoGapicParser.getResourceNameName(nameConfig)));
       // Find the field with the resource name config.
+      String resourceNameGetFunction = null;
       for (FieldConfig fieldConfig : context.getMethodConfig().getRequiredFieldConfigs()) {
         if (fieldConfig.getResourceNameConfig() != null
             && fieldConfig.getResourceNameConfig().equals(nameConfig)) {
@@ -239,14 +251,93 @@ public class ApiCallableTransformer {
               context
                   .getNamer()
                   .privateFieldName(Name.anyCamel(fieldConfig.getField().getNameAsParameter())));
+          resourceNameGetFunction =
+              context.getNamer().getFieldGetFunctionName(fieldConfig.getField());
         }
       }
+      if (resourceNameGetFunction != null) {
+        generateHttpJsonCodecFields(
+            context, nameConfig, resourceNameGetFunction, queryParams, httpMethodView);
+      }
       return httpMethodView.build();
     } else {
       return null;
     }
   }
 
+  /**
+   * Fills in what the stub needs to format requests and parse responses of the method with their
+   * generated JSON codecs. Nothing is set, and the stub falls back to the reflective formatter and
+   * parser, if the path template needs PathTemplate, the ResourceName lacks one of its parameters,
+   * or a message has no codec.
+   */
+  private void generateHttpJsonCodecFields(
+      MethodContext context,
+      SingleResourceNameConfig nameConfig,
+      String resourceNameGetFunction,
+      List<String> queryParams,
+      HttpMethodView.Builder httpMethodView) {
+    DiscoveryMethodModel methodModel = (DiscoveryMethodModel) context.getMethodModel();
+    Method method = methodModel.getDiscoMethod();
+    SurfaceNamer namer = context.getNamer();
+    DiscoGapicNamer discoGapicNamer = new DiscoGapicNamer();
+
+    boolean hasRequestBody =
+        method.request() != null && !Strings.isNullOrEmpty(method.request().reference());
+    if (nameConfig.getNameTemplate() == null
+        || !nameConfig.getNameTemplate().vars().containsAll(method.pathParams().keySet())
+        || (hasRequestBody && !DiscoGapicJsonCodecs.hasCodec(method.request()))
+        || (method.response() != null && !DiscoGapicJsonCodecs.hasCodec(method.response()))) {
+      return;
+    }
+
+    List<StaticLangMemberView> pathParams = new ArrayList<>();
+    for (Schema param : method.pathParams().values()) {
+      pathParams.add(
+          StaticLangMemberView.newBuilder()
+              .name(param.getIdentifier())
+              .typeName("String")
+              .fieldGetFunction(discoGapicNamer.getResourceGetterName(param.getIdentifier(), namer))
+              .fieldSetFunction(
+                  discoGapicNamer.getResourceSetterName(
+                      param.getIdentifier(), Cardinality.NOT_REPEATED, namer))
+              .build());
+    }
+    List<ResourceNamePatternPieceView> pathPieces =
+        DiscoGapicParser.getPathTemplatePieces(method.path(), pathParams);
+    if (pathPieces.isEmpty()) {
+      return;
+    }
+
+    List<HttpQueryParamView> queryParamViews = new ArrayList<>();
+    for (String queryParam : queryParams) {
+      DiscoveryField field = methodModel.getInputField(queryParam);
+      if (field.mayBeInResourceName()) {
+        // Path parameters have no getter on the request.
+        continue;
+      }
+      String fieldName = namer.privateFieldName(Name.anyCamel(field.getNameAsParameter()));
+      queryParamViews.add(
+          HttpQueryParamView.newBuilder()
+              .name(queryParam)
+              .fieldGetFunction(discoGapicNamer.getResourceGetterName(fieldName, namer))
+              .isRepeated(field.isRepeated())
+              .build());
+    }
+
+    if (hasRequestBody) {
+      String requestBodyName =
+          namer.privateFieldName(
+              Name.anyCamel(DiscoGapicParser.getMethodInputName(method).toLowerCamel()));
+      httpMethodView.requestBodyGetFunction(
+          discoGapicNamer.getResourceGetterName(requestBodyName, namer));
+    }
+    httpMethodView.resourceNameGetFunction(resourceNameGetFunction);
+    httpMethodView.pathPieces(pathPieces);
+    httpMethodView.queryParamViews(queryParamViews);
+    httpMethodView.hasJsonCodec(true);
+  }
+
   public List<ApiCallSettingsView> generateApiCallableSettings(MethodContext context) {
     List<ApiCallSettingsView> settings = new ArrayList<>();
 
@@ -306,6 +397,8 @@ public class ApiCallableTransformer {
     settings.retryCodesView(retryCodesByKey.get(methodConfig.getRetryCodesConfigName()));
     settings.retryParamsName(methodConfig.getRetrySettingsConfigName());
     settings.retryParamsView(retryParamsByKey.get(methodConfig.getRetrySettingsConfigName()));
+    settings.hedgingPolicy(retryDefinitionsTransformer.generateHedgingPolicy(context));
+    settings.compression(compressionTransformer.generateCompression(context));
     settings.visibility(namer.getVisiblityKeyword(methodConfig.getVisibility()));
 
     String notImplementedPrefix = "ApiCallableTransformer.generateApiCallableSettings - ";
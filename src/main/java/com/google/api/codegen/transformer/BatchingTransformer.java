@@ -21,6 +21,7 @@ import com.google.api.codegen.config.InterfaceContext;
 import com.google.api.codegen.config.MethodConfig;
 import com.google.api.codegen.config.MethodContext;
 import com.google.api.codegen.config.MethodModel;
+import com.google.api.codegen.config.VisibilityConfig;
 import com.google.api.codegen.viewmodel.BatchingConfigView;
 import com.google.api.codegen.viewmodel.BatchingDescriptorClassView;
 import com.google.api.codegen.viewmodel.BatchingDescriptorView;
@@ -104,11 +105,15 @@ public class BatchingTransformer {
     BatchingDescriptorClassView.Builder desc = BatchingDescriptorClassView.newBuilder();
 
     desc.name(context.getNamer().getBatchingDescriptorConstName(context.getMethodModel()));
+    desc.methodName(namer.getApiMethodName(method, VisibilityConfig.PUBLIC));
+    desc.batchingConfig(generateBatchingConfig(context));
     desc.requestTypeName(
         method.getAndSaveRequestTypeName(context.getTypeTable(), context.getNamer()));
     desc.responseTypeName(
         method.getAndSaveResponseTypeName(context.getTypeTable(), context.getNamer()));
 
+    desc.hasReturnValue(!method.isOutputTypeEmpty());
+
     desc.partitionKeys(generatePartitionKeys(context));
 
     desc.batchedFieldGetFunction(namer.getFieldGetFunctionName(batchedField));
@@ -119,6 +124,7 @@ public class BatchingTransformer {
       desc.subresponseTypeName(context.getTypeTable().getAndSaveNicknameFor(subresponseField));
       desc.subresponseByIndexGetFunction(namer.getByIndexGetFunctionName(subresponseField));
       desc.subresponseSetFunction(namer.getFieldSetFunctionName(subresponseField));
+      desc.subresponseGetFunction(namer.getFieldGetFunctionName(subresponseField));
     }
 
     return desc.build();
@@ -129,9 +135,14 @@ public class BatchingTransformer {
     BatchingConfig batching = context.getMethodConfig().getBatching();
     for (GenericFieldSelector fieldSelector : batching.getDiscriminatorFields()) {
       FieldModel selectedType = fieldSelector.getLastField();
+      ImmutableList.Builder<String> gettersChain = ImmutableList.builder();
+      for (FieldModel field : fieldSelector.getFields()) {
+        gettersChain.add(context.getNamer().getFieldGetFunctionName(field));
+      }
       BatchingPartitionKeyView key =
           BatchingPartitionKeyView.newBuilder()
               .fieldGetFunction(context.getNamer().getFieldGetFunctionName(selectedType))
+              .gettersChain(gettersChain.build())
               .build();
       keys.add(key);
     }
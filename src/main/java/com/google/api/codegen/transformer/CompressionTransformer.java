@@ -0,0 +1,53 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer;
+
+import com.google.api.codegen.config.CompressionConfig;
+import com.google.api.codegen.config.InterfaceContext;
+import com.google.api.codegen.config.MethodContext;
+import com.google.api.codegen.config.MethodModel;
+import com.google.api.codegen.viewmodel.CompressionView;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+public class CompressionTransformer {
+  /** Returns the request compression of the given method, or null if it has none. */
+  @Nullable
+  public CompressionView generateCompression(MethodContext context) {
+    CompressionConfig compression = context.getMethodConfig().getCompression();
+    if (compression == null) {
+      return null;
+    }
+    return CompressionView.newBuilder()
+        .serviceName(context.getTargetInterface().getFullName())
+        .methodName(context.getMethodModel().getSimpleName())
+        .algorithm(compression.getAlgorithm())
+        .minRequestSizeBytes(compression.getMinRequestSizeBytes())
+        .build();
+  }
+
+  /** Returns the request compression of each compressed method of the given interface. */
+  public List<CompressionView> generateCompressions(InterfaceContext context) {
+    List<CompressionView> compressions = new ArrayList<>();
+    for (MethodModel method : context.getSupportedMethods()) {
+      CompressionView compression = generateCompression(context.asRequestMethodContext(method));
+      if (compression != null) {
+        compressions.add(compression);
+      }
+    }
+    return compressions;
+  }
+}
@@ -46,6 +46,9 @@ import javax.annotation.Nullable;
 public class DynamicLangApiMethodTransformer {
   private final ApiMethodParamTransformer apiMethodParamTransformer;
   private final LongRunningTransformer lroTransformer = new LongRunningTransformer();
+  private final RetryDefinitionsTransformer retryDefinitionsTransformer =
+      new RetryDefinitionsTransformer();
+  private final CompressionTransformer compressionTransformer = new CompressionTransformer();
   private final HeaderRequestParamTransformer headerRequestParamTransformer =
       new HeaderRequestParamTransformer();
   private final PageStreamingTransformer pageStreamingTransformer = new PageStreamingTransformer();
@@ -220,6 +223,8 @@ public class DynamicLangApiMethodTransformer {
     apiMethod.oneofParams(context.getMethodConfig().getOneofNames(namer));
     apiMethod.headerRequestParams(
         headerRequestParamTransformer.generateHeaderRequestParams(context));
+    apiMethod.hedgingPolicy(retryDefinitionsTransformer.generateHedgingPolicy(context));
+    apiMethod.compression(compressionTransformer.generateCompression(context));
 
     InitCodeOutputType initCodeOutputType =
         context.getMethodModel().getRequestStreaming()
@@ -56,6 +56,7 @@ public class HeaderRequestParamTransformer {
     ImmutableList.Builder<String> gettersChain = ImmutableList.builder();
 
     MessageType subMessageType = inputMessageType;
+    ProtoField lastField = null;
     for (String fieldNameToken : fieldNameTokens) {
       Field matchingField = subMessageType.lookupField(fieldNameToken);
       if (matchingField == null) {
@@ -67,8 +68,8 @@ public class HeaderRequestParamTransformer {
                 + "'");
       }
 
-      String matchingFieldGetter = namer.getFieldGetFunctionName(new ProtoField(matchingField));
-      gettersChain.add(matchingFieldGetter);
+      lastField = new ProtoField(matchingField);
+      gettersChain.add(namer.getFieldGetFunctionName(lastField));
       if (matchingField.getType() != null && matchingField.getType().isMessage()) {
         subMessageType = matchingField.getType().getMessageType();
       }
@@ -77,7 +78,8 @@ public class HeaderRequestParamTransformer {
     HeaderRequestParamView.Builder headerParam =
         HeaderRequestParamView.newBuilder()
             .fullyQualifiedName(headerRequestParam)
-            .gettersChain(gettersChain.build());
+            .gettersChain(gettersChain.build())
+            .isStringField(lastField != null && lastField.isString() && !lastField.isRepeated());
 
     return headerParam.build();
   }
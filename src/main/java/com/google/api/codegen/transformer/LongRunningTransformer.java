@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.transformer;
 
+import com.google.api.codegen.config.FieldModel;
 import com.google.api.codegen.config.LongRunningConfig;
 import com.google.api.codegen.config.MethodConfig;
 import com.google.api.codegen.config.MethodContext;
@@ -33,7 +34,15 @@ public class LongRunningTransformer {
     String metadataTypeName =
         namer.getLongRunningOperationTypeName(context.getTypeTable(), lroConfig.getMetadataType());
 
-    return LongRunningOperationDetailView.newBuilder()
+    LongRunningOperationDetailView.Builder builder = LongRunningOperationDetailView.newBuilder();
+    FieldModel pollDelayHintField = lroConfig.getPollDelayHintField();
+    if (pollDelayHintField != null) {
+      builder
+          .pollDelayHintFieldName(pollDelayHintField.getSimpleName())
+          .pollDelayHintGetFunction(namer.getFieldGetFunctionName(pollDelayHintField));
+    }
+
+    return builder
         .methodName(namer.getApiMethodName(context.getMethodModel(), VisibilityConfig.PUBLIC))
         .constructorName(namer.getTypeConstructor(clientReturnTypeName))
         .clientReturnTypeName(clientReturnTypeName)
@@ -45,6 +54,8 @@ public class LongRunningTransformer {
         .pollDelayMultiplier(lroConfig.getPollDelayMultiplier())
         .maxPollDelay(lroConfig.getMaxPollDelay().toMillis())
         .totalPollTimeout(lroConfig.getTotalPollTimeout().toMillis())
+        .pollDelayJitter(lroConfig.getPollDelayJitter())
+        .sharedPollSchedule(lroConfig.isSharedPollSchedule())
         .build();
   }
 }
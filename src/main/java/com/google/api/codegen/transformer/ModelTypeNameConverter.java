@@ -26,12 +26,34 @@ import com.google.api.codegen.util.TypedValue;
 import com.google.api.tools.framework.model.EnumValue;
 import com.google.api.tools.framework.model.ProtoElement;
 import com.google.api.tools.framework.model.TypeRef;
+import com.google.common.collect.MapMaker;
 import com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Type;
+import java.util.concurrent.ConcurrentMap;
 
 /** ModelTypeNameConverter maps TypeRef instances to TypeName instances. */
 public abstract class ModelTypeNameConverter implements TypeNameConverter {
-  /** Provides a TypeName for the given TypeRef. */
-  public abstract TypeName getTypeName(TypeRef type);
+  private final ConcurrentMap<TypeRef, TypeName> typeNameCache =
+      new MapMaker().weakKeys().makeMap();
+
+  /**
+   * Provides a TypeName for the given TypeRef. The conversion is a pure function of the TypeRef, so
+   * the result is cached per TypeRef instance and shared between callers.
+   */
+  public final TypeName getTypeName(TypeRef type) {
+    TypeName typeName = typeNameCache.get(type);
+    if (typeName == null) {
+      // Not computeIfAbsent: creating a TypeName may recursively convert other TypeRefs.
+      typeName = createTypeName(type);
+      TypeName existing = typeNameCache.putIfAbsent(type, typeName);
+      if (existing != null) {
+        typeName = existing;
+      }
+    }
+    return typeName;
+  }
+
+  /** Creates the TypeName for the given TypeRef; see {@link #getTypeName(TypeRef)}. */
+  protected abstract TypeName createTypeName(TypeRef type);
 
   /** Provides a TypeName for the given TypeRef. */
   @Override
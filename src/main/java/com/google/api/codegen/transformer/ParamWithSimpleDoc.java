@@ -17,6 +17,7 @@ package com.google.api.codegen.transformer;
 import com.google.api.codegen.viewmodel.ParamDocView;
 import com.google.api.codegen.viewmodel.RequestObjectParamView;
 import com.google.api.codegen.viewmodel.SimpleParamDocView;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.auto.value.AutoValue;
 import java.util.ArrayList;
 import java.util.List;
@@ -88,12 +89,12 @@ public abstract class ParamWithSimpleDoc {
   }
 
   public ParamDocView asParamDocView() {
-    return SimpleParamDocView.newBuilder()
-        .paramName(name())
-        .typeName(typeName())
-        .lines(docLines())
-        .lines(docLines())
-        .build();
+    return ViewModelInterner.intern(
+        SimpleParamDocView.newBuilder()
+            .paramName(name())
+            .typeName(typeName())
+            .lines(docLines())
+            .build());
   }
 
   public static Builder newBuilder() {
@@ -25,21 +25,27 @@ import static com.google.api.codegen.configgen.transformer.RetryTransformer.RETR
 import com.google.api.codegen.InterfaceConfigProto;
 import com.google.api.codegen.MethodConfigProto;
 import com.google.api.codegen.RetryParamsDefinitionProto;
+import com.google.api.codegen.config.HedgingConfig;
 import com.google.api.codegen.config.InterfaceContext;
+import com.google.api.codegen.config.MethodContext;
 import com.google.api.codegen.util.Name;
+import com.google.api.codegen.viewmodel.HedgingPolicyView;
 import com.google.api.codegen.viewmodel.RetryCodesDefinitionView;
 import com.google.api.codegen.viewmodel.RetryParamsDefinitionView;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 /** RetryDefinitionsTransformer generates retry definitions from a service model. */
 public class RetryDefinitionsTransformer {
@@ -56,13 +62,14 @@ public class RetryDefinitionsTransformer {
       }
       Collections.sort(codeNames);
       definitions.add(
-          RetryCodesDefinitionView.newBuilder()
-              .key(retryCodesDef.getKey())
-              .name(namer.getRetryDefinitionName(retryCodesDef.getKey()))
-              .retryFilterMethodName(namer.retryFilterMethodName(retryCodesDef.getKey()))
-              .codes(retryCodesDef.getValue())
-              .codeNames(codeNames)
-              .build());
+          ViewModelInterner.intern(
+              RetryCodesDefinitionView.newBuilder()
+                  .key(retryCodesDef.getKey())
+                  .name(namer.getRetryDefinitionName(retryCodesDef.getKey()))
+                  .retryFilterMethodName(namer.retryFilterMethodName(retryCodesDef.getKey()))
+                  .codes(retryCodesDef.getValue())
+                  .codeNames(ImmutableList.copyOf(codeNames))
+                  .build()));
     }
 
     return definitions;
@@ -125,9 +132,35 @@ public class RetryDefinitionsTransformer {
       view.retryBackoffMethodName(namer.retryBackoffMethodName(retryCodesDef.getKey()));
       view.timeoutBackoffMethodName(namer.timeoutBackoffMethodName(retryCodesDef.getKey()));
       view.params(retryCodesDef.getValue());
-      definitions.add(view.build());
+      definitions.add(ViewModelInterner.intern(view.build()));
     }
 
     return definitions;
   }
+
+  /** Returns the hedging policy of the given method, or null if it has none. */
+  @Nullable
+  public HedgingPolicyView generateHedgingPolicy(MethodContext context) {
+    HedgingConfig hedging = context.getMethodConfig().getHedging();
+    if (hedging == null) {
+      return null;
+    }
+    SurfaceNamer namer = context.getNamer();
+    List<String> codeNames = new ArrayList<>();
+    for (String code : hedging.getNonFatalCodes()) {
+      codeNames.add(namer.getStatusCodeName(code));
+    }
+    return HedgingPolicyView.newBuilder()
+        .serviceName(context.getTargetInterface().getFullName())
+        .methodName(context.getMethodModel().getSimpleName())
+        .maxAttempts(hedging.getMaxAttempts())
+        .hedgingDelayMillis(hedging.getHedgingDelayMillis())
+        .hedgingDelaySeconds(
+            BigDecimal.valueOf(hedging.getHedgingDelayMillis(), 3)
+                .stripTrailingZeros()
+                .toPlainString())
+        .nonFatalCodes(hedging.getNonFatalCodes())
+        .nonFatalCodeNames(codeNames)
+        .build();
+  }
 }
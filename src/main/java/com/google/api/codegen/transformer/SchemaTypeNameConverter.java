@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.transformer;
 
+import com.google.api.codegen.config.DiscoApiModel;
 import com.google.api.codegen.config.DiscoveryField;
 import com.google.api.codegen.config.DiscoveryRequestType;
 import com.google.api.codegen.config.FieldModel;
@@ -25,6 +26,10 @@ import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.util.TypeName;
 import com.google.api.codegen.util.TypedValue;
 import com.google.api.tools.framework.model.EnumValue;
+import com.google.common.collect.MapMaker;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 /** SchemaTypeNameConverter maps Schema instances to TypeName instances. */
 public abstract class SchemaTypeNameConverter implements TypeNameConverter {
@@ -47,8 +52,45 @@ public abstract class SchemaTypeNameConverter implements TypeNameConverter {
    */
   public abstract TypeName getTypeName(DiscoveryField field);
 
-  /** Provides a TypeName for the given Schema. */
-  public abstract TypeName getTypeName(DiscoveryField type, BoxingBehavior boxingBehavior);
+  private final Map<BoxingBehavior, ConcurrentMap<Schema, CachedTypeName>> typeNameCaches =
+      createTypeNameCaches();
+
+  /**
+   * Provides a TypeName for the given Schema. The conversion only depends on the field's original
+   * Schema and API model, so the result is cached per Schema instance and shared between callers.
+   */
+  public final TypeName getTypeName(DiscoveryField type, BoxingBehavior boxingBehavior) {
+    if (type == null) {
+      return createTypeName(null, boxingBehavior);
+    }
+    ConcurrentMap<Schema, CachedTypeName> cache = typeNameCaches.get(boxingBehavior);
+    Schema schema = type.getOriginalDiscoveryField();
+    CachedTypeName cached = cache.get(schema);
+    if (cached != null && cached.apiModel == type.getDiscoApiModel()) {
+      return cached.typeName;
+    }
+    // Not computeIfAbsent: creating a TypeName may recursively convert other Schemas.
+    TypeName typeName = createTypeName(type, boxingBehavior);
+    if (cached == null) {
+      cache.putIfAbsent(schema, new CachedTypeName(type.getDiscoApiModel(), typeName));
+    }
+    return typeName;
+  }
+
+  /**
+   * Creates the TypeName for the given Schema; see {@link #getTypeName(DiscoveryField,
+   * BoxingBehavior)}.
+   */
+  protected abstract TypeName createTypeName(DiscoveryField type, BoxingBehavior boxingBehavior);
+
+  private static Map<BoxingBehavior, ConcurrentMap<Schema, CachedTypeName>> createTypeNameCaches() {
+    Map<BoxingBehavior, ConcurrentMap<Schema, CachedTypeName>> caches =
+        new EnumMap<>(BoxingBehavior.class);
+    for (BoxingBehavior boxingBehavior : BoxingBehavior.values()) {
+      caches.put(boxingBehavior, new MapMaker().weakKeys().makeMap());
+    }
+    return caches;
+  }
 
   /**
    * Provides a TypedValue containing the zero value of the given type, plus the TypeName of the
@@ -136,4 +178,14 @@ public abstract class SchemaTypeNameConverter implements TypeNameConverter {
   public String renderPrimitiveValue(FieldModel type, String value) {
     return renderPrimitiveValue(((DiscoveryField) type).getDiscoveryField(), value);
   }
+
+  private static class CachedTypeName {
+    private final DiscoApiModel apiModel;
+    private final TypeName typeName;
+
+    private CachedTypeName(DiscoApiModel apiModel, TypeName typeName) {
+      this.apiModel = apiModel;
+      this.typeName = typeName;
+    }
+  }
 }
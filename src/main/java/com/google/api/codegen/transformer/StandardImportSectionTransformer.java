@@ -21,6 +21,7 @@ import com.google.api.codegen.util.TypeAlias;
 import com.google.api.codegen.viewmodel.ImportFileView;
 import com.google.api.codegen.viewmodel.ImportSectionView;
 import com.google.api.codegen.viewmodel.ImportTypeView;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.common.collect.ImmutableList;
 import java.util.HashSet;
 import java.util.Map;
@@ -63,7 +64,11 @@ public class StandardImportSectionTransformer implements ImportSectionTransforme
       imp.nickname(alias.getNickname());
       imp.type(alias.getImportType());
 
-      appImports.add(ImportFileView.newBuilder().types(ImmutableList.of(imp.build())).build());
+      appImports.add(
+          ViewModelInterner.intern(
+              ImportFileView.newBuilder()
+                  .types(ImmutableList.of(ViewModelInterner.intern(imp.build())))
+                  .build()));
     }
     return ImportSectionView.newBuilder().appImports(appImports.build()).build();
   }
@@ -55,6 +55,9 @@ import java.util.List;
  */
 public class StaticLangApiMethodTransformer {
   private final LongRunningTransformer lroTransformer = new LongRunningTransformer();
+  private final RetryDefinitionsTransformer retryDefinitionsTransformer =
+      new RetryDefinitionsTransformer();
+  private final CompressionTransformer compressionTransformer = new CompressionTransformer();
   private final StaticLangResourceObjectTransformer resourceObjectTransformer =
       new StaticLangResourceObjectTransformer();
   private final HeaderRequestParamTransformer headerRequestParamTransformer =
@@ -643,6 +646,8 @@ public class StaticLangApiMethodTransformer {
     }
     methodViewBuilder.headerRequestParams(
         headerRequestParamTransformer.generateHeaderRequestParams(context));
+    methodViewBuilder.hedgingPolicy(retryDefinitionsTransformer.generateHedgingPolicy(context));
+    methodViewBuilder.compression(compressionTransformer.generateCompression(context));
   }
 
   protected void setServiceResponseTypeName(
@@ -702,6 +707,7 @@ public class StaticLangApiMethodTransformer {
             .iterateMethodName(iterateMethodName)
             .resourceFieldName(resourceFieldName)
             .resourcesFieldGetFunction(resourceFieldGetterName)
+            .prefetchDepth(pageStreaming.getPrefetchDepth())
             .build());
 
     switch (synchronicity) {
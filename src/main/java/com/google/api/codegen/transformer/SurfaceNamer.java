@@ -1487,6 +1487,21 @@ public class SurfaceNamer extends NameFormatterDelegator {
     return publicClassName(Name.anyCamel(getInterfaceName(interfaceConfig), "Client", "Test"));
   }
 
+  /** The benchmark class name for the given API interface. */
+  public String getBenchmarkClassName(InterfaceConfig interfaceConfig) {
+    return publicClassName(Name.anyCamel(getInterfaceName(interfaceConfig), "Client", "Benchmark"));
+  }
+
+  /** The benchmark name for the given method. */
+  public String getBenchmarkName(SymbolTable symbolTable, MethodModel method) {
+    return publicMethodName(symbolTable.getNewSymbol(method.asName()));
+  }
+
+  /** The name of the class which prepares the mocks before each call of a benchmark. */
+  public String getBenchmarkStateClassName(SymbolTable symbolTable, MethodModel method) {
+    return publicClassName(symbolTable.getNewSymbol(method.asName().join("state")));
+  }
+
   /** The smoke test class name for the given API interface. */
   public String getSmokeTestClassName(InterfaceConfig interfaceConfig) {
     return publicClassName(Name.upperCamel(getInterfaceName(interfaceConfig), "Smoke", "Test"));
@@ -352,6 +352,7 @@ public class CSharpGapicClientTransformer implements ModelToViewTransformer<Prot
     settingsClass.serviceHostname(
         productServiceConfig.getServiceHostname(context.getServiceAddress()));
     settingsClass.servicePort(productServiceConfig.getServicePort(context.getServiceAddress()));
+    settingsClass.channelConfig(context.getInterfaceConfig().getChannelConfig());
     settingsClass.authScopes(model.getAuthScopes(context.getProductConfig()));
     settingsClass.callSettings(generateCallSettings(context));
     settingsClass.pageStreamingDescriptors(
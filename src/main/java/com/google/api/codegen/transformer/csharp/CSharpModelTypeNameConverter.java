@@ -103,7 +103,7 @@ public class CSharpModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       TypeName mapTypeName =
           typeNameConverter.getTypeName("System.Collections.Generic.IDictionary");
@@ -0,0 +1,150 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer.go;
+
+import com.google.api.codegen.config.GapicInterfaceContext;
+import com.google.api.codegen.config.GapicMethodContext;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.InterfaceModel;
+import com.google.api.codegen.config.MethodModel;
+import com.google.api.codegen.config.ProtoApiModel;
+import com.google.api.codegen.metacode.InitCodeContext;
+import com.google.api.codegen.metacode.InitCodeContext.InitCodeOutputType;
+import com.google.api.codegen.transformer.DefaultFeatureConfig;
+import com.google.api.codegen.transformer.FeatureConfig;
+import com.google.api.codegen.transformer.FileHeaderTransformer;
+import com.google.api.codegen.transformer.InitCodeTransformer;
+import com.google.api.codegen.transformer.ModelToViewTransformer;
+import com.google.api.codegen.transformer.ModelTypeTable;
+import com.google.api.codegen.transformer.SurfaceNamer;
+import com.google.api.codegen.transformer.TestCaseTransformer;
+import com.google.api.codegen.util.SymbolTable;
+import com.google.api.codegen.util.testing.StandardValueProducer;
+import com.google.api.codegen.util.testing.TestValueGenerator;
+import com.google.api.codegen.util.testing.ValueProducer;
+import com.google.api.codegen.viewmodel.ClientMethodType;
+import com.google.api.codegen.viewmodel.ImportSectionView;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.codegen.viewmodel.testing.ClientTestClassView;
+import com.google.api.codegen.viewmodel.testing.MockCombinedView;
+import com.google.api.codegen.viewmodel.testing.TestCaseView;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Transforms a ProtoApiModel into benchmarks of the API clients for Go. The benchmarks share the
+ * package of the unit tests and call the mock servers those tests start in TestMain.
+ */
+public class GoGapicBenchmarkTransformer implements ModelToViewTransformer<ProtoApiModel> {
+  private static final String BENCHMARK_TEMPLATE_FILE = "go/bench.snip";
+
+  private final ValueProducer valueProducer = new StandardValueProducer();
+  private final GoImportSectionTransformer importSectionTransformer =
+      new GoImportSectionTransformer();
+  private final FileHeaderTransformer fileHeaderTransformer =
+      new FileHeaderTransformer(importSectionTransformer);
+  private final FeatureConfig featureConfig = new DefaultFeatureConfig();
+  private final TestValueGenerator valueGenerator = new TestValueGenerator(valueProducer);
+  private final InitCodeTransformer initCodeTransformer = new InitCodeTransformer();
+  private final TestCaseTransformer testCaseTransformer = new TestCaseTransformer(valueProducer);
+
+  @Override
+  public List<String> getTemplateFileNames() {
+    return Collections.singletonList(BENCHMARK_TEMPLATE_FILE);
+  }
+
+  @Override
+  public List<ViewModel> transform(ProtoApiModel model, GapicProductConfig productConfig) {
+    GoSurfaceNamer namer = new GoSurfaceNamer(productConfig.getPackageName());
+    ModelTypeTable typeTable = GoGapicSurfaceTransformer.createTypeTable();
+    typeTable.saveNicknameFor("context;;;");
+    typeTable.saveNicknameFor("fmt;;;");
+    typeTable.saveNicknameFor("testing;;;");
+
+    List<ClientTestClassView> benchmarkClasses = new ArrayList<>();
+    SymbolTable benchmarkNameTable = new SymbolTable();
+    for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
+      if (!productConfig.hasInterfaceConfig(apiInterface)) {
+        continue;
+      }
+
+      GapicInterfaceContext context =
+          GapicInterfaceContext.create(
+              apiInterface, productConfig, typeTable, namer, featureConfig);
+      benchmarkClasses.add(
+          ClientTestClassView.newBuilder()
+              .apiSettingsClassName(
+                  namer.getNotImplementedString(
+                      "GoGapicBenchmarkTransformer.transform - apiSettingsClassName"))
+              .apiClassName(namer.getApiWrapperClassName(context.getInterfaceConfig()))
+              .name(namer.getNotImplementedString("GoGapicBenchmarkTransformer.transform - name"))
+              .testCases(createBenchmarkCaseViews(context, benchmarkNameTable))
+              .missingDefaultServiceAddress(
+                  !context.getInterfaceConfig().hasDefaultServiceAddress())
+              .missingDefaultServiceScopes(!context.getInterfaceConfig().hasDefaultServiceScopes())
+              .mockServices(Collections.emptyList())
+              .build());
+    }
+
+    ImportSectionView importSection =
+        importSectionTransformer.generateImportSection(typeTable.getImports());
+    MockCombinedView benchmarkFile =
+        MockCombinedView.newBuilder()
+            .outputPath(productConfig.getPackageName() + File.separator + "bench_test.go")
+            .serviceImpls(Collections.emptyList())
+            .testClasses(benchmarkClasses)
+            .templateFileName(BENCHMARK_TEMPLATE_FILE)
+            .fileHeader(
+                fileHeaderTransformer.generateFileHeader(productConfig, importSection, namer))
+            .mockServices(Collections.emptyList())
+            .build();
+    return Collections.singletonList(benchmarkFile);
+  }
+
+  private List<TestCaseView> createBenchmarkCaseViews(
+      GapicInterfaceContext context, SymbolTable benchmarkNameTable) {
+    List<TestCaseView> benchmarkCaseViews = new ArrayList<>();
+    SymbolTable testNameTable = new SymbolTable();
+    SurfaceNamer namer = context.getNamer();
+    for (MethodModel method : context.getSupportedMethods()) {
+      GapicMethodContext methodContext = context.asRequestMethodContext(method);
+      ClientMethodType clientMethodType = ClientMethodType.RequestObjectMethod;
+      if (methodContext.getMethodConfig().isPageStreaming()) {
+        clientMethodType = ClientMethodType.PagedRequestObjectMethod;
+      } else if (methodContext.isLongRunningMethodContext()) {
+        clientMethodType = ClientMethodType.OperationRequestObjectMethod;
+        context
+            .getImportTypeTable()
+            .saveNicknameFor("google.golang.org/genproto/googleapis/longrunning;longrunningpb;;");
+        context.getImportTypeTable().saveNicknameFor("github.com/golang/protobuf/ptypes;;;");
+      }
+      InitCodeContext initCodeContext =
+          initCodeTransformer.createRequestInitCodeContext(
+              methodContext,
+              new SymbolTable(),
+              methodContext.getMethodConfig().getRequiredFieldConfigs(),
+              InitCodeOutputType.SingleObject,
+              valueGenerator);
+      TestCaseView testCase =
+          testCaseTransformer.createTestCaseView(
+              methodContext, testNameTable, initCodeContext, clientMethodType);
+      benchmarkCaseViews.add(
+          testCase.toBuilder().name(namer.getBenchmarkName(benchmarkNameTable, method)).build());
+    }
+    return benchmarkCaseViews;
+  }
+}
@@ -16,12 +16,14 @@ package com.google.api.codegen.transformer.go;
 
 import com.google.api.codegen.RetryParamsDefinitionProto;
 import com.google.api.codegen.config.ApiModel;
+import com.google.api.codegen.config.ChannelConfig;
 import com.google.api.codegen.config.GapicInterfaceConfig;
 import com.google.api.codegen.config.GapicInterfaceContext;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.InterfaceConfig;
 import com.google.api.codegen.config.InterfaceContext;
 import com.google.api.codegen.config.InterfaceModel;
+import com.google.api.codegen.config.LongRunningConfig;
 import com.google.api.codegen.config.MethodConfig;
 import com.google.api.codegen.config.MethodContext;
 import com.google.api.codegen.config.MethodModel;
@@ -31,6 +33,7 @@ import com.google.api.codegen.config.ProtoApiModel;
 import com.google.api.codegen.config.ProtoInterfaceModel;
 import com.google.api.codegen.gapic.GapicCodePathMapper;
 import com.google.api.codegen.transformer.ApiCallableTransformer;
+import com.google.api.codegen.transformer.BatchingTransformer;
 import com.google.api.codegen.transformer.DefaultFeatureConfig;
 import com.google.api.codegen.transformer.FeatureConfig;
 import com.google.api.codegen.transformer.FileHeaderTransformer;
@@ -90,6 +93,7 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
       new FileHeaderTransformer(new GoImportSectionTransformer());
   private final GrpcStubTransformer grpcStubTransformer = new GrpcStubTransformer();
   private final PageStreamingTransformer pageStreamingTransformer = new PageStreamingTransformer();
+  private final BatchingTransformer batchingTransformer = new BatchingTransformer();
   private final PathTemplateTransformer pathTemplateTransformer = new PathTemplateTransformer();
   private final ServiceTransformer serviceTransformer = new ServiceTransformer();
   private final ProductServiceConfig productServiceConfig = new ProductServiceConfig();
@@ -161,8 +165,12 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
     List<StaticLangApiMethodView> apiMethods =
         generateApiMethods(context, context.getSupportedMethods());
     view.apiMethods(apiMethods);
-    // If any methods have header request params, "fmt" is needed for `fmt.Sprintf` calls.
-    if (apiMethods.stream().anyMatch(m -> !m.headerRequestParams().isEmpty())) {
+    // If any methods have non-string header request params, "fmt" is needed for `fmt.Sprint`
+    // calls.
+    if (apiMethods
+        .stream()
+        .flatMap(m -> m.headerRequestParams().stream())
+        .anyMatch(p -> !p.isStringField())) {
       context.getImportTypeTable().saveNicknameFor("fmt;;;");
     }
 
@@ -185,8 +193,16 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
     }
     view.lroDetailViews(new ArrayList<>(lros.values()));
 
+    view.batchingDescriptors(batchingTransformer.generateDescriptorClasses(context));
+
     view.serviceHostname(productServiceConfig.getServiceHostname(context.getServiceAddress()));
     view.servicePort(productServiceConfig.getServicePort(context.getServiceAddress()));
+    ChannelConfig channelConfig = context.getInterfaceConfig().getChannelConfig();
+    view.channelConfig(channelConfig);
+    if (channelConfig != null && channelConfig.hasKeepAlive()) {
+      context.getImportTypeTable().saveNicknameFor("time;;;");
+      context.getImportTypeTable().saveNicknameFor("google.golang.org/grpc/keepalive;;;");
+    }
 
     view.stubs(grpcStubTransformer.generateGrpcStubs(context));
 
@@ -372,11 +388,34 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
         kinds.add(ImportKind.SERVER_STREAM);
       }
       MethodConfig methodConfig = interfaceContext.getMethodConfig(method);
-      if (interfaceContext.asRequestMethodContext(method).isLongRunningMethodContext()) {
+      MethodContext methodContext = interfaceContext.asRequestMethodContext(method);
+      if (methodContext.isLongRunningMethodContext()) {
         kinds.add(ImportKind.LRO);
+        LongRunningConfig lroConfig = methodContext.getLongRunningConfig();
+        if (lroConfig.getPollDelayJitter() > 0) {
+          kinds.add(ImportKind.LRO_JITTER);
+        }
+        if (lroConfig.getPollDelayHintField() != null) {
+          kinds.add(ImportKind.LRO_HINT);
+        }
       }
       if (methodConfig.isPageStreaming()) {
         kinds.add(ImportKind.PAGE_STREAM);
+        if (methodConfig.getPageStreaming().hasPrefetch()) {
+          kinds.add(ImportKind.PAGE_PREFETCH);
+        }
+      }
+      if (methodConfig.isBatching()) {
+        kinds.add(ImportKind.BATCHING);
+      }
+      if (methodConfig.isHedging()) {
+        kinds.add(ImportKind.HEDGING);
+      }
+      if (methodConfig.isCompressed()) {
+        kinds.add(ImportKind.COMPRESSION);
+        if (methodConfig.getCompression().getMinRequestSizeBytes() > 0) {
+          kinds.add(ImportKind.COMPRESSION_THRESHOLD);
+        }
       }
     }
     return kinds;
@@ -396,8 +435,15 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
 
   private enum ImportKind {
     PAGE_STREAM,
+    PAGE_PREFETCH,
     LRO,
+    LRO_JITTER,
+    LRO_HINT,
     SERVER_STREAM,
+    BATCHING,
+    HEDGING,
+    COMPRESSION,
+    COMPRESSION_THRESHOLD,
   }
 
   private static final ImmutableTable<ImportContext, ImportKind, ImmutableList<String>>
@@ -410,6 +456,7 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
                       "math;;;",
                       "google.golang.org/api/iterator;;;",
                       "github.com/golang/protobuf/proto;;;"))
+              .put(ImportContext.CLIENT, ImportKind.PAGE_PREFETCH, ImmutableList.of("sync;;;"))
               .put(
                   ImportContext.EXAMPLE,
                   ImportKind.PAGE_STREAM,
@@ -421,9 +468,39 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
                       "time;;;",
                       "cloud.google.com/go/longrunning;;;",
                       "cloud.google.com/go/longrunning/autogen;lroauto;;"))
+              .put(ImportContext.CLIENT, ImportKind.LRO_JITTER, ImmutableList.of("math/rand;;;"))
+              .put(
+                  ImportContext.CLIENT,
+                  ImportKind.LRO_HINT,
+                  ImmutableList.of("github.com/golang/protobuf/ptypes;;;"))
               .put(
                   ImportContext.EXAMPLE,
                   ImportKind.SERVER_STREAM,
                   ImmutableList.<String>of("io;;;"))
+              .put(
+                  ImportContext.CLIENT,
+                  ImportKind.BATCHING,
+                  ImmutableList.<String>of(
+                      "fmt;;;",
+                      "sync;;;",
+                      "time;;;",
+                      "google.golang.org/api/support/bundler;;;",
+                      "github.com/golang/protobuf/proto;;;"))
+              .put(
+                  ImportContext.CLIENT,
+                  ImportKind.HEDGING,
+                  ImmutableList.<String>of(
+                      "time;;;",
+                      "google.golang.org/grpc/codes;;;",
+                      "google.golang.org/grpc/status;;;",
+                      "github.com/golang/protobuf/proto;;;"))
+              .put(
+                  ImportContext.CLIENT,
+                  ImportKind.COMPRESSION,
+                  ImmutableList.of("google.golang.org/grpc/encoding/gzip;;;"))
+              .put(
+                  ImportContext.CLIENT,
+                  ImportKind.COMPRESSION_THRESHOLD,
+                  ImmutableList.of("github.com/golang/protobuf/proto;;;"))
               .build();
 }
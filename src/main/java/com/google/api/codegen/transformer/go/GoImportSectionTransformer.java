@@ -22,6 +22,7 @@ import com.google.api.codegen.util.TypeAlias;
 import com.google.api.codegen.viewmodel.ImportFileView;
 import com.google.api.codegen.viewmodel.ImportSectionView;
 import com.google.api.codegen.viewmodel.ImportTypeView;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.common.collect.ImmutableList;
 import java.util.Map;
 
@@ -48,7 +49,11 @@ public class GoImportSectionTransformer implements ImportSectionTransformer {
       imp.type(alias.getImportType());
       ImmutableList.Builder<ImportFileView> target =
           isStandardImport(importPath) ? standardImports : externalImports;
-      target.add(ImportFileView.newBuilder().types(ImmutableList.of(imp.build())).build());
+      target.add(
+          ViewModelInterner.intern(
+              ImportFileView.newBuilder()
+                  .types(ImmutableList.of(ViewModelInterner.intern(imp.build())))
+                  .build()));
     }
     return ImportSectionView.newBuilder()
         .standardImports(standardImports.build())
@@ -56,12 +61,11 @@ public class GoImportSectionTransformer implements ImportSectionTransformer {
         .build();
   }
 
-  private boolean isStandardImport(String importPath) {
-    // TODO(pongad): Some packages in standard library have slashes,
-    // we might have to special case them.
-    if (importPath.equals("net/http")) {
-      return true;
-    }
-    return !importPath.contains("/");
+  static boolean isStandardImport(String importPath) {
+    // Like goimports, treat a path whose first element has no dot, such as "math/rand", as part of
+    // the standard library.
+    int slash = importPath.indexOf('/');
+    String firstElement = slash < 0 ? importPath : importPath.substring(0, slash);
+    return !firstElement.contains(".");
   }
 }
@@ -66,7 +66,7 @@ public class GoModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       TypeName keyTypeName = getTypeNameForElementType(type.getMapKeyField().getType());
       TypeName valueTypeName = getTypeNameForElementType(type.getMapValueField().getType());
@@ -403,6 +403,14 @@ public class GoSurfaceNamer extends SurfaceNamer {
     return publicMethodName(testCaseName);
   }
 
+  @Override
+  public String getBenchmarkName(SymbolTable symbolTable, MethodModel method) {
+    Name benchmarkName =
+        symbolTable.getNewSymbol(
+            Name.upperCamel("Benchmark", method.getParentSimpleName(), method.getSimpleName()));
+    return publicMethodName(benchmarkName);
+  }
+
   @Override
   public String getExceptionTestCaseName(SymbolTable symbolTable, MethodModel method) {
     Name testCaseName =
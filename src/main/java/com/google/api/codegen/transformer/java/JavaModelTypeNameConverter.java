@@ -93,7 +93,7 @@ public class JavaModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       TypeName mapTypeName = typeNameConverter.getTypeName("java.util.Map");
       TypeName keyTypeName = getTypeNameForElementType(type.getMapKeyField().getType(), true);
@@ -195,7 +195,7 @@ public class JavaSchemaTypeNameConverter extends SchemaTypeNameConverter {
    *     <p>This method will be recursively called on the given schema's children.
    */
   @Override
-  public TypeName getTypeName(DiscoveryField field, BoxingBehavior boxingBehavior) {
+  protected TypeName createTypeName(DiscoveryField field, BoxingBehavior boxingBehavior) {
     TypeName elementTypeName = getTypeNameForElementType(field, BoxingBehavior.BOX_PRIMITIVES);
     if (field == null) {
       return elementTypeName;
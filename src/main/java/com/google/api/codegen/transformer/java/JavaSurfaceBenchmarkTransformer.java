@@ -0,0 +1,301 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer.java;
+
+import com.google.api.codegen.config.ApiModel;
+import com.google.api.codegen.config.FlatteningConfig;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.GrpcStreamingConfig.GrpcStreamingType;
+import com.google.api.codegen.config.InterfaceContext;
+import com.google.api.codegen.config.InterfaceModel;
+import com.google.api.codegen.config.MethodConfig;
+import com.google.api.codegen.config.MethodContext;
+import com.google.api.codegen.config.MethodModel;
+import com.google.api.codegen.config.TransportProtocol;
+import com.google.api.codegen.gapic.GapicCodePathMapper;
+import com.google.api.codegen.metacode.InitCodeContext;
+import com.google.api.codegen.metacode.InitCodeContext.InitCodeOutputType;
+import com.google.api.codegen.transformer.FileHeaderTransformer;
+import com.google.api.codegen.transformer.ImportTypeTable;
+import com.google.api.codegen.transformer.InitCodeTransformer;
+import com.google.api.codegen.transformer.MockServiceTransformer;
+import com.google.api.codegen.transformer.ModelToViewTransformer;
+import com.google.api.codegen.transformer.StandardImportSectionTransformer;
+import com.google.api.codegen.transformer.SurfaceNamer;
+import com.google.api.codegen.transformer.SurfaceTransformer;
+import com.google.api.codegen.transformer.TestCaseTransformer;
+import com.google.api.codegen.util.SymbolTable;
+import com.google.api.codegen.util.TypeAlias;
+import com.google.api.codegen.util.testing.StandardValueProducer;
+import com.google.api.codegen.util.testing.TestValueGenerator;
+import com.google.api.codegen.util.testing.ValueProducer;
+import com.google.api.codegen.viewmodel.ClientMethodType;
+import com.google.api.codegen.viewmodel.FileHeaderView;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.codegen.viewmodel.testing.ClientTestClassView;
+import com.google.api.codegen.viewmodel.testing.ClientTestFileView;
+import com.google.api.codegen.viewmodel.testing.TestCaseView;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A ModelToViewTransformer which translates an ApiModel into JMH benchmarks of the API clients in
+ * Java. Each benchmark calls one method of a client connected to the in-process mock services
+ * generated by {@link JavaSurfaceTestTransformer}.
+ */
+public class JavaSurfaceBenchmarkTransformer<ApiModelT extends ApiModel>
+    implements ModelToViewTransformer<ApiModelT> {
+
+  private static final String BENCHMARK_TEMPLATE_FILE = "java/benchmark.snip";
+
+  private final SurfaceTransformer surfaceTransformer;
+  private final GapicCodePathMapper pathMapper;
+  private final MockServiceTransformer mockServiceTransformer = new MockServiceTransformer();
+  private final InitCodeTransformer initCodeTransformer = new InitCodeTransformer();
+  private final FileHeaderTransformer fileHeaderTransformer =
+      new FileHeaderTransformer(new StandardImportSectionTransformer());
+  private final ValueProducer valueProducer = new StandardValueProducer();
+  private final TestValueGenerator valueGenerator = new TestValueGenerator(valueProducer);
+  private final TestCaseTransformer testCaseTransformer = new TestCaseTransformer(valueProducer);
+
+  public JavaSurfaceBenchmarkTransformer(
+      GapicCodePathMapper javaPathMapper, SurfaceTransformer surfaceTransformer) {
+    this.surfaceTransformer = surfaceTransformer;
+    this.pathMapper = javaPathMapper;
+  }
+
+  @Override
+  public List<String> getTemplateFileNames() {
+    return Collections.singletonList(BENCHMARK_TEMPLATE_FILE);
+  }
+
+  @Override
+  public List<ViewModel> transform(ApiModelT model, GapicProductConfig productConfig) {
+    List<ViewModel> views = new ArrayList<>();
+    if (!productConfig.getTransportProtocol().equals(TransportProtocol.GRPC)) {
+      // The generated mock services only exist for gRPC.
+      return views;
+    }
+
+    SurfaceNamer namer = surfaceTransformer.createSurfaceNamer(productConfig);
+    for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
+      if (!productConfig.hasInterfaceConfig(apiInterface)) {
+        continue;
+      }
+
+      ImportTypeTable typeTable =
+          surfaceTransformer.createTypeTable(productConfig.getPackageName());
+      InterfaceContext context =
+          surfaceTransformer.createInterfaceContext(apiInterface, productConfig, namer, typeTable);
+      List<TestCaseView> benchmarkCaseViews = createBenchmarkCaseViews(context);
+      if (benchmarkCaseViews.isEmpty()) {
+        // An empty JMH class would only add a file without anything to measure.
+        continue;
+      }
+      views.add(createBenchmarkFileView(context, benchmarkCaseViews));
+    }
+    return views;
+  }
+
+  private ClientTestFileView createBenchmarkFileView(
+      InterfaceContext context, List<TestCaseView> benchmarkCaseViews) {
+    addBenchmarkImports(context, benchmarkCaseViews);
+
+    String outputPath =
+        pathMapper.getOutputPath(
+            context.getInterfaceModel().getFullName(), context.getProductConfig());
+    SurfaceNamer namer = context.getNamer();
+    String name = namer.getBenchmarkClassName(context.getInterfaceConfig());
+
+    ClientTestClassView.Builder benchmarkClass = ClientTestClassView.newBuilder();
+    benchmarkClass.apiSettingsClassName(
+        namer.getApiSettingsClassName(context.getInterfaceConfig()));
+    benchmarkClass.apiClassName(namer.getApiWrapperClassName(context.getInterfaceConfig()));
+    benchmarkClass.name(name);
+    benchmarkClass.testCases(benchmarkCaseViews);
+    benchmarkClass.mockServices(
+        mockServiceTransformer.createMockServices(
+            context.getNamer(), context.getApiModel(), context.getProductConfig()));
+    benchmarkClass.missingDefaultServiceAddress(
+        !context.getInterfaceConfig().hasDefaultServiceAddress());
+    benchmarkClass.missingDefaultServiceScopes(
+        !context.getInterfaceConfig().hasDefaultServiceScopes());
+
+    ClientTestFileView.Builder benchmarkFile = ClientTestFileView.newBuilder();
+    benchmarkFile.testClass(benchmarkClass.build());
+    benchmarkFile.outputPath(namer.getSourceFilePath(outputPath, name));
+    benchmarkFile.templateFileName(BENCHMARK_TEMPLATE_FILE);
+
+    // Imports must be done as the last step to catch all imports.
+    FileHeaderView fileHeader = fileHeaderTransformer.generateFileHeader(context);
+    benchmarkFile.fileHeader(fileHeader);
+
+    return benchmarkFile.build();
+  }
+
+  /**
+   * Creates one benchmark per method. Flattened methods are benchmarked through their first
+   * flattening; methods which the unit tests do not cover are skipped.
+   */
+  private List<TestCaseView> createBenchmarkCaseViews(InterfaceContext context) {
+    List<TestCaseView> benchmarkCaseViews = new ArrayList<>();
+    SymbolTable testNameTable = new SymbolTable();
+    SymbolTable benchmarkNameTable = new SymbolTable();
+    SymbolTable stateClassNameTable = new SymbolTable();
+    for (MethodModel method : context.getSupportedMethods()) {
+      MethodConfig methodConfig = context.getMethodConfig(method);
+      MethodContext methodContext = context.asRequestMethodContext(method);
+      TestCaseView testCase;
+      if (methodConfig.isGrpcStreaming()) {
+        if (methodConfig.getGrpcStreamingType() == GrpcStreamingType.ClientStreaming) {
+          continue;
+        }
+        addGrpcStreamingImports(context, methodConfig.getGrpcStreamingType());
+        InitCodeContext initCodeContext =
+            initCodeTransformer.createRequestInitCodeContext(
+                methodContext,
+                new SymbolTable(),
+                methodConfig.getRequiredFieldConfigs(),
+                InitCodeOutputType.SingleObject,
+                valueGenerator);
+        testCase =
+            testCaseTransformer.createTestCaseView(
+                methodContext, testNameTable, initCodeContext, ClientMethodType.CallableMethod);
+      } else if (methodConfig.isFlattening() && !methodConfig.getFlatteningConfigs().isEmpty()) {
+        ClientMethodType clientMethodType;
+        if (methodConfig.isPageStreaming()) {
+          clientMethodType = ClientMethodType.PagedFlattenedMethod;
+        } else if (methodContext.isLongRunningMethodContext()) {
+          clientMethodType = ClientMethodType.AsyncOperationFlattenedMethod;
+        } else {
+          clientMethodType = ClientMethodType.FlattenedMethod;
+        }
+        FlatteningConfig flatteningGroup = methodConfig.getFlatteningConfigs().get(0);
+        methodContext = context.asFlattenedMethodContext(methodContext, flatteningGroup);
+        if (FlatteningConfig.hasAnyRepeatedResourceNameParameter(flatteningGroup)) {
+          methodContext = methodContext.withResourceNamesInSamplesOnly();
+        }
+        testCase = createFlattenedCaseView(context, methodContext, testNameTable, clientMethodType);
+      } else {
+        continue;
+      }
+      benchmarkCaseViews.add(
+          testCase
+              .toBuilder()
+              .name(context.getNamer().getBenchmarkName(benchmarkNameTable, method))
+              .benchmarkStateClassName(
+                  context.getNamer().getBenchmarkStateClassName(stateClassNameTable, method))
+              .build());
+    }
+    return benchmarkCaseViews;
+  }
+
+  /**
+   * Creates the view of a flattened benchmark. A flattened call never names the request message, so
+   * the view is created on a scratch type table, and every import except the request type is copied
+   * into the file's table. If a copied name clashes there, the view is created again on the file's
+   * table, which keeps every name right at the cost of an unused import.
+   */
+  private TestCaseView createFlattenedCaseView(
+      InterfaceContext context,
+      MethodContext methodContext,
+      SymbolTable testNameTable,
+      ClientMethodType clientMethodType) {
+    ImportTypeTable typeTable = context.getImportTypeTable();
+    MethodContext scratchContext = methodContext.cloneWithEmptyTypeTable();
+    TestCaseView testCase =
+        testCaseTransformer.createTestCaseView(
+            scratchContext,
+            testNameTable,
+            createFlattenedInitCodeContext(scratchContext),
+            clientMethodType);
+    String requestTypeFullName =
+        methodContext.getMethodModel().getInputTypeName(typeTable).getFullName();
+    boolean clashes = false;
+    for (TypeAlias alias : scratchContext.getTypeTable().getImports().values()) {
+      if (!alias.getFullName().equals(requestTypeFullName)
+          && !typeTable.getAndSaveNicknameFor(alias).equals(alias.getNickname())) {
+        clashes = true;
+      }
+    }
+    if (!clashes) {
+      return testCase;
+    }
+    return testCaseTransformer.createTestCaseView(
+        methodContext,
+        testNameTable,
+        createFlattenedInitCodeContext(methodContext),
+        clientMethodType);
+  }
+
+  private InitCodeContext createFlattenedInitCodeContext(MethodContext methodContext) {
+    return initCodeTransformer.createRequestInitCodeContext(
+        methodContext,
+        new SymbolTable(),
+        methodContext.getFlatteningConfig().getFlattenedFieldConfigs().values(),
+        InitCodeOutputType.FieldList,
+        valueGenerator);
+  }
+
+  private void addBenchmarkImports(
+      InterfaceContext context, List<TestCaseView> benchmarkCaseViews) {
+    ImportTypeTable typeTable = context.getImportTypeTable();
+    typeTable.saveNicknameFor("com.google.api.gax.core.NoCredentialsProvider");
+    typeTable.saveNicknameFor("com.google.api.gax.grpc.testing.MockGrpcService");
+    typeTable.saveNicknameFor("com.google.api.gax.grpc.testing.MockServiceHelper");
+    typeTable.saveNicknameFor("java.io.IOException");
+    typeTable.saveNicknameFor("java.util.Arrays");
+    typeTable.saveNicknameFor("java.util.concurrent.TimeUnit");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.Benchmark");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.BenchmarkMode");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.Level");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.Mode");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.OutputTimeUnit");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.Scope");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.Setup");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.State");
+    typeTable.saveNicknameFor("org.openjdk.jmh.annotations.TearDown");
+    for (TestCaseView benchmarkCase : benchmarkCaseViews) {
+      switch (benchmarkCase.clientMethodType()) {
+        case PagedFlattenedMethod:
+          typeTable.saveNicknameFor("com.google.common.collect.Lists");
+          break;
+        case AsyncOperationFlattenedMethod:
+          typeTable.saveNicknameFor("com.google.longrunning.Operation");
+          typeTable.saveNicknameFor("com.google.protobuf.Any");
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private void addGrpcStreamingImports(InterfaceContext context, GrpcStreamingType streamingType) {
+    ImportTypeTable typeTable = context.getImportTypeTable();
+    typeTable.saveNicknameFor("com.google.api.gax.grpc.testing.MockStreamObserver");
+    switch (streamingType) {
+      case BidiStreaming:
+        typeTable.saveNicknameFor("com.google.api.gax.rpc.ApiStreamObserver");
+        typeTable.saveNicknameFor("com.google.api.gax.rpc.BidiStreamingCallable");
+        break;
+      case ServerStreaming:
+        typeTable.saveNicknameFor("com.google.api.gax.rpc.ServerStreamingCallable");
+        break;
+      default:
+        throw new IllegalArgumentException("Invalid streaming type: " + streamingType);
+    }
+  }
+}
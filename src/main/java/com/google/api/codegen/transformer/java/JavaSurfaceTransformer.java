@@ -16,6 +16,7 @@ package com.google.api.codegen.transformer.java;
 
 import com.google.api.codegen.ReleaseLevel;
 import com.google.api.codegen.config.ApiModel;
+import com.google.api.codegen.config.ChannelConfig;
 import com.google.api.codegen.config.FieldConfig;
 import com.google.api.codegen.config.FieldModel;
 import com.google.api.codegen.config.GapicProductConfig;
@@ -26,12 +27,14 @@ import com.google.api.codegen.config.InterfaceContext;
 import com.google.api.codegen.config.InterfaceModel;
 import com.google.api.codegen.config.MethodContext;
 import com.google.api.codegen.config.MethodModel;
+import com.google.api.codegen.config.PageStreamingConfig;
 import com.google.api.codegen.config.ProductServiceConfig;
 import com.google.api.codegen.config.SampleSpec.SampleType;
 import com.google.api.codegen.config.TransportProtocol;
 import com.google.api.codegen.gapic.GapicCodePathMapper;
 import com.google.api.codegen.transformer.ApiCallableTransformer;
 import com.google.api.codegen.transformer.BatchingTransformer;
+import com.google.api.codegen.transformer.CompressionTransformer;
 import com.google.api.codegen.transformer.FileHeaderTransformer;
 import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.PageStreamingTransformer;
@@ -44,8 +47,11 @@ import com.google.api.codegen.transformer.SurfaceTransformer;
 import com.google.api.codegen.util.TypeAlias;
 import com.google.api.codegen.viewmodel.ApiCallSettingsView;
 import com.google.api.codegen.viewmodel.ApiMethodView;
+import com.google.api.codegen.viewmodel.ChannelProviderCallView;
 import com.google.api.codegen.viewmodel.ClientMethodType;
+import com.google.api.codegen.viewmodel.CompressionView;
 import com.google.api.codegen.viewmodel.ImportSectionView;
+import com.google.api.codegen.viewmodel.MethodDescriptorView;
 import com.google.api.codegen.viewmodel.PackageInfoView;
 import com.google.api.codegen.viewmodel.PagedResponseIterateMethodView;
 import com.google.api.codegen.viewmodel.ServiceDocView;
@@ -83,6 +89,7 @@ public class JavaSurfaceTransformer {
       new JavaMethodViewGenerator(SampleType.IN_CODE);
   private final PageStreamingTransformer pageStreamingTransformer = new PageStreamingTransformer();
   private final BatchingTransformer batchingTransformer = new BatchingTransformer();
+  private final CompressionTransformer compressionTransformer = new CompressionTransformer();
   private final StandardImportSectionTransformer importSectionTransformer =
       new StandardImportSectionTransformer();
   private final FileHeaderTransformer fileHeaderTransformer =
@@ -132,27 +139,55 @@ public class JavaSurfaceTransformer {
       StaticLangApiMethodView exampleApiMethod =
           getExampleApiMethod(apiFile.classView().apiMethods());
 
+      // Skip building the views of files that were not asked for. The settings class embeds the
+      // stub settings class, so those two are built together.
       context = context.withNewTypeTable(namer.getStubPackageName());
-      StaticLangFileView<StaticLangStubSettingsView> stubSettingsFile =
-          generateStubSettingsFile(context, productConfig, exampleApiMethod);
-
-      context = context.withNewTypeTable(namer.getRootPackageName());
-      StaticLangFileView<StaticLangSettingsView> settingsFile =
-          generateSettingsFile(
-              context, productConfig, exampleApiMethod, stubSettingsFile.classView());
-      surfaceDocs.add(settingsFile);
-      surfaceDocs.add(stubSettingsFile);
+      InterfaceConfig interfaceConfig = context.getInterfaceConfig();
+      boolean stubSettingsWanted =
+          isOutputWanted(context, context.getNamer().getApiStubSettingsClassName(interfaceConfig));
+      boolean settingsWanted =
+          isOutputWanted(
+              context.withNewTypeTable(namer.getRootPackageName()),
+              context.getNamer().getApiSettingsClassName(interfaceConfig));
+      if (stubSettingsWanted || settingsWanted) {
+        StaticLangFileView<StaticLangStubSettingsView> stubSettingsFile =
+            generateStubSettingsFile(context, productConfig, exampleApiMethod);
+
+        context = context.withNewTypeTable(namer.getRootPackageName());
+        StaticLangFileView<StaticLangSettingsView> settingsFile =
+            generateSettingsFile(
+                context, productConfig, exampleApiMethod, stubSettingsFile.classView());
+        if (settingsWanted) {
+          surfaceDocs.add(settingsFile);
+        }
+        if (stubSettingsWanted) {
+          surfaceDocs.add(stubSettingsFile);
+        }
+      }
 
       context = context.withNewTypeTable(namer.getStubPackageName());
-      StaticLangFileView<StaticLangStubInterfaceView> stubInterfaceFile =
-          generateStubInterfaceFile(context, productConfig);
-      surfaceDocs.add(stubInterfaceFile);
+      if (isOutputWanted(context, context.getNamer().getApiStubInterfaceName(interfaceConfig))) {
+        StaticLangFileView<StaticLangStubInterfaceView> stubInterfaceFile =
+            generateStubInterfaceFile(context, productConfig);
+        surfaceDocs.add(stubInterfaceFile);
+      }
 
       context = context.withNewTypeTable(namer.getStubPackageName());
-      StaticLangFileView<StaticLangRpcStubView> grpcStubFile =
-          generateRpcStubClassFile(context, productConfig);
-      surfaceDocs.add(grpcStubFile);
-      surfaceDocs.add(generateCallableFactoryClassFile(context, productConfig));
+      TransportProtocol transportProtocol = productConfig.getTransportProtocol();
+      if (isOutputWanted(
+          context,
+          context
+              .getNamer()
+              .getApiRpcStubClassName(interfaceConfig.getInterfaceModel(), transportProtocol))) {
+        StaticLangFileView<StaticLangRpcStubView> grpcStubFile =
+            generateRpcStubClassFile(context, productConfig);
+        surfaceDocs.add(grpcStubFile);
+      }
+      if (isOutputWanted(
+          context,
+          context.getNamer().getCallableFactoryClassName(interfaceConfig, transportProtocol))) {
+        surfaceDocs.add(generateCallableFactoryClassFile(context, productConfig));
+      }
     }
 
     PackageInfoView packageInfo = generatePackageInfo(model, productConfig, namer, serviceDocs);
@@ -161,6 +196,14 @@ public class JavaSurfaceTransformer {
     return surfaceDocs;
   }
 
+  /** Returns whether the file of the given class of the context's interface is wanted. */
+  private boolean isOutputWanted(InterfaceContext context, String className) {
+    String outputPath =
+        pathMapper.getOutputPath(
+            context.getInterfaceModel().getFullName(), context.getProductConfig());
+    return pathMapper.isOutputWanted(outputPath + File.separator + className + ".java");
+  }
+
   private StaticLangFileView<StaticLangApiView> generateApiFile(
       InterfaceContext context, GapicProductConfig productConfig) {
     StaticLangFileView.Builder<StaticLangApiView> apiFile = StaticLangFileView.newBuilder();
@@ -237,7 +280,8 @@ public class JavaSurfaceTransformer {
   private StaticLangPagedResponseView generatePagedResponseWrapper(
       MethodContext context, ImportTypeTable typeTable) {
     MethodModel method = context.getMethodModel();
-    FieldModel resourceField = context.getMethodConfig().getPageStreaming().getResourcesField();
+    PageStreamingConfig pageStreaming = context.getMethodConfig().getPageStreaming();
+    FieldModel resourceField = pageStreaming.getResourcesField();
 
     StaticLangPagedResponseView.Builder pagedResponseWrapper =
         StaticLangPagedResponseView.newBuilder();
@@ -256,6 +300,13 @@ public class JavaSurfaceTransformer {
     pagedResponseWrapper.resourceTypeName(
         typeTable.getAndSaveNicknameForElementType(resourceField));
     pagedResponseWrapper.iterateMethods(getIterateMethods(context));
+    pagedResponseWrapper.prefetchDepth(pageStreaming.getPrefetchDepth());
+    if (pageStreaming.hasPrefetch()) {
+      typeTable.saveNicknameFor("com.google.api.core.ApiAsyncFunction");
+      typeTable.saveNicknameFor("com.google.common.collect.AbstractIterator");
+      typeTable.saveNicknameFor("java.util.ArrayDeque");
+      typeTable.saveNicknameFor("java.util.Deque");
+    }
 
     return pagedResponseWrapper.build();
   }
@@ -464,6 +515,29 @@ public class JavaSurfaceTransformer {
     List<ApiCallSettingsView> apiCallSettings =
         apiCallableTransformer.generateCallSettings(context);
     xsettingsClass.callSettings(apiCallSettings);
+    if (productConfig.getTransportProtocol().equals(TransportProtocol.GRPC)) {
+      ChannelConfig channelConfig = context.getInterfaceConfig().getChannelConfig();
+      boolean hasHedgingPolicy = hasHedgingPolicy(apiCallSettings);
+      List<ChannelProviderCallView> channelProviderCalls =
+          generateChannelProviderCalls(channelConfig, hasHedgingPolicy);
+      if (hasHedgingPolicy) {
+        ImportTypeTable typeTable = context.getImportTypeTable();
+        typeTable.saveNicknameFor("com.google.api.core.ApiFunction");
+        typeTable.saveNicknameFor("com.google.common.collect.ImmutableList");
+        typeTable.saveNicknameFor("com.google.common.collect.ImmutableMap");
+        typeTable.saveNicknameFor("io.grpc.ManagedChannelBuilder");
+        typeTable.saveNicknameFor("java.util.Map");
+        if (channelConfig == null) {
+          // Hedging is set up through the channel provider, even with no other channel defaults.
+          channelConfig = ChannelConfig.createDefault();
+        }
+      } else if (channelProviderCalls.isEmpty()) {
+        // Nothing to set on the channel provider, so keep the plain default builder.
+        channelConfig = null;
+      }
+      xsettingsClass.channelConfig(channelConfig);
+      xsettingsClass.channelProviderCalls(channelProviderCalls);
+    }
     xsettingsClass.pageStreamingDescriptors(
         pageStreamingTransformer.generateDescriptorClasses(context));
     xsettingsClass.pagedListResponseFactories(
@@ -489,6 +563,56 @@ public class JavaSurfaceTransformer {
     return xsettingsClass.build();
   }
 
+  private static List<ChannelProviderCallView> generateChannelProviderCalls(
+      ChannelConfig channelConfig, boolean hasHedgingPolicy) {
+    List<ChannelProviderCallView.Builder> calls = new ArrayList<>();
+    if (channelConfig != null) {
+      if (channelConfig.hasPoolSize()) {
+        calls.add(
+            ChannelProviderCallView.newBuilder()
+                .methodName("setPoolSize")
+                .argument(Integer.toString(channelConfig.getPoolSize())));
+      }
+      if (channelConfig.hasMaxInboundMessageSize()) {
+        calls.add(
+            ChannelProviderCallView.newBuilder()
+                .methodName("setMaxInboundMessageSize")
+                .argument(Integer.toString(channelConfig.getMaxInboundMessageSize())));
+      }
+      if (channelConfig.hasKeepAlive()) {
+        calls.add(
+            ChannelProviderCallView.newBuilder()
+                .methodName("setKeepAliveTime")
+                .argument(
+                    String.format(
+                        "Duration.ofMillis(%dL)", channelConfig.getKeepAliveTimeMillis())));
+      }
+      if (channelConfig.hasKeepAliveTimeout()) {
+        calls.add(
+            ChannelProviderCallView.newBuilder()
+                .methodName("setKeepAliveTimeout")
+                .argument(
+                    String.format(
+                        "Duration.ofMillis(%dL)", channelConfig.getKeepAliveTimeoutMillis())));
+      }
+    }
+    List<ChannelProviderCallView> callViews = new ArrayList<>();
+    for (int i = 0; i < calls.size(); i++) {
+      // The hedging configurator, when there is one, comes after every channel default.
+      callViews.add(calls.get(i).isLast(!hasHedgingPolicy && i == calls.size() - 1).build());
+    }
+    return callViews;
+  }
+
+  private static boolean hasHedgingPolicy(List<ApiCallSettingsView> callSettings) {
+    for (ApiCallSettingsView settings : callSettings) {
+      if (settings.hasHedgingPolicy()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private StaticLangFileView<StaticLangStubInterfaceView> generateStubInterfaceFile(
       InterfaceContext context, GapicProductConfig productConfig) {
     StaticLangFileView.Builder<StaticLangStubInterfaceView> fileView =
@@ -603,12 +727,17 @@ public class JavaSurfaceTransformer {
     stubClass.hasDefaultInstance(interfaceConfig.hasDefaultInstance());
     stubClass.hasLongRunningOperations(interfaceConfig.hasLongRunningOperations());
 
+    StaticLangRpcStubView stubView = stubClass.build();
+    if (productConfig.getTransportProtocol() == TransportProtocol.HTTP) {
+      addHttpFormatterImports(context, stubView);
+    }
+
     for (TypeAlias alias :
         apiMethodsContext.getImportTypeTable().getTypeTable().getAllImports().values()) {
       context.getImportTypeTable().getAndSaveNicknameFor(alias);
     }
 
-    return stubClass.build();
+    return stubView;
   }
 
   private StaticLangFileView<StaticLangCallableFactoryView> generateCallableFactoryClassFile(
@@ -659,6 +788,18 @@ public class JavaSurfaceTransformer {
           context
               .getImportTypeTable()
               .getAndSaveNicknameFor("com.google.api.gax.httpjson.ApiMessage"));
+    } else {
+      List<CompressionView> compressions = compressionTransformer.generateCompressions(context);
+      if (!compressions.isEmpty()) {
+        ImportTypeTable typeTable = context.getImportTypeTable();
+        typeTable.saveNicknameFor("com.google.api.core.ApiFuture");
+        typeTable.saveNicknameFor("com.google.api.gax.grpc.GrpcCallContext");
+        typeTable.saveNicknameFor("com.google.api.gax.rpc.ApiCallContext");
+        typeTable.saveNicknameFor("com.google.common.collect.ImmutableMap");
+        typeTable.saveNicknameFor("com.google.protobuf.Message");
+        typeTable.saveNicknameFor("java.util.Map");
+      }
+      callableFactory.compressions(compressions);
     }
     return callableFactory.build();
   }
@@ -840,6 +981,35 @@ public class JavaSurfaceTransformer {
     }
   }
 
+  /**
+   * Saves the imports of the request formatters and response parsers of the stub's methods, which
+   * are generated for methods whose messages have JSON codecs and reflective otherwise.
+   */
+  private void addHttpFormatterImports(InterfaceContext context, StaticLangRpcStubView stubView) {
+    ImportTypeTable typeTable = context.getImportTypeTable();
+    for (MethodDescriptorView methodDescriptor : stubView.methodDescriptors()) {
+      if (!methodDescriptor.httpMethod().hasJsonCodec()) {
+        typeTable.saveNicknameFor("com.google.api.gax.httpjson.ApiMessageHttpRequestFormatter");
+        typeTable.saveNicknameFor("com.google.api.gax.httpjson.ApiMessageHttpResponseParser");
+        typeTable.saveNicknameFor("com.google.common.collect.Sets");
+        continue;
+      }
+      typeTable.saveNicknameFor("com.google.api.gax.httpjson.HttpRequestFormatter");
+      typeTable.saveNicknameFor("com.google.api.gax.httpjson.HttpResponseParser");
+      typeTable.saveNicknameFor("com.google.gson.JsonIOException");
+      typeTable.saveNicknameFor("com.google.gson.stream.JsonReader");
+      typeTable.saveNicknameFor("com.google.gson.stream.JsonWriter");
+      typeTable.saveNicknameFor("java.io.InputStream");
+      typeTable.saveNicknameFor("java.io.InputStreamReader");
+      typeTable.saveNicknameFor("java.io.StringWriter");
+      typeTable.saveNicknameFor("java.io.UnsupportedEncodingException");
+      typeTable.saveNicknameFor("java.net.URLEncoder");
+      typeTable.saveNicknameFor("java.nio.charset.StandardCharsets");
+      typeTable.saveNicknameFor("java.util.Collections");
+      typeTable.saveNicknameFor("java.util.HashMap");
+    }
+  }
+
   private void addRpcStubImports(InterfaceContext context) {
     ImportTypeTable typeTable = context.getImportTypeTable();
 
@@ -889,12 +1059,9 @@ public class JavaSurfaceTransformer {
         typeTable.saveNicknameFor("com.google.api.client.http.HttpMethods");
         typeTable.saveNicknameFor("com.google.api.core.InternalApi");
         typeTable.saveNicknameFor("com.google.api.pathtemplate.PathTemplate");
-        typeTable.saveNicknameFor("com.google.api.gax.httpjson.ApiMessageHttpRequestFormatter");
-        typeTable.saveNicknameFor("com.google.api.gax.httpjson.ApiMessageHttpResponseParser");
         typeTable.saveNicknameFor("com.google.api.gax.httpjson.ApiMethodDescriptor");
         typeTable.saveNicknameFor("com.google.api.gax.httpjson.HttpJsonCallSettings");
         typeTable.saveNicknameFor("com.google.api.gax.httpjson.HttpJsonStubCallableFactory");
-        typeTable.saveNicknameFor("com.google.common.collect.Sets");
         typeTable.saveNicknameFor("java.lang.Void");
         break;
     }
@@ -81,7 +81,7 @@ public class NodeJSModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       return new TypeName("Object");
     } else if (type.isRepeated()) {
@@ -95,7 +95,7 @@ public class PhpModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       return new TypeName("array");
     } else if (type.isRepeated()) {
@@ -66,8 +66,10 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
 import java.io.File;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /* Transforms a ProtoApiModel into the standard GAPIC surface for Python. */
@@ -138,7 +140,21 @@ public class PythonGapicSurfaceTransformer implements ModelToViewTransformer<Pro
     FeatureConfig featureConfig = new DefaultFeatureConfig();
     ImmutableList.Builder<ViewModel> serviceSurfaces = ImmutableList.builder();
 
-    for (InterfaceModel apiInterface : apiModel.getInterfaces(productConfig)) {
+    // The clients share one type table, so each client also imports the types of the clients built
+    // before it. When the model has only some of the interfaces, as in a shard, the clients before
+    // them are still built, and dropped, so that the clients come out the same.
+    Set<String> pendingInterfaceNames =
+        apiModel
+            .getInterfaces(productConfig)
+            .stream()
+            .map(InterfaceModel::getFullName)
+            .collect(Collectors.toCollection(HashSet::new));
+    for (InterfaceModel apiInterface :
+        new ProtoApiModel(apiModel.getProtoModel()).getInterfaces(productConfig)) {
+      if (pendingInterfaceNames.isEmpty()) {
+        break;
+      }
+      boolean isGenerated = pendingInterfaceNames.remove(apiInterface.getFullName());
       if (!productConfig.hasInterfaceConfig(apiInterface)) {
         continue;
       }
@@ -158,7 +174,6 @@ public class PythonGapicSurfaceTransformer implements ModelToViewTransformer<Pro
           namer.getSourceFilePath(
               subPath, namer.getApiWrapperClassName(context.getInterfaceConfig())));
       serviceClass.fileHeader(fileHeaderTransformer.generateFileHeader(context));
-      serviceSurfaces.add(serviceClass.build());
 
       DynamicLangXApiView.Builder grpcTransportClass = generateApiView(context);
       grpcTransportClass.templateFileName(TRANSPORT_TEMPLATE_FILENAME);
@@ -171,7 +186,11 @@ public class PythonGapicSurfaceTransformer implements ModelToViewTransformer<Pro
       grpcTransportClass.fileHeader(
           fileHeaderTransformer.generateFileHeader(
               productConfig, grpcTransportImportSection, namer));
-      serviceSurfaces.add(grpcTransportClass.build());
+
+      if (isGenerated) {
+        serviceSurfaces.add(serviceClass.build());
+        serviceSurfaces.add(grpcTransportClass.build());
+      }
     }
 
     GrpcDocView enumFile =
@@ -235,12 +254,24 @@ public class PythonGapicSurfaceTransformer implements ModelToViewTransformer<Pro
     xapiClass.authScopes(model.getAuthScopes(context.getProductConfig()));
     xapiClass.hasDefaultServiceAddress(context.getInterfaceConfig().hasDefaultServiceAddress());
     xapiClass.hasDefaultServiceScopes(context.getInterfaceConfig().hasDefaultServiceScopes());
+    xapiClass.channelConfig(context.getInterfaceConfig().getChannelConfig());
 
     xapiClass.pageStreamingDescriptors(pageStreamingTransformer.generateDescriptors(context));
     xapiClass.batchingDescriptors(ImmutableList.of());
     xapiClass.longRunningDescriptors(ImmutableList.of());
     xapiClass.grpcStreamingDescriptors(ImmutableList.of());
     xapiClass.hasPageStreamingMethods(context.getInterfaceConfig().hasPageStreamingMethods());
+    xapiClass.hasHedgedMethods(
+        methods.stream().anyMatch(OptionalArrayMethodView::hasHedgingPolicy));
+    xapiClass.hasCompressedMethods(
+        methods.stream().anyMatch(OptionalArrayMethodView::hasCompression));
+    xapiClass.hasAdaptivePolling(
+        methods
+            .stream()
+            .anyMatch(
+                method ->
+                    method.isLongRunningOperation()
+                        && method.longRunningView().isAdaptivePolling()));
     xapiClass.hasBatchingMethods(context.getInterfaceConfig().hasBatchingMethods());
     xapiClass.hasLongRunningOperations(context.getInterfaceConfig().hasLongRunningOperations());
 
@@ -23,6 +23,7 @@ import com.google.api.codegen.util.py.PythonTypeTable;
 import com.google.api.codegen.viewmodel.ImportFileView;
 import com.google.api.codegen.viewmodel.ImportSectionView;
 import com.google.api.codegen.viewmodel.ImportTypeView;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.api.tools.framework.model.Interface;
 import com.google.api.tools.framework.model.MessageType;
 import com.google.api.tools.framework.model.Model;
@@ -116,10 +117,22 @@ public class PythonImportSectionTransformer implements ImportSectionTransformer
 
   private List<ImportFileView> generateFileHeaderStandardImports(InterfaceContext context) {
     ImmutableList.Builder<ImportFileView> imports = ImmutableList.builder();
+    if (hasAdaptivePolling(context)) {
+      imports.add(createImport("copy"));
+    }
     if (context.getInterfaceConfig().hasPageStreamingMethods()) {
       imports.add(createImport("functools"));
     }
     imports.add(createImport("pkg_resources"));
+    if (hasAdaptivePolling(context)) {
+      imports.add(createImport("random"));
+    }
+    if (hasHedgedMethods(context)) {
+      imports.add(createImport("threading"));
+    }
+    if (hasAdaptivePolling(context)) {
+      imports.add(createImport("time"));
+    }
     imports.add(createImport("warnings"));
     return imports.build();
   }
@@ -142,6 +155,10 @@ public class PythonImportSectionTransformer implements ImportSectionTransformer
       imports.add(createImport("google.api_core.operation"));
     }
 
+    if (hasAdaptivePolling(context)) {
+      imports.add(createImport("google.api_core.exceptions"));
+    }
+
     if (context.getInterfaceConfig().hasPageStreamingMethods()) {
       imports.add(createImport("google.api_core.page_iterator"));
     }
@@ -166,6 +183,23 @@ public class PythonImportSectionTransformer implements ImportSectionTransformer
         .anyMatch(config -> config.getHeaderRequestParams().iterator().hasNext());
   }
 
+  private boolean hasHedgedMethods(InterfaceContext context) {
+    return context
+        .getInterfaceConfig()
+        .getMethodConfigs()
+        .stream()
+        .anyMatch(MethodConfig::isHedging);
+  }
+
+  private boolean hasAdaptivePolling(InterfaceContext context) {
+    return Streams.stream(context.getSupportedMethods())
+        .map(context::asRequestMethodContext)
+        .anyMatch(
+            methodContext ->
+                methodContext.isLongRunningMethodContext()
+                    && methodContext.getLongRunningConfig().hasAdaptivePolling());
+  }
+
   private boolean hasOneOf(InterfaceContext context) {
     return context
         .getInterfaceConfig()
@@ -354,19 +388,21 @@ public class PythonImportSectionTransformer implements ImportSectionTransformer
   private ImportFileView createImport(String moduleName, String attributeName) {
     ImportTypeView typeImport =
         ImportTypeView.newBuilder().fullName(attributeName).nickname("").build();
-    return ImportFileView.newBuilder()
-        .moduleName(moduleName)
-        .types(ImmutableList.of(typeImport))
-        .build();
+    return ViewModelInterner.intern(
+        ImportFileView.newBuilder()
+            .moduleName(moduleName)
+            .types(ImmutableList.of(ViewModelInterner.intern(typeImport)))
+            .build());
   }
 
   private ImportFileView createImport(String moduleName, String attributeName, String localName) {
     ImportTypeView typeImport =
         ImportTypeView.newBuilder().fullName(attributeName).nickname(localName).build();
-    return ImportFileView.newBuilder()
-        .moduleName(moduleName)
-        .types(ImmutableList.of(typeImport))
-        .build();
+    return ViewModelInterner.intern(
+        ImportFileView.newBuilder()
+            .moduleName(moduleName)
+            .types(ImmutableList.of(ViewModelInterner.intern(typeImport)))
+            .build());
   }
 
   public ImportSectionView generateTypesImportSection(
@@ -130,7 +130,7 @@ public class PythonModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       return new TypeName("dict");
     } else if (type.isRepeated()) {
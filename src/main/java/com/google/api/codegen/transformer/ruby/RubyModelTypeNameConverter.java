@@ -81,7 +81,7 @@ public class RubyModelTypeNameConverter extends ModelTypeNameConverter {
   }
 
   @Override
-  public TypeName getTypeName(TypeRef type) {
+  protected TypeName createTypeName(TypeRef type) {
     if (type.isMap()) {
       return new TypeName("Hash");
     } else if (type.isRepeated()) {
@@ -50,6 +50,11 @@ public class RubySamplePackageMetadataTransformer implements ModelToViewTransfor
       return "samples/Gemfile";
     }
 
+    @Override
+    public boolean isProductLevel() {
+      return true;
+    }
+
     public abstract String gapicGemName();
   }
 
@@ -173,34 +173,39 @@ public class ProtoParser {
   /** Return a Map of Unified Resource Types to a ResourceDescriptorConfig object. */
   public Map<String, ResourceDescriptorConfig> getResourceDescriptorConfigMap(
       List<ProtoFile> protoFiles, DiagCollector diagCollector) {
-    ImmutableMap.Builder<String, ResourceDescriptorConfig> mapBuilder = ImmutableMap.builder();
-
     // Skip unnecessary file parsing.
-    if (!enableProtoAnnotations) return mapBuilder.build();
+    if (!enableProtoAnnotations) return ImmutableMap.of();
+
+    return getResourceDescriptorConfigMap(
+        ResourceAnnotationIndex.create(this, protoFiles), diagCollector);
+  }
+
+  /** Return a Map of Unified Resource Types to a ResourceDescriptorConfig object. */
+  public Map<String, ResourceDescriptorConfig> getResourceDescriptorConfigMap(
+      ResourceAnnotationIndex annotationIndex, DiagCollector diagCollector) {
+    ImmutableMap.Builder<String, ResourceDescriptorConfig> mapBuilder = ImmutableMap.builder();
 
-    for (ProtoFile protoFile : protoFiles) {
+    for (ProtoFile protoFile : annotationIndex.getResourceMessagesByFile().keySet()) {
 
       // Maps base names to ResourceDescriptors.
       Map<String, ResourceDescriptor> localDefs = new LinkedHashMap<>();
 
       // Get Resource[Set] definitions from fields in message types.
-      for (MessageType message : protoFile.getMessages()) {
-        ResourceDescriptor definition = getResourceDescriptor(message);
-        if (definition != null) {
-          if (localDefs.put(definition.getType(), definition) != null) {
-            diagCollector.addDiag(
-                Diag.error(
-                    SimpleLocation.TOPLEVEL,
-                    "Multiple ResourceDescriptor defintions with the type"
-                        + " %s are defined in proto file %s. Values for type must be unique.",
-                    definition.getType(),
-                    protoFile.getFullName()));
-            continue;
-          }
-          ResourceDescriptorConfig config =
-              ResourceDescriptorConfig.from(definition, message.getFile());
-          mapBuilder.put(config.getUnifiedResourceType(), config);
+      for (MessageType message : annotationIndex.getResourceMessagesByFile().get(protoFile)) {
+        ResourceDescriptor definition = annotationIndex.getResourceDescriptor(message);
+        if (localDefs.put(definition.getType(), definition) != null) {
+          diagCollector.addDiag(
+              Diag.error(
+                  SimpleLocation.TOPLEVEL,
+                  "Multiple ResourceDescriptor defintions with the type"
+                      + " %s are defined in proto file %s. Values for type must be unique.",
+                  definition.getType(),
+                  protoFile.getFullName()));
+          continue;
         }
+        ResourceDescriptorConfig config =
+            ResourceDescriptorConfig.from(definition, message.getFile());
+        mapBuilder.put(config.getUnifiedResourceType(), config);
       }
     }
     return mapBuilder.build();
@@ -0,0 +1,152 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import com.google.api.ResourceDescriptor;
+import com.google.api.ResourceReference;
+import com.google.api.tools.framework.model.Field;
+import com.google.api.tools.framework.model.MessageType;
+import com.google.api.tools.framework.model.ProtoFile;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * The resource annotations (google.api.resource and google.api.resource_reference) of a set of
+ * proto files, collected in a single pass over every message and field.
+ *
+ * <p>All maps preserve the order in which the elements appear in the proto files.
+ */
+public class ResourceAnnotationIndex {
+  private final ImmutableList<MessageType> annotatedMessages;
+  private final ImmutableListMultimap<ProtoFile, MessageType> resourceMessagesByFile;
+  private final ImmutableMap<MessageType, ResourceDescriptor> resourceDescriptors;
+  private final ImmutableListMultimap<MessageType, Field> referenceFieldsByMessage;
+  private final ImmutableMap<Field, ResourceReference> resourceReferences;
+  private final ImmutableSet<String> childTypeReferences;
+
+  private ResourceAnnotationIndex(
+      ImmutableList<MessageType> annotatedMessages,
+      ImmutableListMultimap<ProtoFile, MessageType> resourceMessagesByFile,
+      ImmutableMap<MessageType, ResourceDescriptor> resourceDescriptors,
+      ImmutableListMultimap<MessageType, Field> referenceFieldsByMessage,
+      ImmutableMap<Field, ResourceReference> resourceReferences,
+      ImmutableSet<String> childTypeReferences) {
+    this.annotatedMessages = annotatedMessages;
+    this.resourceMessagesByFile = resourceMessagesByFile;
+    this.resourceDescriptors = resourceDescriptors;
+    this.referenceFieldsByMessage = referenceFieldsByMessage;
+    this.resourceReferences = resourceReferences;
+    this.childTypeReferences = childTypeReferences;
+  }
+
+  /**
+   * Scans the given proto files, reading annotations through the given parser. The index is empty
+   * if the parser has proto annotations disabled.
+   */
+  public static ResourceAnnotationIndex create(ProtoParser parser, List<ProtoFile> protoFiles) {
+    ImmutableList.Builder<MessageType> annotatedMessages = ImmutableList.builder();
+    ImmutableListMultimap.Builder<ProtoFile, MessageType> resourceMessagesByFile =
+        ImmutableListMultimap.builder();
+    ImmutableMap.Builder<MessageType, ResourceDescriptor> resourceDescriptors =
+        ImmutableMap.builder();
+    ImmutableListMultimap.Builder<MessageType, Field> referenceFieldsByMessage =
+        ImmutableListMultimap.builder();
+    ImmutableMap.Builder<Field, ResourceReference> resourceReferences = ImmutableMap.builder();
+    ImmutableSet.Builder<String> childTypeReferences = ImmutableSet.builder();
+
+    Set<ProtoFile> seenProtoFiles = new HashSet<>();
+    for (ProtoFile protoFile : protoFiles) {
+      if (!seenProtoFiles.add(protoFile)) {
+        continue;
+      }
+      for (MessageType message : protoFile.getMessages()) {
+        boolean isAnnotated = false;
+
+        ResourceDescriptor descriptor = parser.getResourceDescriptor(message);
+        if (descriptor != null) {
+          resourceMessagesByFile.put(protoFile, message);
+          resourceDescriptors.put(message, descriptor);
+          isAnnotated = true;
+        }
+
+        for (Field field : message.getFields()) {
+          if (!parser.hasResourceReference(field)) {
+            continue;
+          }
+          ResourceReference reference = parser.getResourceReference(field);
+          referenceFieldsByMessage.put(message, field);
+          resourceReferences.put(field, reference);
+          if (!Strings.isNullOrEmpty(reference.getChildType())) {
+            childTypeReferences.add(reference.getChildType());
+          }
+          isAnnotated = true;
+        }
+
+        if (isAnnotated) {
+          annotatedMessages.add(message);
+        }
+      }
+    }
+
+    return new ResourceAnnotationIndex(
+        annotatedMessages.build(),
+        resourceMessagesByFile.build(),
+        resourceDescriptors.build(),
+        referenceFieldsByMessage.build(),
+        resourceReferences.build(),
+        childTypeReferences.build());
+  }
+
+  /** Messages that are resources or have fields referencing resources. */
+  public ImmutableList<MessageType> getAnnotatedMessages() {
+    return annotatedMessages;
+  }
+
+  /** Resource messages, grouped by the proto file that defines them. */
+  public ImmutableListMultimap<ProtoFile, MessageType> getResourceMessagesByFile() {
+    return resourceMessagesByFile;
+  }
+
+  @Nullable
+  public ResourceDescriptor getResourceDescriptor(MessageType message) {
+    return resourceDescriptors.get(message);
+  }
+
+  /** Fields of the given message which have a resource reference. */
+  public ImmutableList<Field> getResourceReferenceFields(MessageType message) {
+    return referenceFieldsByMessage.get(message);
+  }
+
+  @Nullable
+  public ResourceReference getResourceReference(Field field) {
+    return resourceReferences.get(field);
+  }
+
+  public boolean hasResourceReference(Field field) {
+    return resourceReferences.containsKey(field);
+  }
+
+  /** The child_type values of all resource references. */
+  public ImmutableSet<String> getChildTypeReferences() {
+    return childTypeReferences;
+  }
+}
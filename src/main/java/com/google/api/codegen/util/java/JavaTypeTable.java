@@ -25,14 +25,25 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
-/** The TypeTable for Java. */
+/**
+ * The TypeTable for Java.
+ *
+ * <p>A table created by {@link #cloneEmpty} is layered over the table it was cloned from. The
+ * imports and used nicknames, which decide the nickname each type gets in a file, are recorded per
+ * table. Whether a simple name clashes with java.lang does not depend on the file, so the clone
+ * reads through to a frozen copy of everything its ancestors already resolved and only looks up the
+ * names that are new to it.
+ *
+ * <p>Cloning does not modify the table it clones, so several threads may clone one table as long as
+ * none of them resolves names through it at the same time.
+ */
 public class JavaTypeTable implements TypeTable {
   /** A bi-map from full names to type alias indicating the import map. */
   private final BiMap<String, TypeAlias> imports = HashBiMap.create();
@@ -40,10 +51,17 @@ public class JavaTypeTable implements TypeTable {
   private final Set<String> usedNicknames = new HashSet<>();
 
   /**
-   * A map from simple type name to a boolean, indicating whether its in java.lang or not. If a
-   * simple type name is not in the map, this information is unknown.
+   * A frozen map from simple type name to a boolean, indicating whether it is in java.lang or not,
+   * as resolved by the tables this table was cloned from.
    */
-  private final Map<String, Boolean> implicitImports = Maps.newHashMap();
+  private final ImmutableMap<String, Boolean> inheritedImplicitImports;
+
+  /**
+   * A map from simple type name to a boolean, indicating whether it is in java.lang or not, for the
+   * names resolved by this table and not inherited. If a simple type name is in neither map, this
+   * information is unknown.
+   */
+  private final Map<String, Boolean> implicitImports = new HashMap<>();
 
   private static final String JAVA_LANG_TYPE_PREFIX = "java.lang.";
 
@@ -65,8 +83,16 @@ public class JavaTypeTable implements TypeTable {
   }
 
   public JavaTypeTable(String implicitPackageName, JavaLangResolution javaLangResolution) {
+    this(implicitPackageName, javaLangResolution, ImmutableMap.of());
+  }
+
+  private JavaTypeTable(
+      String implicitPackageName,
+      JavaLangResolution javaLangResolution,
+      ImmutableMap<String, Boolean> inheritedImplicitImports) {
     this.implicitPackageName = implicitPackageName;
     this.javaLangResolution = javaLangResolution;
+    this.inheritedImplicitImports = inheritedImplicitImports;
   }
 
   public enum JavaLangResolution {
@@ -76,12 +102,26 @@ public class JavaTypeTable implements TypeTable {
 
   @Override
   public TypeTable cloneEmpty() {
-    return new JavaTypeTable(implicitPackageName, javaLangResolution);
+    return new JavaTypeTable(implicitPackageName, javaLangResolution, snapshotImplicitImports());
   }
 
   @Override
   public TypeTable cloneEmpty(String packageName) {
-    return new JavaTypeTable(packageName);
+    return new JavaTypeTable(packageName, ESCAPE_JAVA_LANG_CLASH, snapshotImplicitImports());
+  }
+
+  /**
+   * Returns the java.lang resolutions known to this table as a frozen map for a clone. The
+   * inherited map is shared as is unless this table resolved names of its own.
+   */
+  private ImmutableMap<String, Boolean> snapshotImplicitImports() {
+    if (implicitImports.isEmpty()) {
+      return inheritedImplicitImports;
+    }
+    return ImmutableMap.<String, Boolean>builder()
+        .putAll(inheritedImplicitImports)
+        .putAll(implicitImports)
+        .build();
   }
 
   @Override
@@ -202,7 +242,10 @@ public class JavaTypeTable implements TypeTable {
    * result.
    */
   private boolean isImplicitImport(String name) {
-    Boolean yes = implicitImports.get(name);
+    Boolean yes = inheritedImplicitImports.get(name);
+    if (yes == null) {
+      yes = implicitImports.get(name);
+    }
     if (yes != null) {
       return yes;
     }
@@ -66,6 +66,20 @@ public abstract class ApiCallSettingsView {
   @Nullable
   public abstract LongRunningOperationDetailView operationMethod();
 
+  @Nullable
+  public abstract HedgingPolicyView hedgingPolicy();
+
+  public boolean hasHedgingPolicy() {
+    return hedgingPolicy() != null;
+  }
+
+  @Nullable
+  public abstract CompressionView compression();
+
+  public boolean hasCompression() {
+    return compression() != null;
+  }
+
   public abstract Builder toBuilder();
 
   public static Builder newBuilder() {
@@ -113,6 +127,10 @@ public abstract class ApiCallSettingsView {
 
     public abstract Builder operationMethod(LongRunningOperationDetailView val);
 
+    public abstract Builder hedgingPolicy(HedgingPolicyView val);
+
+    public abstract Builder compression(CompressionView val);
+
     public abstract ApiCallSettingsView build();
   }
 }
@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.viewmodel;
 
+import com.google.api.codegen.config.FlowControlLimitConfig;
 import com.google.auto.value.AutoValue;
 import javax.annotation.Nullable;
 
@@ -41,6 +42,12 @@ public abstract class BatchingConfigView {
     return flowControlByteLimit() != null;
   }
 
+  /** Whether the generated code needs to enforce any flow control limit. */
+  public boolean hasFlowControlLimits() {
+    return (hasFlowControlElementLimit() || hasFlowControlByteLimit())
+        && !flowControlLimitExceededBehavior().equals(FlowControlLimitConfig.Ignore.toString());
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_BatchingConfigView.Builder();
   }
@@ -23,10 +23,16 @@ public abstract class BatchingDescriptorClassView {
 
   public abstract String name();
 
+  public abstract String methodName();
+
+  public abstract BatchingConfigView batchingConfig();
+
   public abstract String requestTypeName();
 
   public abstract String responseTypeName();
 
+  public abstract boolean hasReturnValue();
+
   @Nullable
   public abstract String subresponseTypeName();
 
@@ -44,6 +50,9 @@ public abstract class BatchingDescriptorClassView {
   @Nullable
   public abstract String subresponseSetFunction();
 
+  @Nullable
+  public abstract String subresponseGetFunction();
+
   public boolean hasSubresponse() {
     return subresponseTypeName() != null;
   }
@@ -57,10 +66,16 @@ public abstract class BatchingDescriptorClassView {
 
     public abstract Builder name(String val);
 
+    public abstract Builder methodName(String val);
+
+    public abstract Builder batchingConfig(BatchingConfigView val);
+
     public abstract Builder requestTypeName(String val);
 
     public abstract Builder responseTypeName(String val);
 
+    public abstract Builder hasReturnValue(boolean val);
+
     public abstract Builder subresponseTypeName(String val);
 
     public abstract Builder partitionKeys(List<BatchingPartitionKeyView> val);
@@ -75,6 +90,8 @@ public abstract class BatchingDescriptorClassView {
 
     public abstract Builder subresponseSetFunction(String val);
 
+    public abstract Builder subresponseGetFunction(String val);
+
     public abstract BatchingDescriptorClassView build();
   }
 }
@@ -0,0 +1,47 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A call which sets a channel default on the builder of a gRPC channel provider, for example
+ * setPoolSize(4).
+ */
+@AutoValue
+public abstract class ChannelProviderCallView {
+
+  public abstract String methodName();
+
+  public abstract String argument();
+
+  // Whether this call ends the builder chain.
+  public abstract boolean isLast();
+
+  public static Builder newBuilder() {
+    return new AutoValue_ChannelProviderCallView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder methodName(String val);
+
+    public abstract Builder argument(String val);
+
+    public abstract Builder isLast(boolean val);
+
+    public abstract ChannelProviderCallView build();
+  }
+}
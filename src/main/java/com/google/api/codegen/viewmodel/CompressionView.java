@@ -0,0 +1,53 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+
+@AutoValue
+public abstract class CompressionView {
+  // The full name of the gRPC service of the method.
+  public abstract String serviceName();
+
+  // The name of the method in the gRPC service.
+  public abstract String methodName();
+
+  // The compression algorithm, e.g. "gzip".
+  public abstract String algorithm();
+
+  // Requests smaller than this are sent uncompressed.
+  public abstract long minRequestSizeBytes();
+
+  public boolean hasMinRequestSize() {
+    return minRequestSizeBytes() > 0;
+  }
+
+  public static Builder newBuilder() {
+    return new AutoValue_CompressionView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder serviceName(String val);
+
+    public abstract Builder methodName(String val);
+
+    public abstract Builder algorithm(String val);
+
+    public abstract Builder minRequestSizeBytes(long val);
+
+    public abstract CompressionView build();
+  }
+}
@@ -30,6 +30,11 @@ public abstract class CredentialsClassFileView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   public abstract FileHeaderView fileHeader();
 
   public abstract CredentialsClassView credentialsClass();
@@ -15,6 +15,7 @@
 package com.google.api.codegen.viewmodel;
 
 import com.google.api.codegen.SnippetSetRunner;
+import com.google.api.codegen.config.ChannelConfig;
 import com.google.auto.value.AutoValue;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -76,6 +77,15 @@ public abstract class DynamicLangXApiView implements ViewModel {
 
   public abstract boolean hasPageStreamingMethods();
 
+  // Whether any method sends hedged requests. Used in Python.
+  public abstract boolean hasHedgedMethods();
+
+  // Whether any long-running operation is polled adaptively. Used in Python.
+  public abstract boolean hasAdaptivePolling();
+
+  // Whether any method compresses its requests. Used in Python.
+  public abstract boolean hasCompressedMethods();
+
   public abstract boolean hasBatchingMethods();
 
   public abstract boolean hasLongRunningOperations();
@@ -88,6 +98,14 @@ public abstract class DynamicLangXApiView implements ViewModel {
 
   public abstract boolean hasDefaultServiceScopes();
 
+  // The defaults of the gRPC channels, or null to use those of the transport.
+  @Nullable
+  public abstract ChannelConfig channelConfig();
+
+  public boolean hasChannelOptions() {
+    return channelConfig() != null && channelConfig().hasChannelOptions();
+  }
+
   public boolean missingDefaultServiceAddress() {
     return !hasDefaultServiceAddress();
   }
@@ -136,7 +154,10 @@ public abstract class DynamicLangXApiView implements ViewModel {
   public abstract Builder toBuilder();
 
   public static Builder newBuilder() {
-    return new AutoValue_DynamicLangXApiView.Builder();
+    return new AutoValue_DynamicLangXApiView.Builder()
+        .hasHedgedMethods(false)
+        .hasAdaptivePolling(false)
+        .hasCompressedMethods(false);
   }
 
   @AutoValue.Builder
@@ -191,6 +212,12 @@ public abstract class DynamicLangXApiView implements ViewModel {
 
     public abstract Builder hasPageStreamingMethods(boolean val);
 
+    public abstract Builder hasHedgedMethods(boolean val);
+
+    public abstract Builder hasAdaptivePolling(boolean val);
+
+    public abstract Builder hasCompressedMethods(boolean val);
+
     public abstract Builder hasBatchingMethods(boolean val);
 
     public abstract Builder hasLongRunningOperations(boolean val);
@@ -199,6 +226,8 @@ public abstract class DynamicLangXApiView implements ViewModel {
 
     public abstract Builder hasDefaultServiceScopes(boolean val);
 
+    public abstract Builder channelConfig(ChannelConfig val);
+
     public abstract Builder validDescriptorsNames(List<String> strings);
 
     public abstract Builder fullyQualifiedCredentialsClassName(String val);
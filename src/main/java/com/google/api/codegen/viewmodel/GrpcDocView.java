@@ -26,6 +26,11 @@ public abstract class GrpcDocView implements ViewModel {
 
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   public abstract FileHeaderView fileHeader();
 
   public abstract List<GrpcElementDocView> elementDocs();
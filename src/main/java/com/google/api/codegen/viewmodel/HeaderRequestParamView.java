@@ -23,6 +23,10 @@ public abstract class HeaderRequestParamView {
 
   public abstract List<String> gettersChain();
 
+  // Whether the value of the param is a string, which can be used in the header without
+  // conversion.
+  public abstract boolean isStringField();
+
   public static Builder newBuilder() {
     return new AutoValue_HeaderRequestParamView.Builder();
   }
@@ -33,6 +37,8 @@ public abstract class HeaderRequestParamView {
 
     public abstract HeaderRequestParamView.Builder gettersChain(List<String> val);
 
+    public abstract HeaderRequestParamView.Builder isStringField(boolean val);
+
     public abstract HeaderRequestParamView build();
   }
 }
@@ -0,0 +1,64 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+@AutoValue
+public abstract class HedgingPolicyView {
+  // The full name of the gRPC service of the method.
+  public abstract String serviceName();
+
+  // The name of the method in the gRPC service.
+  public abstract String methodName();
+
+  public abstract int maxAttempts();
+
+  public abstract long hedgingDelayMillis();
+
+  // The hedging delay as a decimal number of seconds, e.g. "0.1".
+  public abstract String hedgingDelaySeconds();
+
+  // The status codes after which the next attempt is sent at once, e.g. "UNAVAILABLE".
+  public abstract ImmutableList<String> nonFatalCodes();
+
+  // The language-specific names of nonFatalCodes.
+  public abstract List<String> nonFatalCodeNames();
+
+  public static Builder newBuilder() {
+    return new AutoValue_HedgingPolicyView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder serviceName(String val);
+
+    public abstract Builder methodName(String val);
+
+    public abstract Builder maxAttempts(int val);
+
+    public abstract Builder hedgingDelayMillis(long val);
+
+    public abstract Builder hedgingDelaySeconds(String val);
+
+    public abstract Builder nonFatalCodes(ImmutableList<String> val);
+
+    public abstract Builder nonFatalCodeNames(List<String> val);
+
+    public abstract HedgingPolicyView build();
+  }
+}
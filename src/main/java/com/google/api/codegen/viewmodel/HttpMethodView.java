@@ -15,7 +15,9 @@
 package com.google.api.codegen.viewmodel;
 
 import com.google.auto.value.AutoValue;
+import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 
 @AutoValue
 public abstract class HttpMethodView {
@@ -36,8 +38,32 @@ public abstract class HttpMethodView {
   // The field name for the method's request object's ResourceName.
   public abstract String resourceNameFieldName();
 
+  // Whether the request and response are encoded by generated code rather than by reflection. The
+  // fields below are only set if so.
+  public abstract boolean hasJsonCodec();
+
+  // The name of the request getter for the method's ResourceName.
+  @Nullable
+  public abstract String resourceNameGetFunction();
+
+  // The path template, split into literal text and the ResourceName's path parameters.
+  public abstract List<ResourceNamePatternPieceView> pathPieces();
+
+  public abstract List<HttpQueryParamView> queryParamViews();
+
+  // The name of the request getter for the request body, or null if the method has no body.
+  @Nullable
+  public abstract String requestBodyGetFunction();
+
+  public boolean hasRequestBody() {
+    return requestBodyGetFunction() != null;
+  }
+
   public static Builder newBuilder() {
-    return new AutoValue_HttpMethodView.Builder();
+    return new AutoValue_HttpMethodView.Builder()
+        .hasJsonCodec(false)
+        .pathPieces(Collections.emptyList())
+        .queryParamViews(Collections.emptyList());
   }
 
   @AutoValue.Builder
@@ -56,6 +82,16 @@ public abstract class HttpMethodView {
 
     public abstract Builder resourceNameFieldName(String name);
 
+    public abstract Builder hasJsonCodec(boolean val);
+
+    public abstract Builder resourceNameGetFunction(String val);
+
+    public abstract Builder pathPieces(List<ResourceNamePatternPieceView> val);
+
+    public abstract Builder queryParamViews(List<HttpQueryParamView> val);
+
+    public abstract Builder requestBodyGetFunction(String val);
+
     public abstract HttpMethodView build();
   }
 }
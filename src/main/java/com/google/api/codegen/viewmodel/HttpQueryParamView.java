@@ -0,0 +1,45 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+
+/** A query parameter of an HTTP method, and the request field it is read from. */
+@AutoValue
+public abstract class HttpQueryParamView {
+  // The name of the query parameter, e.g. "maxResults".
+  public abstract String name();
+
+  // The name of the request getter for the parameter's value.
+  public abstract String fieldGetFunction();
+
+  // Whether the parameter has a list of values, each of which is sent.
+  public abstract boolean isRepeated();
+
+  public static Builder newBuilder() {
+    return new AutoValue_HttpQueryParamView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder name(String val);
+
+    public abstract Builder fieldGetFunction(String val);
+
+    public abstract Builder isRepeated(boolean val);
+
+    public abstract HttpQueryParamView build();
+  }
+}
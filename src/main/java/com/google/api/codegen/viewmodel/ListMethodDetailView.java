@@ -30,6 +30,13 @@ public abstract class ListMethodDetailView {
 
   public abstract String resourcesFieldGetFunction();
 
+  // The number of pages fetched ahead of the page being iterated.
+  public abstract int prefetchDepth();
+
+  public boolean hasPrefetch() {
+    return prefetchDepth() > 0;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_ListMethodDetailView.Builder();
   }
@@ -48,6 +55,8 @@ public abstract class ListMethodDetailView {
 
     public abstract Builder resourcesFieldGetFunction(String name);
 
+    public abstract Builder prefetchDepth(int depth);
+
     public abstract ListMethodDetailView build();
   }
 }
@@ -45,8 +45,37 @@ public abstract class LongRunningOperationDetailView {
 
   public abstract long totalPollTimeout();
 
+  // The fraction by which each poll delay may be randomly shortened, or 0 for none.
+  public abstract double pollDelayJitter();
+
+  // The name of the metadata field through which the server hints at the delay before the next
+  // poll, or null if there is none.
+  @Nullable
+  public abstract String pollDelayHintFieldName();
+
+  // The language-specific function which gets the poll delay hint from the metadata.
+  @Nullable
+  public abstract String pollDelayHintGetFunction();
+
+  // Whether polls wake on a shared tick of the initial poll delay.
+  public abstract boolean sharedPollSchedule();
+
+  public boolean hasPollDelayJitter() {
+    return pollDelayJitter() > 0;
+  }
+
+  public boolean hasPollDelayHint() {
+    return pollDelayHintFieldName() != null;
+  }
+
+  public boolean isAdaptivePolling() {
+    return hasPollDelayJitter() || hasPollDelayHint() || sharedPollSchedule();
+  }
+
   public static Builder newBuilder() {
-    return new AutoValue_LongRunningOperationDetailView.Builder();
+    return new AutoValue_LongRunningOperationDetailView.Builder()
+        .pollDelayJitter(0)
+        .sharedPollSchedule(false);
   }
 
   @AutoValue.Builder
@@ -75,6 +104,14 @@ public abstract class LongRunningOperationDetailView {
 
     public abstract Builder totalPollTimeout(long totalTimeout);
 
+    public abstract Builder pollDelayJitter(double val);
+
+    public abstract Builder pollDelayHintFieldName(String val);
+
+    public abstract Builder pollDelayHintGetFunction(String val);
+
+    public abstract Builder sharedPollSchedule(boolean val);
+
     public abstract LongRunningOperationDetailView build();
   }
 }
@@ -44,6 +44,12 @@ public abstract class MethodDescriptorView {
     return headerRequestParams() != null && !headerRequestParams().isEmpty();
   }
 
+  // Whether the header request params fit in a single ImmutableMap.of call, which takes at most
+  // five entries.
+  public boolean hasFewHeaderRequestParams() {
+    return hasHeaderRequestParams() && headerRequestParams().size() <= 5;
+  }
+
   @Nullable
   public abstract HttpMethodView httpMethod();
 
@@ -108,6 +108,20 @@ public abstract class OptionalArrayMethodView implements ApiMethodView {
 
   public abstract List<HeaderRequestParamView> headerRequestParams();
 
+  @Nullable
+  public abstract HedgingPolicyView hedgingPolicy();
+
+  public boolean hasHedgingPolicy() {
+    return hedgingPolicy() != null;
+  }
+
+  @Nullable
+  public abstract CompressionView compression();
+
+  public boolean hasCompression() {
+    return compression() != null;
+  }
+
   @Nullable
   public abstract List<MethodSampleView> samples();
 
@@ -186,6 +200,10 @@ public abstract class OptionalArrayMethodView implements ApiMethodView {
 
     public abstract Builder headerRequestParams(List<HeaderRequestParamView> val);
 
+    public abstract Builder hedgingPolicy(HedgingPolicyView val);
+
+    public abstract Builder compression(CompressionView val);
+
     public abstract Builder samples(List<MethodSampleView> samples);
 
     public abstract OptionalArrayMethodView build();
@@ -29,6 +29,11 @@ public abstract class PackageInfoView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   public abstract FileHeaderView fileHeader();
 
   public abstract String serviceTitle();
@@ -0,0 +1,62 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+
+/**
+ * A run of literal text, or a single-segment path parameter, in a resource name pattern.
+ *
+ * <p>For example "projects/{project}/topics/{topic}" is made of the pieces "projects/", project,
+ * "/topics/" and topic.
+ */
+@AutoValue
+public abstract class ResourceNamePatternPieceView {
+
+  // The literal text of this piece, or null if it is a path parameter.
+  @Nullable
+  public abstract String literal();
+
+  // The path parameter of this piece, or null if it is literal text.
+  @Nullable
+  public abstract StaticLangMemberView param();
+
+  // Whether this piece ends the pattern.
+  public abstract boolean isLast();
+
+  public boolean isLiteral() {
+    return literal() != null;
+  }
+
+  public int literalLength() {
+    return isLiteral() ? literal().length() : 0;
+  }
+
+  public static Builder newBuilder() {
+    return new AutoValue_ResourceNamePatternPieceView.Builder();
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder literal(String val);
+
+    public abstract Builder param(StaticLangMemberView val);
+
+    public abstract Builder isLast(boolean val);
+
+    public abstract ResourceNamePatternPieceView build();
+  }
+}
@@ -40,8 +40,16 @@ public abstract class StaticLangApiMessageFileView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  /** Whether the message is shared by the whole API, like a schema, rather than by one method. */
+  public abstract boolean productLevel();
+
+  @Override
+  public boolean isProductLevel() {
+    return productLevel();
+  }
+
   public static StaticLangApiMessageFileView.Builder newBuilder() {
-    return new AutoValue_StaticLangApiMessageFileView.Builder();
+    return new AutoValue_StaticLangApiMessageFileView.Builder().productLevel(false);
   }
 
   @AutoValue.Builder
@@ -54,6 +62,8 @@ public abstract class StaticLangApiMessageFileView implements ViewModel {
 
     public abstract StaticLangApiMessageFileView.Builder fileHeader(FileHeaderView val);
 
+    public abstract StaticLangApiMessageFileView.Builder productLevel(boolean val);
+
     public abstract StaticLangApiMessageFileView build();
   }
 }
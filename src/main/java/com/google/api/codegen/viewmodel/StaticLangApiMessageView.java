@@ -93,11 +93,29 @@ public abstract class StaticLangApiMessageView implements Comparable<StaticLangA
   // If this field should be part of the parent message's serialization.
   public abstract boolean isSerializable();
 
+  // Whether this field is a map from strings to values.
+  public abstract boolean isMap();
+
+  // Whether this message class reads and writes itself as JSON without reflection.
+  public abstract boolean hasJsonCodec();
+
+  // The JSON type of this field's value, or of each of its elements if it is a list or map. Only
+  // set for fields of messages with a JSON codec.
+  @Nullable
+  public abstract JsonValueType jsonValueType();
+
+  // The type name of this field's value, or of each of its elements if it is a list or map, e.g.
+  // "Operation" for "List<Operation>". Only set for fields of messages with a JSON codec.
+  @Nullable
+  public abstract String jsonValueTypeName();
+
   public static StaticLangApiMessageView.Builder newBuilder() {
     return new AutoValue_StaticLangApiMessageView.Builder()
         .hasRequiredProperties(false)
         .hasFieldMask(false)
-        .isSerializable(true);
+        .isSerializable(true)
+        .isMap(false)
+        .hasJsonCodec(false);
   }
 
   @AutoValue.Builder
@@ -132,6 +150,14 @@ public abstract class StaticLangApiMessageView implements Comparable<StaticLangA
 
     public abstract Builder isSerializable(boolean val);
 
+    public abstract Builder isMap(boolean val);
+
+    public abstract Builder hasJsonCodec(boolean val);
+
+    public abstract Builder jsonValueType(JsonValueType val);
+
+    public abstract Builder jsonValueTypeName(String val);
+
     public abstract Builder requestBodyType(StaticLangApiMessageView val);
 
     public abstract StaticLangApiMessageView build();
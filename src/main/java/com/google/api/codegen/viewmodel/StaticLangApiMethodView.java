@@ -95,6 +95,20 @@ public abstract class StaticLangApiMethodView
 
   public abstract List<HeaderRequestParamView> headerRequestParams();
 
+  @Nullable
+  public abstract HedgingPolicyView hedgingPolicy();
+
+  public boolean hasHedgingPolicy() {
+    return hedgingPolicy() != null;
+  }
+
+  @Nullable
+  public abstract CompressionView compression();
+
+  public boolean hasCompression() {
+    return compression() != null;
+  }
+
   public abstract String serviceConstructorName();
 
   @Nullable
@@ -169,6 +183,10 @@ public abstract class StaticLangApiMethodView
 
     public abstract Builder headerRequestParams(List<HeaderRequestParamView> val);
 
+    public abstract Builder hedgingPolicy(HedgingPolicyView val);
+
+    public abstract Builder compression(CompressionView val);
+
     public abstract Builder serviceConstructorName(String val);
 
     public abstract Builder samples(List<MethodSampleView> samples);
@@ -35,6 +35,11 @@ public abstract class StaticLangApiResourceNameFileView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   public static StaticLangApiResourceNameFileView.Builder newBuilder() {
     return new AutoValue_StaticLangApiResourceNameFileView.Builder();
   }
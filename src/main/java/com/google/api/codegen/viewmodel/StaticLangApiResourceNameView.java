@@ -39,6 +39,37 @@ public abstract class StaticLangApiResourceNameView
   // The list of path parameter views.
   public abstract List<StaticLangMemberView> pathParams();
 
+  // The pieces of the path template, if it is simple enough to parse and format directly;
+  // otherwise empty, and the path template is interpreted by PathTemplate.
+  public abstract List<ResourceNamePatternPieceView> pathTemplatePieces();
+
+  public boolean hasSpecializedParser() {
+    return !pathTemplatePieces().isEmpty();
+  }
+
+  // Whether the path template has a parameter followed by more of the path.
+  public boolean hasInnerPathParam() {
+    for (ResourceNamePatternPieceView piece : pathTemplatePieces()) {
+      if (!piece.isLiteral() && !piece.isLast()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean hasPathTemplateLiterals() {
+    return pathTemplateLiteralLength() > 0;
+  }
+
+  // The total length of the literal text in the path template.
+  public int pathTemplateLiteralLength() {
+    int length = 0;
+    for (ResourceNamePatternPieceView piece : pathTemplatePieces()) {
+      length += piece.literalLength();
+    }
+    return length;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_StaticLangApiResourceNameView.Builder();
   }
@@ -55,6 +86,8 @@ public abstract class StaticLangApiResourceNameView
 
     public abstract Builder pathParams(List<StaticLangMemberView> val);
 
+    public abstract Builder pathTemplatePieces(List<ResourceNamePatternPieceView> val);
+
     public abstract StaticLangApiResourceNameView build();
   }
 
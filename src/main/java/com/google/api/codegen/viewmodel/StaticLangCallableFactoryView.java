@@ -15,6 +15,8 @@
 package com.google.api.codegen.viewmodel;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import javax.annotation.Nullable;
 
 @AutoValue
@@ -32,8 +34,16 @@ public abstract class StaticLangCallableFactoryView {
   @Nullable // Used by HTTP clients.
   public abstract String operationStubType();
 
+  // The methods whose requests are compressed. Used by gRPC clients.
+  public abstract List<CompressionView> compressions();
+
+  public boolean hasCompressedMethods() {
+    return !compressions().isEmpty();
+  }
+
   public static StaticLangCallableFactoryView.Builder newBuilder() {
-    return new AutoValue_StaticLangCallableFactoryView.Builder();
+    return new AutoValue_StaticLangCallableFactoryView.Builder()
+        .compressions(ImmutableList.<CompressionView>of());
   }
 
   @AutoValue.Builder
@@ -49,6 +59,8 @@ public abstract class StaticLangCallableFactoryView {
 
     public abstract Builder operationStubType(String val);
 
+    public abstract Builder compressions(List<CompressionView> val);
+
     public abstract StaticLangCallableFactoryView build();
   }
 }
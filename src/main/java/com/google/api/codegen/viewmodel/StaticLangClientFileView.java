@@ -15,8 +15,10 @@
 package com.google.api.codegen.viewmodel;
 
 import com.google.api.codegen.SnippetSetRunner;
+import com.google.api.codegen.config.ChannelConfig;
 import com.google.auto.value.AutoValue;
 import java.util.List;
+import javax.annotation.Nullable;
 
 @AutoValue
 public abstract class StaticLangClientFileView implements ViewModel {
@@ -33,6 +35,14 @@ public abstract class StaticLangClientFileView implements ViewModel {
 
   public abstract Integer servicePort();
 
+  // The defaults of the gRPC connections, or null to use those of the transport.
+  @Nullable
+  public abstract ChannelConfig channelConfig();
+
+  public boolean hasChannelConfig() {
+    return channelConfig() != null;
+  }
+
   public abstract FileHeaderView fileHeader();
 
   public abstract String domainLayerLocation();
@@ -41,6 +51,10 @@ public abstract class StaticLangClientFileView implements ViewModel {
 
   public abstract List<StaticLangApiMethodView> apiMethods();
 
+  public boolean hasHedgedMethods() {
+    return apiMethods().stream().anyMatch(StaticLangApiMethodView::hasHedgingPolicy);
+  }
+
   public abstract String clientTypeName();
 
   public abstract String clientConstructorName();
@@ -67,6 +81,8 @@ public abstract class StaticLangClientFileView implements ViewModel {
 
   public abstract List<LongRunningOperationDetailView> lroDetailViews();
 
+  public abstract List<BatchingDescriptorClassView> batchingDescriptors();
+
   public boolean hasLongRunningOperations() {
     return !lroDetailViews().isEmpty();
   }
@@ -112,6 +128,8 @@ public abstract class StaticLangClientFileView implements ViewModel {
 
     public abstract Builder servicePort(Integer val);
 
+    public abstract Builder channelConfig(ChannelConfig val);
+
     public abstract Builder templateFileName(String val);
 
     public abstract Builder pageStreamingDescriptorClasses(
@@ -119,6 +137,8 @@ public abstract class StaticLangClientFileView implements ViewModel {
 
     public abstract Builder lroDetailViews(List<LongRunningOperationDetailView> val);
 
+    public abstract Builder batchingDescriptors(List<BatchingDescriptorClassView> val);
+
     public abstract StaticLangClientFileView build();
   }
 }
@@ -34,6 +34,13 @@ public abstract class StaticLangPagedResponseView {
 
   public abstract List<PagedResponseIterateMethodView> iterateMethods();
 
+  // The number of pages iterateAll requests ahead of the page being iterated.
+  public abstract int prefetchDepth();
+
+  public boolean hasPrefetch() {
+    return prefetchDepth() > 0;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_StaticLangPagedResponseView.Builder();
   }
@@ -55,6 +62,8 @@ public abstract class StaticLangPagedResponseView {
 
     public abstract Builder iterateMethods(List<PagedResponseIterateMethodView> val);
 
+    public abstract Builder prefetchDepth(int val);
+
     public abstract StaticLangPagedResponseView build();
   }
 }
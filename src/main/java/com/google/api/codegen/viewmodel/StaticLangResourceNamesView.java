@@ -32,6 +32,11 @@ public abstract class StaticLangResourceNamesView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   @Override
   public String resourceRoot() {
     return SnippetSetRunner.SNIPPET_RESOURCE_ROOT;
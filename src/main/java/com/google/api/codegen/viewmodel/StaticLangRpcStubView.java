@@ -45,6 +45,15 @@ public abstract class StaticLangRpcStubView {
 
   public abstract String parentName();
 
+  public boolean hasHttpJsonCodecs() {
+    for (MethodDescriptorView methodDescriptor : methodDescriptors()) {
+      if (methodDescriptor.httpMethod() != null && methodDescriptor.httpMethod().hasJsonCodec()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public static StaticLangRpcStubView.Builder newBuilder() {
     return new AutoValue_StaticLangRpcStubView.Builder();
   }
@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.viewmodel;
 
+import com.google.api.codegen.config.ChannelConfig;
 import com.google.api.codegen.config.TransportProtocol;
 import com.google.auto.value.AutoValue;
 import java.util.ArrayList;
@@ -34,6 +35,14 @@ public abstract class StaticLangSettingsView {
 
   public abstract Integer servicePort();
 
+  // The defaults of the gRPC channels, or null to use those of the transport.
+  @Nullable // Used in C#
+  public abstract ChannelConfig channelConfig();
+
+  public boolean hasChannelOptions() {
+    return channelConfig() != null && channelConfig().hasChannelOptions();
+  }
+
   /* Whether to use the default service port with the default endpoint. Default true. */
   public abstract boolean useDefaultServicePortInEndpoint();
 
@@ -106,6 +115,8 @@ public abstract class StaticLangSettingsView {
 
     public abstract Builder servicePort(Integer val);
 
+    public abstract Builder channelConfig(ChannelConfig val);
+
     public abstract Builder stubSettingsName(String val);
 
     public abstract Builder useDefaultServicePortInEndpoint(boolean val);
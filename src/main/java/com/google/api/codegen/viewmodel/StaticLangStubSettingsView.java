@@ -14,6 +14,7 @@
  */
 package com.google.api.codegen.viewmodel;
 
+import com.google.api.codegen.config.ChannelConfig;
 import com.google.api.codegen.config.TransportProtocol;
 import com.google.auto.value.AutoValue;
 import java.util.ArrayList;
@@ -74,6 +75,16 @@ public abstract class StaticLangStubSettingsView {
     return unaryCallSettings;
   }
 
+  public List<ApiCallSettingsView> hedgedCallSettings() {
+    ArrayList<ApiCallSettingsView> hedgedCallSettings = new ArrayList<>();
+    for (ApiCallSettingsView settingsView : callSettings()) {
+      if (settingsView.hasHedgingPolicy()) {
+        hedgedCallSettings.add(settingsView);
+      }
+    }
+    return hedgedCallSettings;
+  }
+
   public abstract List<PageStreamingDescriptorClassView> pageStreamingDescriptors();
 
   public abstract List<PagedListResponseFactoryClassView> pagedListResponseFactories();
@@ -114,10 +125,27 @@ public abstract class StaticLangStubSettingsView {
   @Nullable // Used in Java
   public abstract TransportProtocol transportProtocol();
 
+  // The defaults of the gRPC channel provider, or null to use the provider's own.
+  @Nullable
+  public abstract ChannelConfig channelConfig();
+
+  public boolean hasChannelConfig() {
+    return channelConfig() != null;
+  }
+
+  /** Returns whether the channel provider sets up hedging, which only the gRPC transport does. */
+  public boolean hasHedgingPolicies() {
+    return hasChannelConfig() && !hedgedCallSettings().isEmpty();
+  }
+
+  // The calls which set the channel defaults on the gRPC channel provider builder.
+  public abstract List<ChannelProviderCallView> channelProviderCalls();
+
   public static Builder newBuilder() {
     return new AutoValue_StaticLangStubSettingsView.Builder()
         .transportProtocol(TransportProtocol.GRPC)
-        .useDefaultServicePortInEndpoint(true);
+        .useDefaultServicePortInEndpoint(true)
+        .channelProviderCalls(new ArrayList<ChannelProviderCallView>());
   }
 
   @AutoValue.Builder
@@ -172,6 +200,10 @@ public abstract class StaticLangStubSettingsView {
 
     public abstract Builder transportProtocol(TransportProtocol transportProtocol);
 
+    public abstract Builder channelConfig(ChannelConfig val);
+
+    public abstract Builder channelProviderCalls(List<ChannelProviderCallView> val);
+
     public abstract StaticLangStubSettingsView build();
   }
 }
@@ -22,4 +22,13 @@ public interface ViewModel {
   String templateFileName();
 
   String outputPath();
+
+  /**
+   * Returns whether the file belongs to the whole product rather than to one API interface, such as
+   * a package manifest that lists every interface. A sharded run generates product-level files in
+   * the product shard only.
+   */
+  default boolean isProductLevel() {
+    return false;
+  }
 }
@@ -0,0 +1,69 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Optionally shares a single instance among equal view models.
+ *
+ * <p>Small views such as retry definitions, imports and parameter docs are rebuilt, identically,
+ * for every method, calling form and file that uses them. Transformers pass such views through
+ * {@link #intern} so that, when interning is enabled, all the copies alive at once collapse into
+ * one. Only views which are deeply immutable and whose equality is value-based (as for AutoValue
+ * classes holding immutable values) may be interned. Interned views are weakly held and are
+ * collected once no surface refers to them.
+ *
+ * <p>Interning costs a deep hashCode and equals per view, so it is disabled by default and {@link
+ * #intern} returns its argument unchanged. It is turned on with the {@code intern_views} generator
+ * option, which is worthwhile only for very large APIs where the saved memory matters.
+ */
+public class ViewModelInterner {
+  private static volatile Interner<Object> interner;
+
+  private ViewModelInterner() {}
+
+  /** Enables or disables interning for subsequently transformed views. */
+  public static synchronized void setEnabled(boolean enabled) {
+    if (!enabled) {
+      interner = null;
+    } else if (interner == null) {
+      interner =
+          Interners.newBuilder()
+              .weak()
+              .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+              .build();
+    }
+  }
+
+  public static boolean isEnabled() {
+    return interner != null;
+  }
+
+  /**
+   * Returns the canonical instance equal to the given view if interning is enabled, and the view
+   * itself otherwise.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T intern(T view) {
+    Interner<Object> current = interner;
+    if (current == null) {
+      return view;
+    }
+    // Equal AutoValue instances are always of the same class, so the cast is safe.
+    return (T) current.intern(view);
+  }
+}
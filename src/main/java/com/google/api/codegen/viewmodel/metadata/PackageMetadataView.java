@@ -39,6 +39,11 @@ public abstract class PackageMetadataView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   @Nullable
   public abstract PackagingArtifactType artifactType();
 
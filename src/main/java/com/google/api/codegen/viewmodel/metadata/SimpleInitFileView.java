@@ -32,6 +32,11 @@ public abstract class SimpleInitFileView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   public abstract FileHeaderView fileHeader();
 
   public static SimpleInitFileView create(
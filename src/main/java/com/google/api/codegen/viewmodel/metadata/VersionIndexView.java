@@ -37,6 +37,11 @@ public abstract class VersionIndexView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   @Nullable
   public abstract VersionIndexRequireView primaryService();
 
@@ -81,6 +81,11 @@ public abstract class MockCombinedView implements ViewModel {
   @Override
   public abstract String outputPath();
 
+  @Override
+  public boolean isProductLevel() {
+    return true;
+  }
+
   public static Builder newBuilder() {
     return new AutoValue_MockCombinedView.Builder();
   }
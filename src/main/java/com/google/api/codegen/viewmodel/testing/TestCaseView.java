@@ -56,6 +56,9 @@ public abstract class TestCaseView {
 
   public abstract String nameWithException();
 
+  @Nullable // Used in Java benchmarks
+  public abstract String benchmarkStateClassName();
+
   public abstract String serviceConstructorName();
 
   public abstract String fullyQualifiedServiceClassName();
@@ -85,6 +88,8 @@ public abstract class TestCaseView {
 
   public abstract String grpcMethodName();
 
+  public abstract Builder toBuilder();
+
   public static Builder newBuilder() {
     return new AutoValue_TestCaseView.Builder();
   }
@@ -98,6 +103,8 @@ public abstract class TestCaseView {
 
     public abstract Builder nameWithException(String val);
 
+    public abstract Builder benchmarkStateClassName(String val);
+
     public abstract Builder serviceConstructorName(String val);
 
     public abstract Builder fullyQualifiedServiceClassName(String val);
@@ -0,0 +1,68 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.ChannelConfigProto;
+import com.google.api.tools.framework.model.BoundedDiagCollector;
+import com.google.api.tools.framework.model.DiagCollector;
+import org.junit.Test;
+
+public class ChannelConfigTest {
+
+  @Test
+  public void testCreateChannelConfig() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    ChannelConfig channelConfig =
+        ChannelConfig.createChannelConfig(
+            diagCollector,
+            ChannelConfigProto.newBuilder()
+                .setPoolSize(4)
+                .setKeepAliveTimeoutMillis(20000)
+                .build());
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+    assertThat(channelConfig).isNotNull();
+    assertThat(channelConfig.hasPoolSize()).isTrue();
+    assertThat(channelConfig.getPoolSize()).isEqualTo(4);
+    assertThat(channelConfig.hasMaxInboundMessageSize()).isFalse();
+    // A keepalive timeout means nothing without a keepalive time.
+    assertThat(channelConfig.hasKeepAliveTimeout()).isFalse();
+    assertThat(channelConfig.hasChannelOptions()).isFalse();
+  }
+
+  @Test
+  public void testCreateEmptyChannelConfig() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    ChannelConfig channelConfig =
+        ChannelConfig.createChannelConfig(diagCollector, ChannelConfigProto.getDefaultInstance());
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+    assertThat(channelConfig).isNull();
+  }
+
+  @Test
+  public void testCreateNegativeChannelConfig() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    ChannelConfig channelConfig =
+        ChannelConfig.createChannelConfig(
+            diagCollector,
+            ChannelConfigProto.newBuilder().setPoolSize(-1).setKeepAliveTimeMillis(-1).build());
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(2);
+    assertThat(channelConfig).isNull();
+  }
+}
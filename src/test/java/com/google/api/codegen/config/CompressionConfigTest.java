@@ -0,0 +1,67 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.CompressionConfigProto;
+import com.google.api.tools.framework.model.BoundedDiagCollector;
+import com.google.api.tools.framework.model.DiagCollector;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class CompressionConfigTest {
+  private final MethodModel method = Mockito.mock(MethodModel.class);
+
+  @Before
+  public void setUp() {
+    Mockito.when(method.getFullName()).thenReturn("library.CreateBook");
+    Mockito.when(method.getRequestStreaming()).thenReturn(false);
+    Mockito.when(method.getResponseStreaming()).thenReturn(false);
+  }
+
+  @Test
+  public void testCreateCompressionConfig() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    CompressionConfig compressionConfig =
+        CompressionConfig.createCompressionConfig(
+            diagCollector,
+            CompressionConfigProto.newBuilder()
+                .setAlgorithm("gzip")
+                .setMinRequestSizeBytes(1024)
+                .build(),
+            method);
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+    assertThat(compressionConfig.getAlgorithm()).isEqualTo("gzip");
+    assertThat(compressionConfig.getMinRequestSizeBytes()).isEqualTo(1024);
+  }
+
+  @Test
+  public void testCreateInvalidCompressionConfig() {
+    Mockito.when(method.getRequestStreaming()).thenReturn(true);
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    CompressionConfig compressionConfig =
+        CompressionConfig.createCompressionConfig(
+            diagCollector,
+            CompressionConfigProto.newBuilder().setAlgorithm("zstd").build(),
+            method);
+
+    // Streaming, and an unsupported algorithm.
+    assertThat(diagCollector.getErrorCount()).isEqualTo(2);
+    assertThat(compressionConfig).isNull();
+  }
+}
@@ -0,0 +1,101 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.HedgingConfigProto;
+import com.google.api.tools.framework.model.BoundedDiagCollector;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class HedgingConfigTest {
+  private static final HedgingConfigProto HEDGING_CONFIG_PROTO =
+      HedgingConfigProto.newBuilder()
+          .setMaxAttempts(3)
+          .setHedgingDelayMillis(100)
+          .addNonFatalCodes("UNAVAILABLE")
+          .build();
+
+  private final MethodModel method = Mockito.mock(MethodModel.class);
+
+  @Before
+  public void setUp() {
+    Mockito.when(method.getFullName()).thenReturn("library.GetBook");
+    Mockito.when(method.getRequestStreaming()).thenReturn(false);
+    Mockito.when(method.getResponseStreaming()).thenReturn(false);
+  }
+
+  @Test
+  public void testCreateHedgingConfig() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    HedgingConfig hedgingConfig =
+        HedgingConfig.createHedgingConfig(
+            diagCollector, HEDGING_CONFIG_PROTO, method, ImmutableList.<String>of());
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+    assertThat(hedgingConfig).isNotNull();
+    assertThat(hedgingConfig.getMaxAttempts()).isEqualTo(3);
+    assertThat(hedgingConfig.getHedgingDelayMillis()).isEqualTo(100);
+    assertThat(hedgingConfig.getNonFatalCodes()).containsExactly("UNAVAILABLE");
+  }
+
+  @Test
+  public void testCreateHedgingConfigWithoutRetryCodesName() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    HedgingConfig hedgingConfig =
+        HedgingConfig.createHedgingConfig(diagCollector, HEDGING_CONFIG_PROTO, method, null);
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+    assertThat(hedgingConfig).isNotNull();
+  }
+
+  @Test
+  public void testCreateHedgingConfigForRetriedMethod() {
+    // A retry on any code sends every hedged copy again, whether or not hedging treats it as fatal.
+    for (ImmutableList<String> retryCodes :
+        ImmutableList.of(
+            ImmutableList.of("UNAVAILABLE"),
+            ImmutableList.of("DEADLINE_EXCEEDED"),
+            ImmutableList.of("DEADLINE_EXCEEDED", "UNAVAILABLE"))) {
+      DiagCollector diagCollector = new BoundedDiagCollector();
+      HedgingConfig hedgingConfig =
+          HedgingConfig.createHedgingConfig(
+              diagCollector, HEDGING_CONFIG_PROTO, method, retryCodes);
+
+      assertThat(diagCollector.getErrorCount()).isEqualTo(1);
+      assertThat(hedgingConfig).isNull();
+    }
+  }
+
+  @Test
+  public void testCreateInvalidHedgingConfig() {
+    Mockito.when(method.getResponseStreaming()).thenReturn(true);
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    HedgingConfig hedgingConfig =
+        HedgingConfig.createHedgingConfig(
+            diagCollector,
+            HEDGING_CONFIG_PROTO.toBuilder().setMaxAttempts(1).addNonFatalCodes("BUSY").build(),
+            method,
+            ImmutableList.of("UNAVAILABLE"));
+
+    // Streaming, retried, too few attempts, and an unknown code.
+    assertThat(diagCollector.getErrorCount()).isEqualTo(4);
+    assertThat(hedgingConfig).isNull();
+  }
+}
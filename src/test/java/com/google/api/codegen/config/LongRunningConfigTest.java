@@ -223,6 +223,48 @@ public class LongRunningConfigTest {
         .isEqualTo(TEST_TOTAL_POLL_TIMEOUT);
   }
 
+  @Test
+  public void testCreateLROWithAdaptivePolling() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    Mockito.when(protoParser.isProtoAnnotationsEnabled()).thenReturn(false);
+
+    LongRunningConfig longRunningConfig =
+        LongRunningConfig.createLongRunningConfigFromGapicConfigOnly(
+            simpleMethod.getModel(),
+            diagCollector,
+            lroConfigProtoWithPollSettings
+                .toBuilder()
+                .setPollDelayJitter(0.5)
+                .setSharedPollSchedule(true)
+                .build());
+
+    assertThat(diagCollector.getErrorCount()).isEqualTo(0);
+    assertThat(longRunningConfig.getPollDelayJitter()).isEqualTo(0.5);
+    assertThat(longRunningConfig.getPollDelayHintField()).isNull();
+    assertThat(longRunningConfig.isSharedPollSchedule()).isTrue();
+    assertThat(longRunningConfig.hasAdaptivePolling()).isTrue();
+  }
+
+  @Test
+  public void testCreateLROWithInvalidAdaptivePolling() {
+    DiagCollector diagCollector = new BoundedDiagCollector();
+    Mockito.when(protoParser.isProtoAnnotationsEnabled()).thenReturn(false);
+
+    LongRunningConfig.createLongRunningConfigFromGapicConfigOnly(
+        simpleMethod.getModel(),
+        diagCollector,
+        lroConfigProtoWithPollSettings
+            .toBuilder()
+            .setInitialPollDelayMillis(0)
+            .setPollDelayJitter(1.5)
+            .setPollDelayHintField("poll_delay")
+            .setSharedPollSchedule(true)
+            .build());
+
+    // Jitter out of range, no such hint field, and a shared schedule without a tick.
+    assertThat(diagCollector.getErrorCount()).isEqualTo(3);
+  }
+
   @Test
   public void testCreateLROWithNonLROMethod() {
     DiagCollector diagCollector = new BoundedDiagCollector();
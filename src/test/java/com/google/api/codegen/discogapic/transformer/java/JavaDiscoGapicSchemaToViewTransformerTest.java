@@ -0,0 +1,86 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discogapic.transformer.java;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.MixedPathTestDataLocator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.codegen.config.DiscoApiModel;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.discovery.DiscoveryDocumentParser;
+import com.google.api.codegen.gapic.CommonGapicCodePathMapper;
+import com.google.api.codegen.rendering.CommonSnippetSetRunner;
+import com.google.api.codegen.util.java.JavaRenderingUtil;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.api.tools.framework.snippet.Doc;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class JavaDiscoGapicSchemaToViewTransformerTest {
+  private static final String TESTDATA = "com/google/api/codegen/discogapic/testdata/";
+
+  private final TestDataLocator locator = MixedPathTestDataLocator.create(getClass());
+
+  @Test
+  public void testParallelOutputMatchesSerialOutput() throws Exception {
+    ConfigProto configProto =
+        CodegenTestUtil.readConfig(
+            new SimpleDiagCollector(),
+            locator,
+            new String[] {TESTDATA + "simplecompute_gapic.yaml"});
+    DiscoApiModel model;
+    try (InputStream in = locator.findTestData(TESTDATA + "simplecompute.v1.json").openStream()) {
+      model =
+          new DiscoApiModel(
+              DiscoveryDocumentParser.parse(in),
+              configProto.getLanguageSettingsMap().get("java").getPackageName());
+    }
+    GapicProductConfig productConfig =
+        GapicProductConfig.create(model, configProto, TargetLanguage.JAVA);
+
+    Map<String, String> serial = render(model, productConfig, false);
+    Map<String, String> parallel = render(model, productConfig, true);
+
+    assertThat(serial).isNotEmpty();
+    assertThat(parallel).containsExactlyEntriesIn(serial).inOrder();
+  }
+
+  private static Map<String, String> render(
+      DiscoApiModel model, GapicProductConfig productConfig, boolean parallel) {
+    JavaDiscoGapicSchemaToViewTransformer transformer =
+        new JavaDiscoGapicSchemaToViewTransformer(
+            CommonGapicCodePathMapper.newBuilder()
+                .setPrefix("src/main/java")
+                .setShouldAppendPackage(true)
+                .build(),
+            parallel);
+    CommonSnippetSetRunner runner = new CommonSnippetSetRunner(new JavaRenderingUtil());
+    Map<String, String> output = new LinkedHashMap<>();
+    for (ViewModel view : transformer.transform(model, productConfig)) {
+      for (Map.Entry<String, GeneratedResult<Doc>> result : runner.generate(view).entrySet()) {
+        output.put(result.getKey(), result.getValue().getBody().prettyPrint(100));
+      }
+    }
+    return output;
+  }
+}
@@ -0,0 +1,87 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discovery;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class DiscoveryDocumentParserTest {
+  private static final String TESTDATA = "src/test/java/com/google/api/codegen/discovery/testdata/";
+
+  @Test
+  public void testParseDocument() throws IOException {
+    Document document;
+    try (InputStream in = new FileInputStream(TESTDATA + "document.json")) {
+      document = DiscoveryDocumentParser.parse(in);
+    }
+
+    assertThat(document.name()).isEqualTo("myapi");
+    assertThat(document.canonicalName()).isEqualTo("myapi");
+    assertThat(document.baseUrl()).isEqualTo("https://example.com");
+    assertThat(document.authType()).isEqualTo(Document.AuthType.API_KEY);
+    assertThat(document.versionModule()).isTrue();
+    assertThat(document.resources().keySet()).containsExactly("bar");
+
+    assertThat(document.methods()).hasSize(2);
+    Method baz = document.methods().get(0);
+    assertThat(baz.id()).isEqualTo("myapi.bar.baz.get");
+    assertThat(baz.parent()).isEqualTo(document);
+    assertThat(baz.scopes()).containsExactly("https://www.example.com/baz");
+    assertThat(baz.queryParams().keySet()).containsExactly("p1");
+    assertThat(baz.queryParams().get("p1").required()).isTrue();
+    assertThat(baz.queryParams().get("p1").parent()).isEqualTo(baz);
+    assertThat(baz.request().reference()).isEqualTo("GetBazRequest");
+    assertThat(document.resources().get("bar")).containsExactly(baz);
+
+    Method foo = document.methods().get(1);
+    assertThat(foo.id()).isEqualTo("myapi.foo.insert");
+    assertThat(foo.request()).isNull();
+    assertThat(foo.response()).isNull();
+    assertThat(document.schemas().get("Baz").parent()).isEqualTo(document);
+  }
+
+  @Test
+  public void testParseSchemaDefaults() throws IOException {
+    String json =
+        "{\"type\": \"array\", \"items\": {}, \"enum\": [], \"unknown\": {\"nested\": [1, 2]},"
+            + " \"additionalProperties\": {\"$ref\": \"Foo\"}}";
+    Document document = parse("{\"schemas\": {\"Bar\": " + json + ", \"Empty\": {}}}");
+
+    Schema bar = document.schemas().get("Bar");
+    assertThat(bar.type()).isEqualTo(Schema.Type.ARRAY);
+    assertThat(bar.items()).isNull();
+    assertThat(bar.isEnum()).isFalse();
+    assertThat(bar.isMap()).isTrue();
+    assertThat(bar.additionalProperties().reference()).isEqualTo("Foo");
+    assertThat(bar.additionalProperties().parent()).isEqualTo(bar);
+    assertThat(document.schemas().get("Empty").type()).isEqualTo(Schema.Type.EMPTY);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsWrongValueType() throws IOException {
+    parse("{\"name\": 42}");
+  }
+
+  private static Document parse(String json) throws IOException {
+    return DiscoveryDocumentParser.parse(
+        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -16,6 +16,8 @@ package com.google.api.codegen.gapic;
 
 import com.google.api.codegen.CodegenTestUtil;
 import com.google.api.codegen.common.TargetLanguage;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
@@ -27,7 +29,38 @@ import org.junit.runners.Parameterized.Parameters;
 @RunWith(Parameterized.class)
 public class GapicCodeGeneratorTest extends GapicTestBase2 {
 
+  /** The ways a baseline is generated. */
+  enum RunMode {
+    /** Generates every tested artifact in a single run. */
+    DEFAULT,
+    /** Interns equal view models; must not change the output. */
+    INTERNED,
+    /** Generates the output in shards, which together must produce the default output. */
+    SHARDED,
+    /** Generates the benchmark artifact only, into a baseline of its own. */
+    BENCHMARK
+  }
+
+  private static final ImmutableSet<String> INTERNED_BASELINES =
+      ImmutableSet.of(
+          "go_library.baseline",
+          "java_library.baseline",
+          "php_library.baseline",
+          "python_library.baseline",
+          "csharp_library.baseline");
+
+  private static final ImmutableSet<String> SHARDED_BASELINES =
+      ImmutableSet.of(
+          "go_library.baseline",
+          "java_library.baseline",
+          "java_multiple_services.baseline",
+          "python_library.baseline",
+          "python_multiple_services.baseline",
+          "nodejs_multiple_services.baseline",
+          "csharp_library.baseline");
+
   private final String[] baseNames;
+  private final RunMode runMode;
 
   public GapicCodeGeneratorTest(
       TargetLanguage language,
@@ -37,7 +70,8 @@ public class GapicCodeGeneratorTest extends GapicTestBase2 {
       String baseline,
       String protoPackage,
       String clientPackage,
-      String[] baseNames) {
+      String[] baseNames,
+      RunMode runMode) {
     super(
         language,
         gapicConfigFileNames,
@@ -47,11 +81,45 @@ public class GapicCodeGeneratorTest extends GapicTestBase2 {
         protoPackage,
         clientPackage);
     this.baseNames = baseNames;
+    this.runMode = runMode;
     getTestDataLocator().addTestDataSource(CodegenTestUtil.class, "testsrc/common");
   }
 
-  @Parameters(name = "{4}")
+  @Parameters(name = "{4} ({8})")
   public static List<Object[]> testedConfigs() {
+    List<Object[]> configs = new ArrayList<>();
+    for (Object[] config : defaultConfigs()) {
+      String baseline = (String) config[4];
+      configs.add(withRunMode(config, RunMode.DEFAULT));
+      if (INTERNED_BASELINES.contains(baseline)) {
+        configs.add(withRunMode(config, RunMode.INTERNED));
+      }
+      if (SHARDED_BASELINES.contains(baseline)) {
+        configs.add(withRunMode(config, RunMode.SHARDED));
+      }
+    }
+    configs.add(
+        withRunMode(
+            GapicTestBase2.createBenchmarkTestConfig(
+                TargetLanguage.GO,
+                new String[] {"library_gapic.yaml"},
+                null,
+                "library",
+                new String[] {"another_service"}),
+            RunMode.BENCHMARK));
+    configs.add(
+        withRunMode(
+            GapicTestBase2.createBenchmarkTestConfig(
+                TargetLanguage.JAVA,
+                new String[] {"library_gapic.yaml"},
+                "library_pkg2.yaml",
+                "library",
+                new String[] {"another_service"}),
+            RunMode.BENCHMARK));
+    return configs;
+  }
+
+  private static List<Object[]> defaultConfigs() {
     return Arrays.asList(
         GapicTestBase2.createTestConfig(
             TargetLanguage.GO,
@@ -151,6 +219,27 @@ public class GapicCodeGeneratorTest extends GapicTestBase2 {
             new String[] {"another_service"}));
   }
 
+  private static Object[] withRunMode(Object[] config, RunMode runMode) {
+    Object[] configWithRunMode = Arrays.copyOf(config, config.length + 1);
+    configWithRunMode[config.length] = runMode;
+    return configWithRunMode;
+  }
+
+  @Override
+  protected boolean internViews() {
+    return runMode == RunMode.INTERNED;
+  }
+
+  @Override
+  protected int shardCount() {
+    return runMode == RunMode.SHARDED ? 3 : 1;
+  }
+
+  @Override
+  protected boolean benchmarksEnabled() {
+    return runMode == RunMode.BENCHMARK;
+  }
+
   @Test
   public void test() throws Exception {
     test(baseNames);
@@ -27,6 +27,7 @@ import com.google.api.codegen.config.DependenciesConfig;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
+import com.google.api.codegen.viewmodel.ViewModelInterner;
 import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.stages.Merged;
@@ -169,14 +170,63 @@ public abstract class GapicTestBase2 extends ConfigBaselineTestCase {
       String protoPackage,
       String clientPackage,
       String... baseNames) {
+    List<String> snippetNames =
+        getSnippetNames(language, Arrays.asList("surface", "test", "samples"));
+
+    StringBuilder gapic_config_missing = new StringBuilder();
+    if (gapicConfigFileNames == null || gapicConfigFileNames.length == 0) {
+      gapic_config_missing.append("_no_gapic_config");
+    }
+
+    String baseline =
+        language.toString().toLowerCase() + "_" + apiName + gapic_config_missing + ".baseline";
+    return createTestConfig(
+        language,
+        gapicConfigFileNames,
+        packageConfigFileName,
+        apiName,
+        protoPackage,
+        clientPackage,
+        snippetNames,
+        baseline,
+        baseNames);
+  }
+
+  /**
+   * Creates the constructor arguments for a test of the benchmark artifact only. Its output goes to
+   * a baseline of its own, so that the benchmarks do not swell the baselines of the other tests.
+   */
+  static Object[] createBenchmarkTestConfig(
+      TargetLanguage language,
+      String[] gapicConfigFileNames,
+      String packageConfigFileName,
+      String apiName,
+      String... baseNames) {
+    List<String> snippetNames =
+        getSnippetNames(
+            language, Arrays.asList(ArtifactFlags.ARTIFACT_TEST, ArtifactFlags.ARTIFACT_BENCHMARK));
+    snippetNames.removeAll(getSnippetNames(language, Arrays.asList(ArtifactFlags.ARTIFACT_TEST)));
+    String baseline = language.toString().toLowerCase() + "_" + apiName + "_benchmark.baseline";
+    return createTestConfig(
+        language,
+        gapicConfigFileNames,
+        packageConfigFileName,
+        apiName,
+        null,
+        null,
+        snippetNames,
+        baseline,
+        baseNames);
+  }
+
+  /** Returns the templates of the generators of the given artifacts. */
+  private static List<String> getSnippetNames(
+      TargetLanguage language, List<String> enabledArtifacts) {
     Model model = Model.create(Service.getDefaultInstance());
     GapicProductConfig productConfig = GapicProductConfig.createDummyInstance();
     PackageMetadataConfig packageConfig = PackageMetadataConfig.createDummyPackageMetadataConfig();
     ArtifactFlags artifactFlags =
-        new ArtifactFlags(
-            Arrays.asList("surface", "test", "samples"),
-            ArtifactType.LEGACY_GAPIC_AND_PACKAGE,
-            true);
+        new ArtifactFlags(enabledArtifacts, ArtifactType.LEGACY_GAPIC_AND_PACKAGE, true);
 
     List<CodeGenerator<?>> generators =
         GapicGeneratorFactory.create(language, model, productConfig, packageConfig, artifactFlags);
@@ -185,14 +235,19 @@ public abstract class GapicTestBase2 extends ConfigBaselineTestCase {
     for (CodeGenerator<?> generator : generators) {
       snippetNames.addAll(generator.getInputFileNames());
     }
+    return snippetNames;
+  }
 
-    StringBuilder gapic_config_missing = new StringBuilder();
-    if (gapicConfigFileNames == null || gapicConfigFileNames.length == 0) {
-      gapic_config_missing.append("_no_gapic_config");
-    }
-
-    String baseline =
-        language.toString().toLowerCase() + "_" + apiName + gapic_config_missing + ".baseline";
+  private static Object[] createTestConfig(
+      TargetLanguage language,
+      String[] gapicConfigFileNames,
+      String packageConfigFileName,
+      String apiName,
+      String protoPackage,
+      String clientPackage,
+      List<String> snippetNames,
+      String baseline,
+      String... baseNames) {
     baseNames = Lists.asList(apiName, baseNames).toArray(new String[0]);
 
     return new Object[] {
@@ -235,39 +290,74 @@ public abstract class GapicTestBase2 extends ConfigBaselineTestCase {
     if (hasSmokeTestConfig(productConfig)) {
       enabledArtifacts.addAll(Arrays.asList("surface", "test", "samples"));
     }
-    ArtifactFlags artifactFlags =
-        new ArtifactFlags(enabledArtifacts, ArtifactType.LEGACY_GAPIC_AND_PACKAGE, true);
-
-    List<CodeGenerator<?>> generators =
-        GapicGeneratorFactory.create(language, model, productConfig, packageConfig, artifactFlags);
-
-    // Don't run any generators we're not testing.
-    ArrayList<CodeGenerator<?>> testedGenerators = new ArrayList<>();
-    for (CodeGenerator<?> generator : generators) {
-      if (!Collections.disjoint(generator.getInputFileNames(), snippetNames)) {
-        testedGenerators.add(generator);
-      }
+    if (benchmarksEnabled()) {
+      // Benchmarks are only generated by name, and only along with the tests whose mocks they use.
+      enabledArtifacts.addAll(
+          Arrays.asList(ArtifactFlags.ARTIFACT_TEST, ArtifactFlags.ARTIFACT_BENCHMARK));
     }
 
+    // The shards of a sharded run are generated one after the other; together they must produce
+    // every file exactly once.
     Map<String, Object> output = new TreeMap<>();
-    for (CodeGenerator<?> generator : testedGenerators) {
-      Map<String, ? extends GeneratedResult<?>> out = generator.generate();
+    ViewModelInterner.setEnabled(internViews());
+    try {
+      for (int shardIndex = 0; shardIndex < shardCount(); shardIndex++) {
+        ArtifactFlags artifactFlags =
+            new ArtifactFlags(
+                enabledArtifacts,
+                ArtifactType.LEGACY_GAPIC_AND_PACKAGE,
+                true,
+                OutputFilter.all().withShard(shardIndex, shardCount()));
 
-      if (!Collections.disjoint(out.keySet(), output.keySet())) {
-        throw new IllegalStateException("file conflict");
-      }
-      for (Map.Entry<String, ? extends GeneratedResult<?>> entry : out.entrySet()) {
-        Object value =
-            (entry.getValue().getBody() instanceof byte[])
-                ? "Static or binary file content is not shown."
-                : entry.getValue().getBody();
-        output.put(entry.getKey(), value);
+        List<CodeGenerator<?>> generators =
+            GapicGeneratorFactory.create(
+                language, model, productConfig, packageConfig, artifactFlags);
+
+        // Don't run any generators we're not testing.
+        ArrayList<CodeGenerator<?>> testedGenerators = new ArrayList<>();
+        for (CodeGenerator<?> generator : generators) {
+          if (!Collections.disjoint(generator.getInputFileNames(), snippetNames)) {
+            testedGenerators.add(generator);
+          }
+        }
+
+        for (CodeGenerator<?> generator : testedGenerators) {
+          Map<String, ? extends GeneratedResult<?>> out = generator.generate();
+
+          if (!Collections.disjoint(out.keySet(), output.keySet())) {
+            throw new IllegalStateException("file conflict");
+          }
+          for (Map.Entry<String, ? extends GeneratedResult<?>> entry : out.entrySet()) {
+            Object value =
+                (entry.getValue().getBody() instanceof byte[])
+                    ? "Static or binary file content is not shown."
+                    : entry.getValue().getBody();
+            output.put(entry.getKey(), value);
+          }
+        }
       }
+    } finally {
+      ViewModelInterner.setEnabled(false);
     }
 
     return output;
   }
 
+  /** Returns the number of shards the output is generated in. */
+  protected int shardCount() {
+    return 1;
+  }
+
+  /** Returns whether the benchmark artifact is generated. */
+  protected boolean benchmarksEnabled() {
+    return false;
+  }
+
+  /** Returns whether equal view models are interned while generating. */
+  protected boolean internViews() {
+    return false;
+  }
+
   private static boolean hasSmokeTestConfig(GapicProductConfig productConfig) {
     return productConfig
         .getInterfaceConfigMap()
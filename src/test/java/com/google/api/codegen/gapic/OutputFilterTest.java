@@ -0,0 +1,159 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class OutputFilterTest {
+
+  @Test
+  public void testEmptyGlobSelectsEverything() {
+    OutputFilter filter = OutputFilter.fromGlob("");
+    assertThat(filter.isAll()).isTrue();
+    assertThat(filter.matches("src/main/java/com/example/FooClient.java")).isTrue();
+  }
+
+  @Test
+  public void testFileNameGlob() {
+    OutputFilter filter = OutputFilter.fromGlob("*Client.java");
+    assertThat(filter.matches("src/main/java/com/example/FooClient.java")).isTrue();
+    assertThat(filter.matches("FooClient.java")).isTrue();
+    assertThat(filter.matches("src/main/java/com/example/FooSettings.java")).isFalse();
+  }
+
+  @Test
+  public void testPathGlob() {
+    OutputFilter filter = OutputFilter.fromGlob("src/main/**/stub/*.java");
+    assertThat(filter.matches("src/main/java/com/example/stub/FooStub.java")).isTrue();
+    assertThat(filter.matches("./src/main/java/com/example/stub/FooStub.java")).isTrue();
+    assertThat(filter.matches("src/main/java/com/example/FooClient.java")).isFalse();
+  }
+
+  @Test
+  public void testFilterKeepsOrder() {
+    OutputFilter filter = OutputFilter.fromGlob("*.java");
+    assertThat(filter.filter(ImmutableMap.of("b/B.java", 1, "a/A.py", 2, "a/A.java", 3)))
+        .containsExactly("b/B.java", 1, "a/A.java", 3)
+        .inOrder();
+  }
+
+  @Test
+  public void testShardsPartitionInterfaces() {
+    List<String> interfaces = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      interfaces.add("google.example.Foo" + i);
+    }
+    List<String> selected = new ArrayList<>();
+    for (int shard = 0; shard < 3; shard++) {
+      selected.addAll(OutputFilter.all().withShard(shard, 3).selectInterfaces(interfaces));
+    }
+    assertThat(selected).containsExactlyElementsIn(interfaces);
+
+    OutputFilter productShard = OutputFilter.all().withShard(0, 3);
+    assertThat(productShard.isProductShard()).isTrue();
+    assertThat(productShard.selectInterfaces(interfaces)).isEmpty();
+    assertThat(OutputFilter.all().selectInterfaces(interfaces)).isSameAs(interfaces);
+  }
+
+  @Test
+  public void testTransformShardSplitsProductLevelViews() {
+    List<String> interfaces = ImmutableList.of("google.example.Foo", "google.example.Bar");
+    List<List<String>> transformed = new ArrayList<>();
+    Function<List<String>, List<ViewModel>> transform =
+        selectedInterfaces -> {
+          transformed.add(selectedInterfaces);
+          List<ViewModel> views = new ArrayList<>();
+          for (String apiInterface : selectedInterfaces) {
+            views.add(new TestView(apiInterface, false));
+          }
+          views.add(new TestView("index", true));
+          return views;
+        };
+
+    assertThat(
+            outputPaths(OutputFilter.all().withShard(0, 3).transformShard(interfaces, transform)))
+        .containsExactly("index");
+    assertThat(
+            outputPaths(OutputFilter.all().withShard(1, 3).transformShard(interfaces, transform)))
+        .containsExactly("google.example.Foo");
+    assertThat(
+            outputPaths(OutputFilter.all().withShard(2, 3).transformShard(interfaces, transform)))
+        .containsExactly("google.example.Bar");
+    // Each shard transforms once, and only the product shard sees every interface.
+    assertThat(transformed)
+        .containsExactly(
+            interfaces,
+            ImmutableList.of("google.example.Foo"),
+            ImmutableList.of("google.example.Bar"))
+        .inOrder();
+  }
+
+  @Test
+  public void testShardKeepsGlob() {
+    OutputFilter filter = OutputFilter.fromGlob("*Client.java").withShard(1, 3);
+    assertThat(filter.isSharded()).isTrue();
+    assertThat(filter.isProductShard()).isFalse();
+    assertThat(filter.matches("src/main/java/com/example/FooClient.java")).isTrue();
+    assertThat(filter.matches("src/main/java/com/example/FooSettings.java")).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testShardIndexOutOfRange() {
+    OutputFilter.all().withShard(2, 2);
+  }
+
+  private static List<String> outputPaths(List<ViewModel> views) {
+    return views.stream().map(ViewModel::outputPath).collect(Collectors.toList());
+  }
+
+  private static class TestView implements ViewModel {
+    private final String outputPath;
+    private final boolean productLevel;
+
+    TestView(String outputPath, boolean productLevel) {
+      this.outputPath = outputPath;
+      this.productLevel = productLevel;
+    }
+
+    @Override
+    public String resourceRoot() {
+      return "";
+    }
+
+    @Override
+    public String templateFileName() {
+      return "";
+    }
+
+    @Override
+    public String outputPath() {
+      return outputPath;
+    }
+
+    @Override
+    public boolean isProductLevel() {
+      return productLevel;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.api.codegen.rendering.ParallelDocRenderer;
+import com.google.api.codegen.rendering.ZipOutputWriter;
+import com.google.api.codegen.rendering.ZipOutputWriter.Compression;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ShardOutputMergerTest {
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void testMergedArchiveMatchesUnshardedArchive() throws IOException {
+    Map<String, Object> outputFiles = new LinkedHashMap<>();
+    for (int i = 0; i < 20; i++) {
+      outputFiles.put("com/example/Foo" + i + ".java", "class Foo" + i + " {}\n");
+    }
+    String unsharded = writeArchive(outputFiles, "unsharded.srcjar");
+    String shard0 =
+        writeArchive(OutputFilter.fromGlob("Foo1*.java").filter(outputFiles), "shard0.srcjar");
+    String shard1 =
+        writeArchive(OutputFilter.fromGlob("Foo[!1]*.java").filter(outputFiles), "shard1.srcjar");
+
+    String merged = new File(tempDir.getRoot(), "merged.srcjar").getPath();
+    new ShardOutputMerger(Compression.DEFLATED).merge(ImmutableList.of(shard0, shard1), merged);
+
+    assertThat(Files.readAllBytes(new File(merged).toPath()))
+        .isEqualTo(Files.readAllBytes(new File(unsharded).toPath()));
+  }
+
+  @Test(expected = IOException.class)
+  public void testConflictingShardsAreRejected() throws IOException {
+    File shard0 = tempDir.newFolder("shard0");
+    File shard1 = tempDir.newFolder("shard1");
+    Files.write(new File(shard0, "Foo.java").toPath(), new byte[] {1});
+    Files.write(new File(shard1, "Foo.java").toPath(), new byte[] {2});
+
+    ShardOutputMerger.readShards(ImmutableList.of(shard0.getPath(), shard1.getPath()));
+  }
+
+  @Test
+  public void testMergedDirectoryKeepsExecutableFiles() throws IOException {
+    assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+    File shard0 = tempDir.newFolder("shard0");
+    File shard1 = tempDir.newFolder("shard1");
+    Files.write(new File(shard0, "Foo.java").toPath(), new byte[] {1});
+    File gradlew = new File(shard1, "gradlew");
+    Files.write(gradlew.toPath(), new byte[] {2});
+    assertThat(gradlew.setExecutable(true, false)).isTrue();
+
+    File merged = tempDir.newFolder("merged");
+    new ShardOutputMerger(Compression.DEFLATED)
+        .merge(ImmutableList.of(shard0.getPath(), shard1.getPath()), merged.getPath());
+
+    assertThat(new File(merged, "Foo.java").canExecute()).isFalse();
+    assertThat(new File(merged, "gradlew").canExecute()).isTrue();
+  }
+
+  private String writeArchive(Map<String, Object> outputFiles, String name) throws IOException {
+    String path = new File(tempDir.getRoot(), name).getPath();
+    new ZipOutputWriter(ParallelDocRenderer.create(), Compression.DEFLATED)
+        .write(outputFiles, path);
+    return path;
+  }
+}
@@ -0,0 +1,62 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.tools.framework.snippet.Doc;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class ParallelDocRendererTest {
+
+  @Test
+  public void testRendersInSortedOrder() throws Exception {
+    Map<String, Object> outputFiles = new HashMap<>();
+    for (int i = 0; i < 50; i++) {
+      outputFiles.put(String.format("file%02d.txt", i), Doc.text("content " + i));
+    }
+    outputFiles.put("raw.txt", "raw");
+    outputFiles.put("bytes.bin", new byte[] {1, 2});
+
+    List<String> paths = new ArrayList<>();
+    List<Object> contents = new ArrayList<>();
+    new ParallelDocRenderer(4, 6)
+        .render(
+            outputFiles,
+            (path, content) -> {
+              paths.add(path);
+              contents.add(content);
+            });
+
+    assertThat(paths).isOrdered();
+    assertThat(paths).hasSize(52);
+    assertThat(paths.get(0)).isEqualTo("bytes.bin");
+    assertThat(contents.get(0)).isEqualTo(new byte[] {1, 2});
+    assertThat(contents.get(1)).isEqualTo("content 0");
+    assertThat(contents.get(51)).isEqualTo("raw");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsUnknownBody() throws Exception {
+    Map<String, Object> outputFiles = new HashMap<>();
+    outputFiles.put("a.txt", Doc.text("a"));
+    outputFiles.put("b.txt", 42);
+    new ParallelDocRenderer(2, 2).render(outputFiles, (path, content) -> {});
+  }
+}
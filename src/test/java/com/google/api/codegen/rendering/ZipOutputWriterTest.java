@@ -0,0 +1,78 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.rendering.ZipOutputWriter.Compression;
+import com.google.api.tools.framework.snippet.Doc;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.Test;
+
+public class ZipOutputWriterTest {
+
+  @Test
+  public void testDeflatedArchive() throws Exception {
+    byte[] archive = write(Compression.DEFLATED);
+    assertThat(readEntries(archive))
+        .containsExactly(
+            "com/example/A.java", "class A {}",
+            "com/example/B.java", "class B {}",
+            "resources/data.bin", "\u0001\u0002");
+    assertThat(archive).isEqualTo(write(Compression.DEFLATED));
+  }
+
+  @Test
+  public void testStoredArchive() throws Exception {
+    byte[] archive = write(Compression.STORED);
+    assertThat(readEntries(archive))
+        .containsExactly(
+            "com/example/A.java", "class A {}",
+            "com/example/B.java", "class B {}",
+            "resources/data.bin", "\u0001\u0002");
+    assertThat(archive).isEqualTo(write(Compression.STORED));
+  }
+
+  private static byte[] write(Compression compression) throws Exception {
+    Map<String, Object> outputFiles = new HashMap<>();
+    outputFiles.put("com/example/B.java", Doc.text("class B {}"));
+    outputFiles.put("resources/data.bin", new byte[] {1, 2});
+    outputFiles.put("com/example/A.java", "class A {}");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ZipOutputWriter(new ParallelDocRenderer(2, 2), compression).write(outputFiles, out);
+    return out.toByteArray();
+  }
+
+  private static List<String> readEntries(byte[] archive) throws Exception {
+    List<String> entries = new ArrayList<>();
+    try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+        entries.add(entry.getName());
+        entries.add(new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
+}
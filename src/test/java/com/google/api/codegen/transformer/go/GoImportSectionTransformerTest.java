@@ -0,0 +1,33 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer.go;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public class GoImportSectionTransformerTest {
+  @Test
+  public void testIsStandardImport() {
+    assertThat(GoImportSectionTransformer.isStandardImport("context")).isTrue();
+    assertThat(GoImportSectionTransformer.isStandardImport("math/rand")).isTrue();
+    assertThat(GoImportSectionTransformer.isStandardImport("net/http")).isTrue();
+
+    assertThat(GoImportSectionTransformer.isStandardImport("google.golang.org/grpc/status"))
+        .isFalse();
+    assertThat(GoImportSectionTransformer.isStandardImport("cloud.google.com/go/longrunning"))
+        .isFalse();
+  }
+}
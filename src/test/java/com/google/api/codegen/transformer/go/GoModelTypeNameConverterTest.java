@@ -17,6 +17,7 @@ package com.google.api.codegen.transformer.go;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.api.codegen.transformer.ModelTypeNameConverterTestUtil;
+import com.google.api.codegen.util.TypeName;
 import com.google.api.codegen.util.go.GoTypeTable;
 import com.google.api.tools.framework.model.EnumValue;
 import com.google.api.tools.framework.model.TypeRef;
@@ -62,4 +63,12 @@ public class GoModelTypeNameConverterTest {
     assertThat(converter.getEnumValue(type, value).getValueAndSaveTypeNicknameIn(new GoTypeTable()))
         .isEqualTo("librarypb.TopLevelEnum_FOO");
   }
+
+  @Test
+  public void testTypeNameIsCached() {
+    TypeRef type = ModelTypeNameConverterTestUtil.getTestType(tempDir, "TopLevelEnum");
+    TypeName typeName = converter.getTypeName(type);
+    assertThat(converter.getTypeName(type)).isSameAs(typeName);
+    assertThat(new GoModelTypeNameConverter().getTypeName(type)).isNotSameAs(typeName);
+  }
 }
@@ -28,6 +28,7 @@ import com.google.api.tools.framework.model.Method;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.ProtoFile;
 import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.longrunning.OperationInfo;
 import java.util.List;
@@ -239,4 +240,34 @@ public class ProtoParserTest {
     ImmutableSet<String> publishHeaderParams = protoParser.getHeaderParams(publishMethod);
     assertThat(publishHeaderParams).containsExactly("shelf.name");
   }
+
+  @Test
+  public void testResourceAnnotationIndex() {
+    ResourceAnnotationIndex index =
+        ResourceAnnotationIndex.create(protoParser, ImmutableList.of(libraryProtoFile));
+    assertThat(index.getResourceDescriptor(shelf).getType())
+        .isEqualTo("library.googleapis.com/Shelf");
+    assertThat(index.getResourceMessagesByFile().get(libraryProtoFile)).contains(shelf);
+    assertThat(index.getAnnotatedMessages()).contains(shelf);
+
+    MessageType getShelfRequest =
+        libraryProtoFile
+            .getMessages()
+            .stream()
+            .filter(m -> m.getSimpleName().equals("GetShelfRequest"))
+            .findFirst()
+            .get();
+    Field getShelfRequestName = getShelfRequest.lookupField("name");
+    assertThat(index.hasResourceReference(getShelfRequestName)).isTrue();
+    assertThat(index.getResourceReference(getShelfRequestName))
+        .isEqualTo(protoParser.getResourceReference(getShelfRequestName));
+    assertThat(index.getResourceReferenceFields(getShelfRequest)).contains(getShelfRequestName);
+
+    Field authorBookField = book.lookupField("author");
+    assertThat(index.hasResourceReference(authorBookField)).isFalse();
+
+    ResourceAnnotationIndex disabledIndex =
+        ResourceAnnotationIndex.create(new ProtoParser(false), ImmutableList.of(libraryProtoFile));
+    assertThat(disabledIndex.getAnnotatedMessages()).isEmpty();
+  }
 }
@@ -17,7 +17,11 @@ package com.google.api.codegen.util.java;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.api.codegen.util.TypeAlias;
+import com.google.api.codegen.util.TypeTable;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Test;
 
 public class JavaTypeTableTest {
@@ -38,4 +42,42 @@ public class JavaTypeTableTest {
     assertThat(imports.size()).isEqualTo(1);
     assertThat(imports.get(implicitPackage + ".qux.Corge").getNickname()).isEqualTo("Corge");
   }
+
+  @Test
+  public void testClonesRecordTheirOwnImports() {
+    JavaTypeTable typeTable = new JavaTypeTable("foo.bar");
+    assertThat(typeTable.getAndSaveNicknameFor("com.foo.Object")).isEqualTo("com.foo.Object");
+    assertThat(typeTable.getAndSaveNicknameFor("com.foo.Baz")).isEqualTo("Baz");
+
+    TypeTable clone = typeTable.cloneEmpty();
+    // Nicknames used by the original table are free in the clone.
+    assertThat(clone.getAndSaveNicknameFor("com.qux.Baz")).isEqualTo("Baz");
+    // java.lang clashes resolved by the original table still apply.
+    assertThat(clone.getAndSaveNicknameFor("com.qux.Object")).isEqualTo("com.qux.Object");
+    assertThat(clone.getAndSaveNicknameFor("com.qux.Corge")).isEqualTo("Corge");
+    assertThat(clone.getImports().keySet()).containsExactly("com.qux.Baz", "com.qux.Corge");
+
+    // Names resolved by the clone do not leak into the original table.
+    assertThat(typeTable.getImports().keySet()).containsExactly("com.foo.Baz");
+    assertThat(typeTable.getAndSaveNicknameFor("com.foo.Corge")).isEqualTo("Corge");
+  }
+
+  @Test
+  public void testConcurrentClones() {
+    JavaTypeTable typeTable = new JavaTypeTable("foo.bar");
+    assertThat(typeTable.getAndSaveNicknameFor("com.foo.Object")).isEqualTo("com.foo.Object");
+    assertThat(typeTable.getAndSaveNicknameFor("com.foo.Baz")).isEqualTo("Baz");
+
+    List<String> nicknames =
+        IntStream.range(0, 1000)
+            .parallel()
+            .mapToObj(i -> typeTable.cloneEmpty().getAndSaveNicknameFor("com.qux.Object"))
+            .distinct()
+            .collect(Collectors.toList());
+    assertThat(nicknames).containsExactly("com.qux.Object");
+
+    // Cloning leaves the original table as it was.
+    assertThat(typeTable.getImports().keySet()).containsExactly("com.foo.Baz");
+    assertThat(typeTable.getAndSaveNicknameFor("com.foo.Baz")).isEqualTo("Baz");
+  }
 }
@@ -0,0 +1,55 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.viewmodel;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ViewModelInternerTest {
+
+  @After
+  public void tearDown() {
+    ViewModelInterner.setEnabled(false);
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    assertThat(ViewModelInterner.isEnabled()).isFalse();
+    ImportTypeView first = importOf("com.google.Foo");
+    ImportTypeView second = importOf("com.google.Foo");
+    assertThat(ViewModelInterner.intern(first)).isSameAs(first);
+    assertThat(ViewModelInterner.intern(second)).isSameAs(second);
+  }
+
+  @Test
+  public void testEqualViewsShareOneInstance() {
+    ViewModelInterner.setEnabled(true);
+    ImportTypeView first = importOf("com.google.Foo");
+    ImportTypeView second = importOf("com.google.Foo");
+    ImportTypeView other = importOf("com.google.Bar");
+    assertThat(second).isNotSameAs(first);
+
+    ImportTypeView interned = ViewModelInterner.intern(first);
+    assertThat(ViewModelInterner.intern(second)).isSameAs(interned);
+    assertThat(ViewModelInterner.intern(other)).isSameAs(other);
+    assertThat(ViewModelInterner.intern(other)).isNotSameAs(interned);
+  }
+
+  private static ImportTypeView importOf(String fullName) {
+    return ImportTypeView.newBuilder().fullName(fullName).nickname("Foo").build();
+  }
+}